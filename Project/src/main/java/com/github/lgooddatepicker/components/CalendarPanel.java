@@ -23,25 +23,27 @@
 package com.github.lgooddatepicker.components;
 
 import com.github.lgooddatepicker.components.DatePickerSettings.DateArea;
+import com.github.lgooddatepicker.components.DatePickerSettings.YearMonthEventMode;
 import com.github.lgooddatepicker.optionalusertools.CalendarBorderProperties;
 import com.github.lgooddatepicker.optionalusertools.CalendarListener;
-import com.github.lgooddatepicker.optionalusertools.DateHighlightPolicy;
 import com.github.lgooddatepicker.optionalusertools.DateInterval;
 import com.github.lgooddatepicker.optionalusertools.DateVetoPolicy;
+import com.github.lgooddatepicker.optionalusertools.PickerUtilities;
 import com.github.lgooddatepicker.zinternaltools.CalendarSelectionEvent;
+import com.github.lgooddatepicker.zinternaltools.DateLocaleProfile;
+import com.github.lgooddatepicker.zinternaltools.FontMeasurementCache;
 import com.github.lgooddatepicker.zinternaltools.HighlightInformation;
 import com.github.lgooddatepicker.zinternaltools.InternalUtilities;
 import com.github.lgooddatepicker.zinternaltools.JIntegerTextField;
+import com.github.lgooddatepicker.zinternaltools.MonthGrid;
 import com.github.lgooddatepicker.zinternaltools.MouseLiberalAdapter;
 import com.github.lgooddatepicker.zinternaltools.YearMonthChangeEvent;
 import com.privatejgoodies.forms.factories.CC;
 import com.privatejgoodies.forms.layout.CellConstraints;
 import com.privatejgoodies.forms.layout.FormLayout;
-import java.awt.Canvas;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
-import java.awt.FontMetrics;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
@@ -50,16 +52,17 @@ import java.awt.Rectangle;
 import java.awt.event.ActionEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.text.DateFormatSymbols;
-import java.time.DayOfWeek;
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.Year;
 import java.time.YearMonth;
 import java.time.temporal.WeekFields;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 import java.util.Locale;
-import javax.swing.AbstractAction;
+import java.util.concurrent.CopyOnWriteArrayList;
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JMenuItem;
@@ -67,9 +70,7 @@ import javax.swing.JPanel;
 import javax.swing.JPopupMenu;
 import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
-import javax.swing.border.CompoundBorder;
 import javax.swing.border.EmptyBorder;
-import javax.swing.border.LineBorder;
 import javax.swing.event.PopupMenuEvent;
 import javax.swing.event.PopupMenuListener;
 
@@ -99,6 +100,23 @@ public class CalendarPanel extends JPanel {
    */
   private ArrayList<JLabel> dateLabels;
 
+  /**
+   * dateLabelStates, This holds a snapshot of the properties that were last pushed to each date
+   * label. This always has the same size as the dateLabels list, and the indexes match. A null
+   * element means that the state of the matching label is unknown, and that all of its properties
+   * should be pushed during the next redraw.
+   */
+  private DateLabelState[] dateLabelStates;
+
+  /**
+   * appliedDatePanelCellSize, appliedMonthAndYearPanelSize, appliedWeekNumberLabelSize, These hold
+   * the sizes that were last applied by the matching "setSizeOf" functions, or null. The sizes are
+   * only applied again (and the layout is only invalidated) when a calculated size has changed.
+   */
+  private Dimension appliedDatePanelCellSize = null;
+  private Dimension appliedMonthAndYearPanelSize = null;
+  private Dimension appliedWeekNumberLabelSize = null;
+
   /**
    * topLeftLabel, This holds the top left label, which lies at the intersection of the weekday
    * labels row and the week number labels column.
@@ -145,9 +163,18 @@ public class CalendarPanel extends JPanel {
   /**
    * calendarListeners, This holds a list of calendar listeners that wish to be notified each time
    * that a date is selected in the calendar panel, or the YearMonth is changed in the calendar
-   * panel.
+   * panel. This is a copy on write list, so each notification loop iterates over a snapshot of the
+   * listeners without copying the list, and listeners can safely be added or removed during a
+   * notification.
    */
-  private ArrayList<CalendarListener> calendarListeners = new ArrayList<>();
+  private CopyOnWriteArrayList<CalendarListener> calendarListeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * coalescedOldYearMonth, This is used with YearMonthEventMode.CoalescedChanges. This holds the
+   * old YearMonth of the first YearMonth change that has not yet been delivered to the calendar
+   * listeners. This is null when no coalesced YearMonth event is waiting to be delivered.
+   */
+  private YearMonth coalescedOldYearMonth = null;
 
   /**
    * constantFirstWeekdayLabelCell, This constant indicates the location of the first weekday label
@@ -185,6 +212,13 @@ public class CalendarPanel extends JPanel {
    */
   private static final Insets constantWeekNumberLabelInsets = new Insets(0, 6, 0, 5);
 
+  /**
+   * maximumMonthsToSkip, This is the maximum number of months that will be checked in each
+   * direction when the "skip vetoed months" navigation mode is enabled, and the veto policy can
+   * only be asked about one date at a time. See DatePickerSettings.setEnableSkipVetoedMonths().
+   */
+  public static final int maximumMonthsToSkip = 120;
+
   /**
    * displayedSelectedDate, This stores a date that will be highlighted in the calendar as the
    * "selected date", or it holds null if no date has been selected. This date is copied from the
@@ -208,10 +242,11 @@ public class CalendarPanel extends JPanel {
   private boolean isIndependentCalendarPanel;
 
   /**
-   * labelIndicatorEmptyBorder, This stores the empty border and the empty border size for the
-   * following labels: Month indicator, Year indicator, Set date to Today, Clear date.
+   * navigationButtonsDisabledBySkip, This holds the navigation buttons that were disabled by the
+   * skip vetoed months setting. Only these buttons are enabled again by this calendar panel. The
+   * enabled state of any other button is left to the programmer.
    */
-  private EmptyBorder labelIndicatorEmptyBorder = new EmptyBorder(3, 2, 3, 2);
+  private final List<JButton> navigationButtonsDisabledBySkip = new ArrayList<>(4);
 
   /**
    * settings, This holds a reference to the date picker settings for this calendar panel.
@@ -242,6 +277,24 @@ public class CalendarPanel extends JPanel {
     }
   }
 
+  /**
+   * DateLabelState, This holds the displayed state of a single date label. The drawCalendar()
+   * function compares the desired state of each date label to the last pushed state, and only calls
+   * the swing property setters for the properties that have changed.
+   */
+  private static class DateLabelState {
+
+    private String text;
+    private Color background;
+    private Color foreground;
+    private Font font;
+    /** borderColor, This is the selected date border color, or null for the default border. */
+    private Color borderColor;
+
+    private boolean enabled;
+    private String toolTipText;
+  }
+
   private final PopupCancelWatcher yearPopupCancelWatcher = new PopupCancelWatcher();
   private final PopupCancelWatcher monthPopupCancelWatcher = new PopupCancelWatcher();
 
@@ -279,6 +332,44 @@ public class CalendarPanel extends JPanel {
   private final JPopupMenu popupMonth = new JPopupMenu();
   private final JPopupMenu popupYear = new JPopupMenu();
 
+  /**
+   * monthMenuItems, This holds the menu items of the month popup menu, in month order. The items
+   * are created the first time that the month menu is opened. After that, they are only relabeled.
+   * All the items share a single action listener, which determines the month from the item index.
+   */
+  private JMenuItem[] monthMenuItems = null;
+
+  /**
+   * yearMenuEarlierYearsItem, This is the "up arrow" item of the year popup menu, which shows
+   * earlier years. The menu items of the year popup menu are created the first time that the year
+   * menu is opened. After that, they are only relabeled, and shown or hidden as needed.
+   */
+  private JMenuItem yearMenuEarlierYearsItem = null;
+
+  /**
+   * yearMenuEarlierYearsTarget, This is the target middle year that is used when the "up arrow"
+   * item of the year popup menu is clicked.
+   */
+  private int yearMenuEarlierYearsTarget;
+
+  /**
+   * yearMenuItems, This holds the year items of the year popup menu. All the items share a single
+   * action listener, which reads the chosen year from the text of the clicked item.
+   */
+  private JMenuItem[] yearMenuItems = null;
+
+  /**
+   * yearMenuLaterYearsItem, This is the "down arrow" item of the year popup menu, which shows later
+   * years.
+   */
+  private JMenuItem yearMenuLaterYearsItem = null;
+
+  /**
+   * yearMenuLaterYearsTarget, This is the target middle year that is used when the "down arrow"
+   * item of the year popup menu is clicked.
+   */
+  private int yearMenuLaterYearsTarget;
+
   /**
    * Constructor, Independent CalendarPanel with default settings. This creates an independent
    * calendar panel with a default set of DatePickerSettings. The calendar panel will use the
@@ -304,9 +395,11 @@ public class CalendarPanel extends JPanel {
    * DatePicker instance.
    *
    * <p>Technical note: This constructor is only called from the DatePicker.openPopup() function. A
-   * new CalendarPanel is created every time the popup is opened. Therefore, any DatePickerSettings
-   * variables that are initialized in this constructor are automatically able to correctly handle
-   * being set either before or after, a DatePicker is constructed.
+   * new CalendarPanel is created every time the popup is opened, unless calendar panel reuse is
+   * enabled in the settings. (A reused calendar panel re-applies its settings each time the popup
+   * is opened.) Therefore, any DatePickerSettings variables that are initialized in this
+   * constructor are automatically able to correctly handle being set either before or after, a
+   * DatePicker is constructed.
    */
   public CalendarPanel(DatePicker parentDatePicker) {
     this(parentDatePicker.getSettings(), false);
@@ -472,6 +565,7 @@ public class CalendarPanel extends JPanel {
    */
   private void addDateLabels() {
     dateLabels = new ArrayList<>();
+    dateLabelStates = new DateLabelState[42];
     for (int i = 0; i < 42; ++i) {
       int dateLabelColumnX = ((i % 7)) + constantFirstDateLabelCell.x;
       int dateLabelRowY = ((i / 7) + constantFirstDateLabelCell.y);
@@ -582,12 +676,17 @@ public class CalendarPanel extends JPanel {
 
   /**
    * buttonNextMonthActionPerformed, This event is called when the next month button is pressed.
-   * This sets the YearMonth of the calendar to the next month, and redraws the calendar.
+   * This sets the YearMonth of the calendar to the next month, and redraws the calendar. If the
+   * "skip vetoed months" setting is enabled, then the calendar moves to the nearest later month
+   * that contains an allowed date. The year and previous buttons work in the same way.
    */
   private void buttonNextMonthActionPerformed(ActionEvent e) {
     // We catch and ignore any exceptions at the minimum and maximum of the local date range.
     try {
-      drawCalendar(displayedYearMonth.plusMonths(1));
+      YearMonth targetYearMonth = zGetNavigationTarget(1);
+      if (targetYearMonth != null) {
+        drawCalendar(targetYearMonth);
+      }
     } catch (Exception ex) {
     }
   }
@@ -599,7 +698,10 @@ public class CalendarPanel extends JPanel {
   private void buttonNextYearActionPerformed(ActionEvent e) {
     // We catch and ignore any exceptions at the minimum and maximum of the local date range.
     try {
-      drawCalendar(displayedYearMonth.plusYears(1));
+      YearMonth targetYearMonth = zGetNavigationTarget(12);
+      if (targetYearMonth != null) {
+        drawCalendar(targetYearMonth);
+      }
     } catch (Exception ex) {
     }
   }
@@ -612,7 +714,10 @@ public class CalendarPanel extends JPanel {
   private void buttonPreviousMonthActionPerformed(ActionEvent e) {
     // We catch and ignore any exceptions at the minimum and maximum of the local date range.
     try {
-      drawCalendar(displayedYearMonth.minusMonths(1));
+      YearMonth targetYearMonth = zGetNavigationTarget(-1);
+      if (targetYearMonth != null) {
+        drawCalendar(targetYearMonth);
+      }
     } catch (Exception ex) {
     }
   }
@@ -625,7 +730,10 @@ public class CalendarPanel extends JPanel {
   private void buttonPreviousYearActionPerformed(ActionEvent e) {
     // We catch and ignore any exceptions at the minimum and maximum of the local date range.
     try {
-      drawCalendar(displayedYearMonth.minusYears(1));
+      YearMonth targetYearMonth = zGetNavigationTarget(-12);
+      if (targetYearMonth != null) {
+        drawCalendar(targetYearMonth);
+      }
     } catch (Exception ex) {
     }
   }
@@ -696,30 +804,43 @@ public class CalendarPanel extends JPanel {
     // because this should not be called from anywhere else.
     // Note: this is placed at the beginning of the drawCalendar function, so that if desired,
     // a developer could change the appearance of the calendar in response to this event.
-    for (CalendarListener calendarListener : calendarListeners) {
-      YearMonthChangeEvent yearMonthChangeEvent =
-          new YearMonthChangeEvent(this, this.displayedYearMonth, oldYearMonth);
-      calendarListener.yearMonthChanged(yearMonthChangeEvent);
+    // Note: A single event instance is shared by all the listeners. (The event is immutable.)
+    if (!calendarListeners.isEmpty()) {
+      YearMonthEventMode eventMode = settings.getYearMonthEventMode();
+      boolean isDuplicate = PickerUtilities.isSameYearMonth(displayedYearMonth, oldYearMonth);
+      if (eventMode == YearMonthEventMode.CoalescedChanges) {
+        if (coalescedOldYearMonth == null) {
+          coalescedOldYearMonth = oldYearMonth;
+          SwingUtilities.invokeLater(() -> zFireCoalescedYearMonthChangeEvent());
+        }
+      } else if (eventMode == YearMonthEventMode.EveryRedraw || !isDuplicate) {
+        YearMonthChangeEvent yearMonthChangeEvent =
+            new YearMonthChangeEvent(this, this.displayedYearMonth, oldYearMonth);
+        for (CalendarListener calendarListener : calendarListeners) {
+          calendarListener.yearMonthChanged(yearMonthChangeEvent);
+        }
+      }
     }
 
     // Get the displayed month and year.
     Month displayedMonth = newYearMonth.getMonth();
     int displayedYear = newYearMonth.getYear();
-    // Get an instance of the calendar symbols for the current locale.
-    DateFormatSymbols symbols = DateFormatSymbols.getInstance(settings.getLocale());
-    // Get the days of the week in the local language.
-    String[] localShortDaysOfWeek = symbols.getShortWeekdays();
     // Get the full month names in the current locale.
     int zeroBasedMonthIndex = (displayedMonth.getValue() - 1);
     String localizedFullMonth =
         settings.getTranslationArrayStandaloneLongMonthNames()[zeroBasedMonthIndex];
     String localizedShortMonth =
         settings.getTranslationArrayStandaloneShortMonthNames()[zeroBasedMonthIndex];
-    // Get the first day of the month, and the first day of week.
-    LocalDate firstDayOfMonth = LocalDate.of(displayedYear, displayedMonth, 1);
-    DayOfWeek firstDayOfWeekOfMonth = firstDayOfMonth.getDayOfWeek();
+    // Get the layout of the displayed month. Week numbers are only calculated when displayed.
+    boolean showWeekNumbers = settings.getWeekNumbersDisplayed();
+    WeekFields weekNumberRules = settings.getWeekNumberRules();
+    MonthGrid monthGrid =
+        MonthGrid.of(
+            newYearMonth,
+            settings.getFirstDayOfWeekDisplayedOnCalendar(),
+            (showWeekNumbers) ? weekNumberRules : null);
     // Get the last day of the month.
-    int lastDateOfMonth = getLastDayOfMonth(displayedYearMonth);
+    int lastDateOfMonth = monthGrid.getLengthOfMonth();
     // Find out if we have a selected date that is inside the currently displayed month.
     boolean selectedDateIsInDisplayedMonth =
         (displayedSelectedDate != null)
@@ -779,88 +900,58 @@ public class CalendarPanel extends JPanel {
             yearTextField.skipNotificationOfNumberChangeListenerWhileTrue = false;
           });
     }
-    // Set the days of the week labels, and create an array to represent the weekday positions.
-    ArrayList<DayOfWeek> daysOfWeekAsDisplayed = new ArrayList<>();
-    int isoFirstDayOfWeekValue = settings.getFirstDayOfWeekDisplayedOnCalendar().getValue();
-    int isoLastDayOfWeekOverflowed = isoFirstDayOfWeekValue + 6;
-    int weekdayLabelArrayIndex = 0;
-    for (int dayOfWeek = isoFirstDayOfWeekValue;
-        dayOfWeek <= isoLastDayOfWeekOverflowed;
-        dayOfWeek++) {
-      int localShortDaysOfWeekArrayIndex = (dayOfWeek % 7) + 1;
-      int isoDayOfWeek = (dayOfWeek > 7) ? (dayOfWeek - 7) : dayOfWeek;
-      DayOfWeek currentDayOfWeek = DayOfWeek.of(isoDayOfWeek);
-      daysOfWeekAsDisplayed.add(currentDayOfWeek);
-      weekdayLabels
-          .get(weekdayLabelArrayIndex)
-          .setText(localShortDaysOfWeek[localShortDaysOfWeekArrayIndex]);
-      ++weekdayLabelArrayIndex;
+    // Set the days of the week labels, in the local language.
+    // The ordered labels are calculated once per locale and first day of the week, and shared.
+    // A label text is only set when it has changed.
+    List<String> localShortDaysOfWeek =
+        DateLocaleProfile.getProfile(settings.getLocale())
+            .getShortWeekdayLabels(monthGrid.getFirstDayOfWeek());
+    for (int weekdayLabelArrayIndex = 0;
+        weekdayLabelArrayIndex < weekdayLabels.size();
+        ++weekdayLabelArrayIndex) {
+      JLabel weekdayLabel = weekdayLabels.get(weekdayLabelArrayIndex);
+      String weekdayText = localShortDaysOfWeek.get(weekdayLabelArrayIndex);
+      if (!weekdayText.equals(weekdayLabel.getText())) {
+        weekdayLabel.setText(weekdayText);
+      }
     }
     // Set the dates of the month labels.
-    // Also save the label for the selected date, if one is present in the current month.
-    // Also save the first date in each used row, for later use while displaying week numbers.
-    ArrayList<LocalDate> firstDateInEachUsedRow = new ArrayList<>();
-    boolean insideValidRange = false;
-    int dayOfMonth = 1;
-    JLabel selectedDateLabel = null;
-    DateVetoPolicy vetoPolicy = settings.getVetoPolicy();
-    DateHighlightPolicy highlightPolicy = settings.getHighlightPolicy();
+    // Only the label properties that differ from the last drawn state are pushed to the labels.
+    ArrayList<JLabel> changedDateLabels = new ArrayList<>();
+    // Resolve the veto policy and the highlight policy for the whole displayed month at once.
+    // Range policies are called a single time, and regular policies are adapted automatically.
+    DateInterval displayedMonthInterval =
+        new DateInterval(
+            LocalDate.of(displayedYear, displayedMonth, 1),
+            LocalDate.of(displayedYear, displayedMonth, lastDateOfMonth));
+    BitSet allowedDatesOfMonth =
+        InternalUtilities.getAllowedDatesInInterval(
+            settings.getVetoPolicy(), displayedMonthInterval);
+    HighlightInformation[] highlightInfoOfMonth =
+        InternalUtilities.getHighlightInformationInInterval(
+            settings.getHighlightPolicy(), displayedMonthInterval);
+    Color colorBackgroundNormalDates = settings.getColor(DateArea.CalendarBackgroundNormalDates);
+    Color colorTextNormalDates = settings.getColor(DateArea.CalendarTextNormalDates);
+    Font fontDateLabels = settings.getFontCalendarDateLabels();
     for (int dateLabelArrayIndex = 0;
         dateLabelArrayIndex < dateLabels.size();
         ++dateLabelArrayIndex) {
-      // Get the current date label.
-      JLabel dateLabel = dateLabels.get(dateLabelArrayIndex);
-      // Reset the state of every label to a default state.
-      dateLabel.setBackground(settings.getColor(DateArea.CalendarBackgroundNormalDates));
-      dateLabel.setForeground(settings.getColor(DateArea.CalendarTextNormalDates));
-      dateLabel.setFont(settings.getFontCalendarDateLabels());
-      dateLabel.setBorder(new EmptyBorder(1, 1, 1, 1));
-      dateLabel.setEnabled(true);
-      dateLabel.setToolTipText(null);
-      // Calculate the index to use on the daysOfWeekAsDisplayed array.
-      int daysOfWeekAsDisplayedArrayIndex = dateLabelArrayIndex % 7;
-      // Check to see if we are inside the valid range for days of this month.
-      if (daysOfWeekAsDisplayed.get(daysOfWeekAsDisplayedArrayIndex) == firstDayOfWeekOfMonth
-          && dateLabelArrayIndex < 7) {
-        insideValidRange = true;
-      }
-      if (dayOfMonth > lastDateOfMonth) {
-        insideValidRange = false;
-      }
-      // While we are inside the valid range, set the date labels with the day of the month.
-      if (insideValidRange) {
-        // Get a local date object for the current date.
-        LocalDate currentDate = LocalDate.of(displayedYear, displayedMonth, dayOfMonth);
-
-        // Save the first date of each used calendar row, for getting week numbers.
-        // Notes: The first day of the month will always be in the first row.
-        // The first day of the month will only occur once while inside the valid range.
-        if (dayOfMonth == 1) {
-          // The first date of the first row will often be a date from the previous month.
-          // The first date label will often not have a displayed date.
-          // We encompass this in a try block, so that LocalDate.MIN will not throw an
-          // exception here.
-          try {
-            LocalDate firstDateOfFirstRow = currentDate.minusDays(dateLabelArrayIndex);
-            firstDateInEachUsedRow.add(firstDateOfFirstRow);
-          } catch (Exception e) {
-            firstDateInEachUsedRow.add(LocalDate.MIN);
-          }
-        } else if ((dateLabelArrayIndex % 7) == 0) {
-          // If we are not in the first row, and we are in the first label of a row, then
-          // add the current date to the firstDateInEachRow array.
-          firstDateInEachUsedRow.add(currentDate);
-        }
-
+      // Start with the default state for every label.
+      String labelText = "";
+      Color labelBackground = colorBackgroundNormalDates;
+      Color labelForeground = colorTextNormalDates;
+      Color labelBorderColor = null;
+      boolean labelEnabled = true;
+      String labelToolTipText = null;
+      // Inside the displayed month, set the date labels with the day of the month.
+      int dayOfMonth = monthGrid.getDayOfMonthInCell(dateLabelArrayIndex);
+      if (dayOfMonth != 0) {
         // Get the veto policy and highlight policy information for this date.
-        boolean dateIsVetoed = InternalUtilities.isDateVetoed(vetoPolicy, currentDate);
-        HighlightInformation highlightInfo = null;
-        if (highlightPolicy != null) {
-          highlightInfo = highlightPolicy.getHighlightInformationOrNull(currentDate);
-        }
+        boolean dateIsVetoed = !allowedDatesOfMonth.get(dayOfMonth - 1);
+        HighlightInformation highlightInfo = highlightInfoOfMonth[dayOfMonth - 1];
         if (dateIsVetoed) {
-          dateLabel.setEnabled(false);
-          dateLabel.setBackground(settings.getColor(DateArea.CalendarBackgroundVetoedDates));
+          labelEnabled = false;
+          labelBackground = settings.getColor(DateArea.CalendarBackgroundVetoedDates);
           // Note, the foreground color of a disabled date label will always be grey.
           // So it is not easily possible let the programmer customize that color.
 
@@ -868,7 +959,7 @@ public class CalendarPanel extends JPanel {
           if (highlightInfo != null
               && highlightInfo.tooltipText != null
               && (!(highlightInfo.tooltipText.isEmpty()))) {
-            dateLabel.setToolTipText(highlightInfo.tooltipText);
+            labelToolTipText = highlightInfo.tooltipText;
           }
           //  End addition for Issue #181.
         }
@@ -886,38 +977,41 @@ public class CalendarPanel extends JPanel {
             colorText = highlightInfo.colorText;
           }
           // Set the highlight and background colors for the label.
-          dateLabel.setBackground(colorBackground);
-          dateLabel.setForeground(colorText);
+          labelBackground = colorBackground;
+          labelForeground = colorText;
           // If needed, set the highlight tooltip text.
           if (highlightInfo.tooltipText != null && (!(highlightInfo.tooltipText.isEmpty()))) {
-            dateLabel.setToolTipText(highlightInfo.tooltipText);
+            labelToolTipText = highlightInfo.tooltipText;
           }
         }
-        // If needed, save the label for the selected date.
+        // If needed, change the color of the selected date.
         if (selectedDateIsInDisplayedMonth
             && displayedSelectedDate != null
             && displayedSelectedDate.getDayOfMonth() == dayOfMonth) {
-          selectedDateLabel = dateLabel;
+          labelBackground = settings.getColor(DateArea.CalendarBackgroundSelectedDate);
+          labelBorderColor = settings.getColor(DateArea.CalendarBorderSelectedDate);
         }
         // Set the text for the current date.
-        dateLabel.setText(String.valueOf(dayOfMonth));
-        ++dayOfMonth;
-      } else {
-        // We are not inside the valid range, so set this label to an empty string.
-        dateLabel.setText("");
+        labelText = String.valueOf(dayOfMonth);
+      }
+      // Push any changed properties to the date label.
+      boolean labelChanged =
+          zApplyDateLabelState(
+              dateLabelArrayIndex,
+              labelText,
+              labelBackground,
+              labelForeground,
+              fontDateLabels,
+              labelBorderColor,
+              labelEnabled,
+              labelToolTipText);
+      if (labelChanged) {
+        changedDateLabels.add(dateLabels.get(dateLabelArrayIndex));
       }
-    }
-    // If needed, change the color of the selected date.
-    if (selectedDateLabel != null) {
-      selectedDateLabel.setBackground(settings.getColor(DateArea.CalendarBackgroundSelectedDate));
-      selectedDateLabel.setBorder(
-          new LineBorder(settings.getColor(DateArea.CalendarBorderSelectedDate)));
     }
 
     // If needed, draw the week numbers.
-    boolean showWeekNumbers = settings.getWeekNumbersDisplayed();
-    int usedRowCount = firstDateInEachUsedRow.size();
-    WeekFields weekNumberRules = settings.getWeekNumberRules();
+    int usedRowCount = monthGrid.getUsedRowCount();
     topLeftLabel.setVisible(showWeekNumbers);
     for (int weekNumberLabelIndex = 0;
         weekNumberLabelIndex < weekNumberLabels.size();
@@ -927,8 +1021,7 @@ public class CalendarPanel extends JPanel {
       currentLabel.setText("");
       // If needed, populate the week number label with a week number.
       if ((showWeekNumbers) && (weekNumberRules != null) && (weekNumberLabelIndex < usedRowCount)) {
-        LocalDate firstDateInRow = firstDateInEachUsedRow.get(weekNumberLabelIndex);
-        int weekNumber = zGetWeekNumberForASevenDayRange(firstDateInRow, weekNumberRules, false);
+        int weekNumber = monthGrid.getWeekNumberOfRow(weekNumberLabelIndex);
         currentLabel.setText(String.valueOf(weekNumber));
       }
     }
@@ -957,11 +1050,14 @@ public class CalendarPanel extends JPanel {
     labelSetDateToToday.setText(todayLabel);
     // If today is vetoed, disable the today button.
     boolean todayIsVetoed =
-        InternalUtilities.isDateVetoed(vetoPolicy, LocalDate.now(settings.getClock()));
+        InternalUtilities.isDateVetoed(
+            settings.getVetoPolicy(), LocalDate.now(settings.getClock()));
     labelSetDateToToday.setEnabled(!todayIsVetoed);
 
     // Set the visibility of all the calendar control buttons (and button labels).
     zApplyVisibilityOfButtons();
+    // Enable or disable the navigation buttons, according to the skip vetoed months setting.
+    zApplyNavigationButtonStates();
 
     // Set the label for the clear button.
     labelClearDate.setText(settings.getTranslationClear());
@@ -975,7 +1071,14 @@ public class CalendarPanel extends JPanel {
     // Repaint the component.
     // This was a supplied fix for a redrawing issue on MacOS, from NicholasQu.
     // https://github.com/LGoodDatePicker/LGoodDatePicker/issues/61
-    this.repaint();
+    // If incremental redrawing is enabled, then only the changed date labels are repainted.
+    if (settings.getEnableIncrementalRedraw()) {
+      for (JLabel changedDateLabel : changedDateLabels) {
+        changedDateLabel.repaint();
+      }
+    } else {
+      this.repaint();
+    }
   }
 
   /**
@@ -1015,21 +1118,6 @@ public class CalendarPanel extends JPanel {
     return settings;
   }
 
-  /**
-   * getLastDayOfMonth, This returns the last day of the month for the specified year and month.
-   *
-   * <p>Implementation notes: As of this writing, the below implementation is verified to work
-   * correctly for negative years, as those years are to defined in the iso 8601 your format that is
-   * used by java.time.YearMonth. This functionality can be tested by by checking to see if to see
-   * if the year "-0004" is correctly displayed as a leap year. Leap years have 29 days in February.
-   * There should be 29 days in the month of "February 1, -0004".
-   */
-  private int getLastDayOfMonth(YearMonth yearMonth) {
-    LocalDate firstDayOfMonth = LocalDate.of(yearMonth.getYear(), yearMonth.getMonth(), 1);
-    int lastDayOfMonth = firstDayOfMonth.lengthOfMonth();
-    return lastDayOfMonth;
-  }
-
   /**
    * getMonthOrYearMenuLocation, This calculates the position should be used to set the location of
    * the month or the year popup menus, relative to their source labels. These menus are used to
@@ -1082,7 +1170,7 @@ public class CalendarPanel extends JPanel {
     // Highlight the label.
     label.setBackground(settings.getColor(DateArea.BackgroundCalendarPanelLabelsOnHover));
     label.setForeground(settings.getColor(DateArea.TextCalendarPanelLabelsOnHover));
-    label.setBorder(new CompoundBorder(new LineBorder(Color.GRAY), labelIndicatorEmptyBorder));
+    label.setBorder(settings.getBorderCache().getLabelIndicatorBorder(Color.GRAY));
   }
 
   /**
@@ -1116,7 +1204,7 @@ public class CalendarPanel extends JPanel {
       label.setBackground(settings.getColor(DateArea.BackgroundClearLabel));
       label.setForeground(settings.getColor(DateArea.TextClearLabel));
     }
-    label.setBorder(new CompoundBorder(new EmptyBorder(1, 1, 1, 1), labelIndicatorEmptyBorder));
+    label.setBorder(settings.getBorderCache().getLabelIndicatorBorder(null));
   }
 
   /**
@@ -1136,30 +1224,41 @@ public class CalendarPanel extends JPanel {
     if (monthPopupCancelWatcher.wasJustCanceled()) {
       return;
     }
-    // Create and show the month popup menu.
-    popupMonth.removeAll();
-    String[] allLocalMonths = settings.getTranslationArrayStandaloneLongMonthNames();
-    for (int i = 0; i < allLocalMonths.length; ++i) {
-      final String localMonth = allLocalMonths[i];
-      final int localMonthZeroBasedIndexTemp = i;
-      if (!localMonth.isEmpty()) {
-        popupMonth.add(
-            new JMenuItem(
-                new AbstractAction(localMonth) {
-                  int localMonthZeroBasedIndex = localMonthZeroBasedIndexTemp;
-
-                  @Override
-                  public void actionPerformed(ActionEvent e) {
-                    drawCalendar(
-                        displayedYearMonth.getYear(), Month.of(localMonthZeroBasedIndex + 1));
-                  }
-                }));
+    // Create the month menu items if needed, and label them with the current month names.
+    if (monthMenuItems == null) {
+      monthMenuItems = new JMenuItem[12];
+      for (int i = 0; i < monthMenuItems.length; ++i) {
+        monthMenuItems[i] = new JMenuItem();
+        monthMenuItems[i].addActionListener(
+            actionEvent -> monthMenuItemActionPerformed(actionEvent));
+        popupMonth.add(monthMenuItems[i]);
       }
     }
+    String[] allLocalMonths = settings.getTranslationArrayStandaloneLongMonthNames();
+    for (int i = 0; i < monthMenuItems.length; ++i) {
+      String localMonth = (i < allLocalMonths.length) ? allLocalMonths[i] : "";
+      zSetMenuItemText(monthMenuItems[i], localMonth);
+      monthMenuItems[i].setVisible(!localMonth.isEmpty());
+    }
+    // Show the month popup menu.
     Point menuLocation = getMonthOrYearMenuLocation(labelMonth, popupMonth);
     popupMonth.show(monthAndYearInnerPanel, menuLocation.x, menuLocation.y);
   }
 
+  /**
+   * monthMenuItemActionPerformed, This is called when the user chooses an item from the month popup
+   * menu. This is shared by all the month menu items. This displays the chosen month in the same
+   * year.
+   */
+  private void monthMenuItemActionPerformed(ActionEvent e) {
+    for (int i = 0; i < monthMenuItems.length; ++i) {
+      if (monthMenuItems[i] == e.getSource()) {
+        drawCalendar(displayedYearMonth.getYear(), Month.of(i + 1));
+        return;
+      }
+    }
+  }
+
   /**
    * labelSetDateToTodayMousePressed, This event is called when the "Today" label is clicked in a
    * date picker. This sets the date picker date to today.
@@ -1220,64 +1319,50 @@ public class CalendarPanel extends JPanel {
       firstMenuYear = firstYear;
       lastMenuYear = lastYear;
     }
-    // Clear the popup menu.
-    popupYear.removeAll();
-    // Add an up arrow to show earlier years, if any earlier year is allowed.
-    if (firstMenuYear > firstLegalYear) {
-      popupYear.add(
-          new JMenuItem(
-              // This is a black up-pointing triangle.
-              new AbstractAction("\u25b2") {
-                @Override
-                public void actionPerformed(ActionEvent e) {
-                  populateYearPopupMenu(firstMenuYear + firstYearDifference - 1);
-                  Point menuLocation = getMonthOrYearMenuLocation(labelYear, popupYear);
-                  popupYear.show(monthAndYearInnerPanel, menuLocation.x, menuLocation.y);
-                }
-              }));
-    }
-    for (int menuYear = firstMenuYear; menuYear <= lastMenuYear; ++menuYear) {
-      // No special processing is required for the BC to AD transition in the
-      // ISO 8601 calendar system. Year zero does exist in this system.
-      // This try block handles exceptions that can occur at LocalDate.MAX.
-      try {
-        String choiceYearString = String.valueOf(menuYear);
-        popupYear.add(
-            new JMenuItem(
-                new AbstractAction(choiceYearString) {
-                  @Override
-                  public void actionPerformed(ActionEvent e) {
-                    String chosenMenuText = ((JMenuItem) e.getSource()).getText();
-                    int chosenYear = Integer.parseInt(chosenMenuText);
-                    drawCalendar(chosenYear, displayedYearMonth.getMonth());
-                  }
-                }));
-      } catch (Exception ex) {
+    // Create the year menu items if needed. The items are reused every time that the menu is used.
+    if (yearMenuItems == null) {
+      zCreateYearMenuItems(maxYearCount);
+    }
+    // Show the up arrow to show earlier years, if any earlier year is allowed.
+    yearMenuEarlierYearsTarget = firstMenuYear + firstYearDifference - 1;
+    yearMenuEarlierYearsItem.setVisible(firstMenuYear > firstLegalYear);
+    // Relabel the year items, and hide any unused year items.
+    // No special processing is required for the BC to AD transition in the
+    // ISO 8601 calendar system. Year zero does exist in this system.
+    for (int i = 0; i < yearMenuItems.length; ++i) {
+      int menuYear = firstMenuYear + i;
+      boolean isUsed = (menuYear <= lastMenuYear);
+      if (isUsed) {
+        zSetMenuItemText(yearMenuItems[i], String.valueOf(menuYear));
       }
+      yearMenuItems[i].setVisible(isUsed);
     }
-    // Add a down arrow to show later years, if any later year is allowed.
-    if (lastMenuYear < lastLegalYear) {
-      popupYear.add(
-          new JMenuItem(
-              // This is a black down-pointing triangle.
-              new AbstractAction("\u25bc") {
-                @Override
-                public void actionPerformed(ActionEvent e) {
-                  populateYearPopupMenu(lastMenuYear + lastYearDifference + 1);
-                  Point menuLocation = getMonthOrYearMenuLocation(labelYear, popupYear);
-                  popupYear.show(monthAndYearInnerPanel, menuLocation.x, menuLocation.y);
-                }
-              }));
-    }
-    final String choiceOtherYearString = "( . . . )";
-    popupYear.add(
-        new JMenuItem(
-            new AbstractAction(choiceOtherYearString) {
-              @Override
-              public void actionPerformed(ActionEvent e) {
-                otherYearMenuItemClicked();
-              }
-            }));
+    // Show the down arrow to show later years, if any later year is allowed.
+    yearMenuLaterYearsTarget = lastMenuYear + lastYearDifference + 1;
+    yearMenuLaterYearsItem.setVisible(lastMenuYear < lastLegalYear);
+  }
+
+  /**
+   * yearMenuItemActionPerformed, This is called when the user chooses a year from the year popup
+   * menu. This is shared by all the year menu items. This displays the chosen year, by reading the
+   * year from the text of the menu item.
+   */
+  private void yearMenuItemActionPerformed(ActionEvent e) {
+    String chosenMenuText = ((JMenuItem) e.getSource()).getText();
+    int chosenYear = Integer.parseInt(chosenMenuText);
+    drawCalendar(chosenYear, displayedYearMonth.getMonth());
+  }
+
+  /**
+   * yearMenuScrollActionPerformed, This is called when the user chooses the up arrow or down arrow
+   * item from the year popup menu. This relabels the year menu items for the earlier or later
+   * years, and shows the year menu again.
+   */
+  private void yearMenuScrollActionPerformed(ActionEvent e) {
+    boolean isEarlierYears = (e.getSource() == yearMenuEarlierYearsItem);
+    populateYearPopupMenu(isEarlierYears ? yearMenuEarlierYearsTarget : yearMenuLaterYearsTarget);
+    Point menuLocation = getMonthOrYearMenuLocation(labelYear, popupYear);
+    popupYear.show(monthAndYearInnerPanel, menuLocation.x, menuLocation.y);
   }
 
   /**
@@ -1397,6 +1482,13 @@ public class CalendarPanel extends JPanel {
     // Force the new size to be multiples of 7 for the columns and rows.
     panelHeight += (panelHeight % 7);
     panelWidth += (panelWidth % 7);
+    // If the size has not changed, then skip the forced layout.
+    Dimension size = new Dimension(panelWidth, panelHeight);
+    if (size.equals(appliedDatePanelCellSize)) {
+      this.validate();
+      return;
+    }
+    appliedDatePanelCellSize = size;
     // Set the containing cell to be the desired minimum size.
     layout.rowHeights[3] = panelHeight + constantSizeOfCenterPanelBorders.height;
     layout.columnWidths[1] = panelWidth + constantSizeOfCenterPanelBorders.width;
@@ -1414,11 +1506,15 @@ public class CalendarPanel extends JPanel {
   private void setSizeOfWeekNumberLabels() {
     JLabel firstLabel = weekNumberLabels.get(0);
     Font font = firstLabel.getFont();
-    FontMetrics fontMetrics = firstLabel.getFontMetrics(font);
-    int width = fontMetrics.stringWidth("53 ");
+    int width = FontMeasurementCache.getTextWidth(font, "53 ", firstLabel);
     width += constantWeekNumberLabelInsets.left;
     width += constantWeekNumberLabelInsets.right;
     Dimension size = new Dimension(width, 1);
+    // If the size has not changed, then skip setting the sizes, which would invalidate the layout.
+    if (size.equals(appliedWeekNumberLabelSize)) {
+      return;
+    }
+    appliedWeekNumberLabelSize = size;
     for (JLabel currentLabel : weekNumberLabels) {
       currentLabel.setMinimumSize(size);
       currentLabel.setPreferredSize(size);
@@ -1437,15 +1533,13 @@ public class CalendarPanel extends JPanel {
     if (settings == null) {
       return;
     }
-    // Get the font metrics object.
+    // The text measurements are taken from the shared measurement cache.
     Font font = labelMonth.getFont();
-    Canvas canvas = new Canvas();
-    FontMetrics metrics = canvas.getFontMetrics(font);
     // Calculate the preferred height for the month and year panel.
     int heightNavigationButtons = buttonPreviousYear.getPreferredSize().height;
     int preferredHeightMonthLabel = labelMonth.getPreferredSize().height;
     int preferredHeightYearLabel = labelYear.getPreferredSize().height;
-    int monthFontHeight = metrics.getHeight();
+    int monthFontHeight = FontMeasurementCache.getFontHeight(font);
     int monthFontHeightWithPadding = monthFontHeight + 2;
     int panelHeight =
         Math.max(
@@ -1454,16 +1548,17 @@ public class CalendarPanel extends JPanel {
                 preferredHeightMonthLabel,
                 Math.max(preferredHeightYearLabel, heightNavigationButtons)));
     // Get the length of the longest translated month string (in pixels).
-    DateFormatSymbols symbols = DateFormatSymbols.getInstance(settings.getLocale());
-    String[] allLocalMonths = symbols.getMonths();
-    int longestMonthPixels = 0;
-    for (String month : allLocalMonths) {
-      int monthPixels = metrics.stringWidth(month);
-      longestMonthPixels = (monthPixels > longestMonthPixels) ? monthPixels : longestMonthPixels;
-    }
-    int yearPixels = metrics.stringWidth("_2000");
+    int longestMonthPixels =
+        FontMeasurementCache.getLongestMonthNameWidth(font, settings.getLocale());
+    int yearPixels = FontMeasurementCache.getTextWidth(font, "_2000", null);
     // Calculate the size of a box to hold the text with some padding.
     Dimension size = new Dimension(longestMonthPixels + yearPixels + 12, panelHeight);
+    // If the size has not changed, then skip the forced layout.
+    if (size.equals(appliedMonthAndYearPanelSize)) {
+      this.validate();
+      return;
+    }
+    appliedMonthAndYearPanelSize = size;
     // Set the monthAndYearPanel to the appropriate constant size.
     monthAndYearOuterPanel.setMinimumSize(size);
     monthAndYearOuterPanel.setPreferredSize(size);
@@ -1555,6 +1650,53 @@ public class CalendarPanel extends JPanel {
         });
   }
 
+  /**
+   * zCreateYearMenuItems, This creates the reusable menu items of the year popup menu, and adds
+   * them to the year popup menu. This is only called once, the first time that the year menu is
+   * used. The menu holds (in order): An up arrow, the supplied number of year items, a down arrow,
+   * and an item for choosing any other year.
+   */
+  private void zCreateYearMenuItems(int yearItemCount) {
+    // This is a black up-pointing triangle.
+    yearMenuEarlierYearsItem = new JMenuItem("\u25b2");
+    yearMenuEarlierYearsItem.addActionListener(
+        actionEvent -> yearMenuScrollActionPerformed(actionEvent));
+    popupYear.add(yearMenuEarlierYearsItem);
+    yearMenuItems = new JMenuItem[yearItemCount];
+    for (int i = 0; i < yearMenuItems.length; ++i) {
+      yearMenuItems[i] = new JMenuItem();
+      yearMenuItems[i].addActionListener(actionEvent -> yearMenuItemActionPerformed(actionEvent));
+      popupYear.add(yearMenuItems[i]);
+    }
+    // This is a black down-pointing triangle.
+    yearMenuLaterYearsItem = new JMenuItem("\u25bc");
+    yearMenuLaterYearsItem.addActionListener(
+        actionEvent -> yearMenuScrollActionPerformed(actionEvent));
+    popupYear.add(yearMenuLaterYearsItem);
+    JMenuItem otherYearMenuItem = new JMenuItem("( . . . )");
+    otherYearMenuItem.addActionListener(actionEvent -> otherYearMenuItemClicked());
+    popupYear.add(otherYearMenuItem);
+  }
+
+  /**
+   * zFireCoalescedYearMonthChangeEvent, This is used with YearMonthEventMode.CoalescedChanges. This
+   * is called from the Swing event queue, after one or more YearMonth changes. This notifies the
+   * calendar listeners once, with the first old YearMonth and the currently displayed YearMonth.
+   * Nothing is sent if the YearMonth has returned to its first old value.
+   */
+  private void zFireCoalescedYearMonthChangeEvent() {
+    YearMonth oldYearMonth = coalescedOldYearMonth;
+    coalescedOldYearMonth = null;
+    if (oldYearMonth == null || PickerUtilities.isSameYearMonth(displayedYearMonth, oldYearMonth)) {
+      return;
+    }
+    YearMonthChangeEvent yearMonthChangeEvent =
+        new YearMonthChangeEvent(this, displayedYearMonth, oldYearMonth);
+    for (CalendarListener calendarListener : calendarListeners) {
+      calendarListener.yearMonthChanged(yearMonthChangeEvent);
+    }
+  }
+
   /**
    * zInternalChangeSelectedDateProcedure, This should be called whenever we need to change the
    * selected date variable. This will store the supplied selected date and redraw the calendar. If
@@ -1574,16 +1716,81 @@ public class CalendarPanel extends JPanel {
       LocalDate newDate, YearMonth oldYearMonthOrNull) {
     LocalDate oldDate = displayedSelectedDate;
     displayedSelectedDate = newDate;
-    for (CalendarListener calendarListener : calendarListeners) {
+    if (!calendarListeners.isEmpty()) {
       CalendarSelectionEvent dateSelectionEvent =
           new CalendarSelectionEvent(this, newDate, oldDate);
-      calendarListener.selectedDateChanged(dateSelectionEvent);
+      for (CalendarListener calendarListener : calendarListeners) {
+        calendarListener.selectedDateChanged(dateSelectionEvent);
+      }
     }
     drawCalendar(displayedYearMonth, oldYearMonthOrNull);
     // Fire a change event for beans binding.
     firePropertyChange("selectedDate", oldDate, newDate);
   }
 
+  /**
+   * zApplyDateLabelState, This sets the supplied state on the date label at the specified index.
+   * Only the properties that differ from the last state that was applied to the label will be
+   * pushed to the label. This returns true if any property of the label was changed, otherwise
+   * this returns false.
+   *
+   * <p>A null borderColor indicates that the label should use the default (empty) border.
+   */
+  private boolean zApplyDateLabelState(
+      int dateLabelArrayIndex,
+      String text,
+      Color background,
+      Color foreground,
+      Font font,
+      Color borderColor,
+      boolean enabled,
+      String toolTipText) {
+    JLabel dateLabel = dateLabels.get(dateLabelArrayIndex);
+    DateLabelState state = dateLabelStates[dateLabelArrayIndex];
+    boolean isUnknownState = (state == null);
+    if (isUnknownState) {
+      state = new DateLabelState();
+      dateLabelStates[dateLabelArrayIndex] = state;
+    }
+    boolean changed = false;
+    if (isUnknownState || !InternalUtilities.areObjectsEqual(state.text, text)) {
+      dateLabel.setText(text);
+      state.text = text;
+      changed = true;
+    }
+    if (isUnknownState || !InternalUtilities.areObjectsEqual(state.background, background)) {
+      dateLabel.setBackground(background);
+      state.background = background;
+      changed = true;
+    }
+    if (isUnknownState || !InternalUtilities.areObjectsEqual(state.foreground, foreground)) {
+      dateLabel.setForeground(foreground);
+      state.foreground = foreground;
+      changed = true;
+    }
+    if (isUnknownState || !InternalUtilities.areObjectsEqual(state.font, font)) {
+      dateLabel.setFont(font);
+      state.font = font;
+      changed = true;
+    }
+    if (isUnknownState || !InternalUtilities.areObjectsEqual(state.borderColor, borderColor)) {
+      dateLabel.setBorder(settings.getBorderCache().getDateLabelBorder(borderColor));
+      state.borderColor = borderColor;
+      changed = true;
+    }
+    if (isUnknownState || state.enabled != enabled) {
+      dateLabel.setEnabled(enabled);
+      state.enabled = enabled;
+      changed = true;
+    }
+    if (isUnknownState || !InternalUtilities.areObjectsEqual(state.toolTipText, toolTipText)) {
+      dateLabel.setToolTipText(toolTipText);
+      state.toolTipText = toolTipText;
+      changed = true;
+    }
+    return changed;
+  }
+
   /**
    * zLabelIndicatorsAllSetColorsToDefaultState, This is called to set all label indicators to the
    * state they should have when there is no mouse hovering over them.
@@ -1595,6 +1802,35 @@ public class CalendarPanel extends JPanel {
     labelIndicatorSetColorsToDefaultState(labelClearDate);
   }
 
+  /**
+   * zSetMenuItemText, This sets the text of a reusable popup menu item. The text is only set if it
+   * has changed, to avoid an unneeded layout of the popup menu.
+   */
+  private static void zSetMenuItemText(JMenuItem menuItem, String text) {
+    if (!text.equals(menuItem.getText())) {
+      menuItem.setText(text);
+    }
+  }
+
+  /**
+   * zPrepareForReuse, This is called by the parent date picker when a kept calendar panel is about
+   * to be shown in a popup again. This returns the calendar panel to the state of a newly
+   * constructed date picker calendar panel, and then selects the supplied date (if it is not
+   * null). The previously selected date is cleared silently, because it only belonged to the
+   * previous popup.
+   */
+  void zPrepareForReuse(LocalDate selectedDateOrNull) {
+    // Close the year editor, in case it was left open when the previous popup was closed.
+    monthAndYearInnerPanel.remove(yearEditorPanel);
+    displayedSelectedDate = null;
+    // This restores the default displayed YearMonth, the borders, the label indicators and the
+    // button visibility. This also redraws the calendar.
+    setSettings(settings);
+    if (selectedDateOrNull != null) {
+      setSelectedDate(selectedDateOrNull);
+    }
+  }
+
   /**
    * initComponents, This initializes the GUI components in the calendar panel. This function is
    * automatically generated by JFormDesigner. This function should not be modified by hand, it
@@ -1951,6 +2187,71 @@ public class CalendarPanel extends JPanel {
     drawCalendar();
   }
 
+  /**
+   * zApplyNavigationButtonStates, This enables or disables the month and year navigation buttons,
+   * according to the "skip vetoed months" setting. If the setting is on, then each button is
+   * disabled if no month with an allowed date exists in the direction of that button.
+   *
+   * <p>This only enables buttons that were disabled by the setting itself. If the setting is off,
+   * then those buttons are enabled again, and the enabled state of the buttons is otherwise left
+   * alone. This means that a button which was disabled by the programmer will stay disabled.
+   *
+   * <p>The states are calculated again on every redraw, because the rules of a veto policy can
+   * change without the policy being replaced.
+   */
+  private void zApplyNavigationButtonStates() {
+    if (!settings.getEnableSkipVetoedMonths()) {
+      for (JButton button : navigationButtonsDisabledBySkip) {
+        button.setEnabled(true);
+      }
+      navigationButtonsDisabledBySkip.clear();
+      return;
+    }
+    zSetNavigationButtonAllowed(buttonNextMonth, zGetNavigationTarget(1) != null);
+    zSetNavigationButtonAllowed(buttonNextYear, zGetNavigationTarget(12) != null);
+    zSetNavigationButtonAllowed(buttonPreviousMonth, zGetNavigationTarget(-1) != null);
+    zSetNavigationButtonAllowed(buttonPreviousYear, zGetNavigationTarget(-12) != null);
+  }
+
+  /**
+   * zGetNavigationTarget, This returns the month that should be displayed after a navigation button
+   * moves the calendar by the specified number of months. If the "skip vetoed months" setting is
+   * off, then this is always the displayed month plus the specified number of months. If the
+   * setting is on, then this is the nearest month that contains an allowed date, starting at the
+   * displayed month plus the specified number of months, and searching in the same direction. This
+   * returns null if no month with an allowed date is found, or if the edge of the supported date
+   * range is reached.
+   */
+  private YearMonth zGetNavigationTarget(int monthsToMove) {
+    YearMonth firstMonthToCheck;
+    try {
+      firstMonthToCheck = displayedYearMonth.plusMonths(monthsToMove);
+    } catch (DateTimeException ex) {
+      return null;
+    }
+    if (!settings.getEnableSkipVetoedMonths()) {
+      return firstMonthToCheck;
+    }
+    return InternalUtilities.getNearestMonthWithAllowedDate(
+        settings.getVetoPolicy(), firstMonthToCheck, (monthsToMove > 0), maximumMonthsToSkip);
+  }
+
+  /**
+   * zSetNavigationButtonAllowed, This disables the supplied navigation button if navigation in its
+   * direction is not allowed by the skip vetoed months setting. If navigation is allowed, then the
+   * button is only enabled if it was disabled by that setting.
+   */
+  private void zSetNavigationButtonAllowed(JButton button, boolean allowed) {
+    if (!allowed) {
+      if (button.isEnabled()) {
+        button.setEnabled(false);
+        navigationButtonsDisabledBySkip.add(button);
+      }
+    } else if (navigationButtonsDisabledBySkip.remove(button)) {
+      button.setEnabled(true);
+    }
+  }
+
   /**
    * zApplyVisibilityOfButtons, This sets visibility of button controls for this calendar, according
    * to the current settings.
@@ -1999,71 +2300,6 @@ public class CalendarPanel extends JPanel {
     footerPanel.setVisible(showFooterPanel);
   }
 
-  /**
-   * zGetWeekNumberForASevenDayRange, This returns a week number for the specified seven day range,
-   * according to the supplied weekFieldRules.
-   *
-   * <p>If all seven days fall on the same week number, then that week number will be returned.
-   *
-   * <p>If "requireUnanimousWeekNumber" is true and the supplied range falls across two week
-   * numbers, then null is returned.
-   *
-   * <p>If "requireUnanimousWeekNumber" is false and the supplied range falls across two week
-   * numbers, then the "majority rules" system is used for determining the returned week number.
-   *
-   * <p>The majority rules system means that the most common week number in the seven day range will
-   * be returned. For example: If days 1 and 2 are in week 30, and days 3 through 7 are in week 31,
-   * then the week number 31 will be returned. There is no possibility of a "tie" week number,
-   * because the number of days in the range is seven (an odd number). Additionally, the returned
-   * week number will always be the correct week number for a minimum of four days out of the seven
-   * day range.
-   *
-   * <p>To make sure that all seven days in the range -can- fall on the same week number, the caller
-   * of the function would need to supply a seven day range that starts on the same "first day of
-   * the week" that is used by the supplied weekFieldRules. I don't know if there are any special
-   * cases where these matching parameters are supplied, but the result is still not a unanimous
-   * week number.
-   *
-   * <p>The week fields object can be created from a specific locale, (including Locale.ISO if
-   * desired), or the week fields can be configured to match any desired week field rules.
-   *
-   * <p>Examples of creating week field instances: WeekFields weekFields = WeekFields.of(Locale
-   * locale); WeekFields weekFields = WeekFields.of(DayOfWeek firstDayOfWeek, int
-   * minimalDaysInFirstWeek);
-   */
-  private Integer zGetWeekNumberForASevenDayRange(
-      LocalDate firstDateInRange, WeekFields weekFieldRules, boolean requireUnanimousWeekNumber) {
-    // Get the week number for each of the seven days in the range.
-    ArrayList<Integer> weekNumbersList = new ArrayList<>();
-    for (int daysIntoTheFuture = 0; daysIntoTheFuture <= 6; ++daysIntoTheFuture) {
-      LocalDate currentDateInRange;
-      // This try block handles an exception that can occur at LocalDate.MAX
-      try {
-        currentDateInRange = firstDateInRange.plusDays(daysIntoTheFuture);
-        int currentWeekNumber = currentDateInRange.get(weekFieldRules.weekOfWeekBasedYear());
-        weekNumbersList.add(currentWeekNumber);
-      } catch (Exception ex) {
-        return 1;
-      }
-    }
-    // Find out if all the week numbers are the same.
-    // We can check for a unanimous sequence by looking at the first and last number.
-    boolean isUnanimous =
-        (InternalUtilities.areObjectsEqual(weekNumbersList.get(0), weekNumbersList.get(6)));
-    // If the week numbers are unanimous, then return the unanimous week number.
-    if (isUnanimous) {
-      return weekNumbersList.get(0);
-    }
-    // The week number is not unanimous.
-    // If unanimous week numbers are required, then return null.
-    if (requireUnanimousWeekNumber) {
-      return null;
-    }
-    // Otherwise, return the most common week number.
-    int mostCommonWeekNumber = InternalUtilities.getMostCommonElementInList(weekNumbersList);
-    return mostCommonWeekNumber;
-  }
-
   /**
    * setSettings, This will set the settings instance for this calendar panel. The previous settings
    * will be deleted. Note that calling this function effectively re-initializes the picker
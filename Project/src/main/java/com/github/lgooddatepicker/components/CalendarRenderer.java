@@ -0,0 +1,514 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.components;
+
+import com.github.lgooddatepicker.components.DatePickerSettings.DateArea;
+import com.github.lgooddatepicker.optionalusertools.CalendarBorderProperties;
+import com.github.lgooddatepicker.optionalusertools.DateHighlightPolicy;
+import com.github.lgooddatepicker.optionalusertools.DateInterval;
+import com.github.lgooddatepicker.optionalusertools.DateVetoPolicy;
+import com.github.lgooddatepicker.zinternaltools.DateLocaleProfile;
+import com.github.lgooddatepicker.zinternaltools.FontMeasurementCache;
+import com.github.lgooddatepicker.zinternaltools.HighlightInformation;
+import com.github.lgooddatepicker.zinternaltools.InternalUtilities;
+import com.github.lgooddatepicker.zinternaltools.MonthGrid;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.WeekFields;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.List;
+import javax.swing.UIManager;
+
+/**
+ * CalendarRenderer, This paints a month calendar directly onto a Graphics2D instance or a
+ * BufferedImage, without creating or realizing any Swing components. This is intended for server
+ * side reports, such as PDF or HTML reports that are created in a headless environment.
+ *
+ * <p>A renderer paints the same visual model as a calendar panel: The month and year header, the
+ * weekday labels, the optional week numbers, the calendar borders, and the date cells. The colors,
+ * fonts, DateArea roles, border properties, highlight policy, and veto policy are taken from the
+ * supplied DatePickerSettings. The interactive controls of a calendar panel (the navigation
+ * buttons, and the today and clear labels) are not painted.
+ *
+ * <p>Thread safety: All the settings values are copied when the renderer is constructed, so later
+ * changes to the settings do not affect an existing renderer. The renderer itself is immutable,
+ * and the same renderer can paint any number of months in parallel, from any threads. The veto
+ * policy and the highlight policy are called during each paint operation, so when months are
+ * painted in parallel, those policies must also be safe to call from multiple threads.
+ */
+public final class CalendarRenderer {
+
+  /**
+   * headerPadding, This is the space in pixels that is added above and below the month and year
+   * text in the header.
+   */
+  private static final int headerPadding = 3;
+
+  /**
+   * weekNumberHorizontalPadding, This is the total horizontal space in pixels that is added to the
+   * width of the week number column. This matches the insets of the calendar panel week number
+   * labels.
+   */
+  private static final int weekNumberHorizontalPadding = 11;
+
+  /** borderColors, This holds the color of each border coordinate, indexed by [x][y]. */
+  private final Color[][] borderColors = new Color[6][6];
+
+  /**
+   * borderThicknesses, This holds the thickness in pixels of each border coordinate, indexed by
+   * [x][y]. A thickness of zero indicates that the border at that coordinate is not painted.
+   */
+  private final int[][] borderThicknesses = new int[6][6];
+
+  /** cellSize, This is the size in pixels of each weekday cell and each date cell. */
+  private final Dimension cellSize;
+
+  /** colors, This holds a copy of the colors of all the DateArea roles. */
+  private final EnumMap<DateArea, Color> colors = new EnumMap<>(DateArea.class);
+
+  /** colorBackgroundWeekdayLabels, This is the background color of the weekday labels. */
+  private final Color colorBackgroundWeekdayLabels;
+
+  /** colorBackgroundWeekNumberLabels, This is the background color of the week number labels. */
+  private final Color colorBackgroundWeekNumberLabels;
+
+  /**
+   * colorTextVetoedDates, This is the text color of vetoed dates. This matches the text color of
+   * the disabled date labels of a calendar panel.
+   */
+  private final Color colorTextVetoedDates;
+
+  /**
+   * columnWidths, columnPositions, These hold the width and the horizontal position in pixels of
+   * each column of the border coordinate system. The values are indexed from 1 to 5.
+   */
+  private final int[] columnWidths = new int[6];
+
+  private final int[] columnPositions = new int[6];
+
+  /** firstDayOfWeek, This is the first day of the week that is displayed in the calendar. */
+  private final DayOfWeek firstDayOfWeek;
+
+  /**
+   * fontDateLabels, fontMonthAndYear, fontWeekdayLabels, fontWeekNumberLabels, These hold the fonts
+   * of the date labels, the month and year header, the weekday labels, and the week numbers.
+   */
+  private final Font fontDateLabels;
+
+  private final Font fontMonthAndYear;
+  private final Font fontWeekdayLabels;
+  private final Font fontWeekNumberLabels;
+
+  /** headerHeight, This is the height in pixels of the month and year header. */
+  private final int headerHeight;
+
+  /** highlightPolicy, This is the highlight policy, or null if no dates are highlighted. */
+  private final DateHighlightPolicy highlightPolicy;
+
+  /** imageSize, This is the total size in pixels of a painted month. */
+  private final Dimension imageSize;
+
+  /** longMonthNames, This holds a copy of the translated standalone long month names. */
+  private final String[] longMonthNames;
+
+  /**
+   * rowHeights, rowPositions, These hold the height and the vertical position in pixels of each
+   * row of the border coordinate system. The values are indexed from 1 to 5. The positions include
+   * the height of the header.
+   */
+  private final int[] rowHeights = new int[6];
+
+  private final int[] rowPositions = new int[6];
+
+  /** vetoPolicy, This is the veto policy, or null if all dates are allowed. */
+  private final DateVetoPolicy vetoPolicy;
+
+  /** weekdayLabels, This holds the ordered weekday label texts. */
+  private final List<String> weekdayLabels;
+
+  /** weekNumberRules, This holds the week number rules, or null if week numbers are hidden. */
+  private final WeekFields weekNumberRules;
+
+  /**
+   * Constructor, This creates a renderer that uses a copy of the current values of the supplied
+   * settings, including the veto policy and the highlight policy of the settings. The settings
+   * should be read on the thread that normally changes them, which is usually the Swing event
+   * dispatch thread. After construction, the renderer can be used from any thread.
+   */
+  public CalendarRenderer(DatePickerSettings settings) {
+    this(settings, settings.getVetoPolicy(), settings.getHighlightPolicy());
+  }
+
+  /**
+   * Constructor, This creates a renderer that uses a copy of the current values of the supplied
+   * settings, but uses the supplied veto policy and highlight policy instead of the policies of the
+   * settings. Either policy may be null. This is useful in headless environments, because a veto
+   * policy can only be set on a settings instance that has a parent DatePicker or a parent
+   * independent CalendarPanel.
+   */
+  public CalendarRenderer(
+      DatePickerSettings settings,
+      DateVetoPolicy vetoPolicy,
+      DateHighlightPolicy highlightPolicy) {
+    for (DateArea area : DateArea.values()) {
+      colors.put(area, settings.getColor(area));
+    }
+    colorBackgroundWeekdayLabels = settings.getColorBackgroundWeekdayLabels();
+    colorBackgroundWeekNumberLabels = settings.getColorBackgroundWeekNumberLabels();
+    Color disabledTextColor = UIManager.getColor("Label.disabledForeground");
+    colorTextVetoedDates = (disabledTextColor == null) ? Color.gray : disabledTextColor;
+    firstDayOfWeek = settings.getFirstDayOfWeekDisplayedOnCalendar();
+    fontDateLabels = settings.getFontCalendarDateLabels();
+    fontMonthAndYear = settings.getFontMonthAndYearMenuLabels();
+    fontWeekdayLabels = settings.getFontCalendarWeekdayLabels();
+    fontWeekNumberLabels = settings.getFontCalendarWeekNumberLabels();
+    this.highlightPolicy = highlightPolicy;
+    longMonthNames = settings.getTranslationArrayStandaloneLongMonthNames().clone();
+    this.vetoPolicy = vetoPolicy;
+    weekdayLabels =
+        DateLocaleProfile.getProfile(settings.getLocale()).getShortWeekdayLabels(firstDayOfWeek);
+    boolean showWeekNumbers = settings.getWeekNumbersDisplayed();
+    weekNumberRules = (showWeekNumbers) ? settings.getWeekNumberRules() : null;
+
+    // Apply the border properties, in the same way as the calendar panel.
+    applyBorderProperties(
+        new CalendarBorderProperties(new Point(1, 1), new Point(5, 5), Color.black, 0));
+    ArrayList<CalendarBorderProperties> borderPropertiesList = settings.getBorderPropertiesList();
+    if (borderPropertiesList != null) {
+      for (CalendarBorderProperties borderProperties : borderPropertiesList) {
+        applyBorderProperties(borderProperties);
+      }
+    }
+    if (!showWeekNumbers) {
+      applyBorderProperties(
+          new CalendarBorderProperties(new Point(1, 1), new Point(2, 5), Color.black, 0));
+    }
+
+    // Calculate the cell size. The date panel size is forced to multiples of seven, in the same
+    // way as the calendar panel. The date panel holds the weekday row and six date rows.
+    int panelWidth = settings.getSizeDatePanelMinimumWidth();
+    int panelHeight = settings.getSizeDatePanelMinimumHeight();
+    panelWidth += (panelWidth % 7);
+    panelHeight += (panelHeight % 7);
+    cellSize = new Dimension(panelWidth / 7, panelHeight / 7);
+
+    // Calculate the column widths and the row heights.
+    int weekNumberWidth =
+        FontMeasurementCache.getTextWidth(fontWeekNumberLabels, "53 ", null)
+            + weekNumberHorizontalPadding;
+    columnWidths[2] = (showWeekNumbers) ? weekNumberWidth : 0;
+    columnWidths[4] = cellSize.width * MonthGrid.columnCount;
+    rowHeights[2] = cellSize.height;
+    rowHeights[4] = cellSize.height * MonthGrid.rowCount;
+    for (int index = 1; index <= 5; index += 2) {
+      for (int other = 1; other <= 5; ++other) {
+        columnWidths[index] = Math.max(columnWidths[index], borderThicknesses[index][other]);
+        rowHeights[index] = Math.max(rowHeights[index], borderThicknesses[other][index]);
+      }
+    }
+    headerHeight = FontMeasurementCache.getFontHeight(fontMonthAndYear) + (headerPadding * 2);
+    int gridWidth = 0;
+    int gridHeight = 0;
+    for (int index = 1; index <= 5; ++index) {
+      columnPositions[index] = gridWidth;
+      rowPositions[index] = headerHeight + gridHeight;
+      gridWidth += columnWidths[index];
+      gridHeight += rowHeights[index];
+    }
+    // Make sure that the longest month name and a year will fit inside the header.
+    int longestHeaderTextWidth = 0;
+    for (String monthName : longMonthNames) {
+      longestHeaderTextWidth =
+          Math.max(
+              longestHeaderTextWidth,
+              FontMeasurementCache.getTextWidth(fontMonthAndYear, monthName + " 2000", null));
+    }
+    int imageWidth = Math.max(gridWidth, longestHeaderTextWidth + (headerPadding * 2));
+    // If the header is wider than the grid, then the grid is centered horizontally.
+    int gridOffset = (imageWidth - gridWidth) / 2;
+    for (int index = 1; index <= 5; ++index) {
+      columnPositions[index] += gridOffset;
+    }
+    imageSize = new Dimension(imageWidth, headerHeight + gridHeight);
+  }
+
+  /**
+   * getDateCellBounds, This returns the bounds of the date cell that displays the supplied date,
+   * relative to the upper left corner of a painted month. This can be used to create links or image
+   * maps for the dates of a report. This returns null if the date is not inside the supplied month.
+   */
+  public Rectangle getDateCellBounds(YearMonth yearMonth, LocalDate date) {
+    if (date == null || !YearMonth.from(date).equals(yearMonth)) {
+      return null;
+    }
+    MonthGrid monthGrid = MonthGrid.of(yearMonth, firstDayOfWeek, null);
+    int cellIndex = monthGrid.getFirstDateCellIndex() + date.getDayOfMonth() - 1;
+    return getDateCellBounds(cellIndex);
+  }
+
+  /** getImageSize, This returns the total size in pixels of a painted month. */
+  public Dimension getImageSize() {
+    return new Dimension(imageSize);
+  }
+
+  /**
+   * paintMonth, This paints the supplied month onto the supplied graphics instance, with the upper
+   * left corner of the calendar at the supplied location. The painted area has the size that is
+   * returned by getImageSize(). The selected date is optional, and may be null.
+   *
+   * <p>The supplied graphics instance is not changed by this function.
+   */
+  public void paintMonth(
+      Graphics2D graphics, int x, int y, YearMonth yearMonth, LocalDate selectedDateOrNull) {
+    Graphics2D g = (Graphics2D) graphics.create();
+    try {
+      g.translate(x, y);
+      g.setRenderingHint(
+          RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+      MonthGrid monthGrid = MonthGrid.of(yearMonth, firstDayOfWeek, weekNumberRules);
+      // Paint the background and the header.
+      g.setColor(colors.get(DateArea.BackgroundOverallCalendarPanel));
+      g.fillRect(0, 0, imageSize.width, imageSize.height);
+      String headerText =
+          longMonthNames[yearMonth.getMonthValue() - 1] + " " + yearMonth.getYear();
+      paintText(
+          g,
+          headerText,
+          fontMonthAndYear,
+          colors.get(DateArea.TextMonthAndYearMenuLabels),
+          new Rectangle(0, 0, imageSize.width, headerHeight));
+      paintBorders(g);
+      // Paint the top left label, and the weekday labels.
+      if (weekNumberRules != null) {
+        g.setColor(colors.get(DateArea.BackgroundTopLeftLabelAboveWeekNumbers));
+        g.fillRect(columnPositions[2], rowPositions[2], columnWidths[2], rowHeights[2]);
+      }
+      for (int column = 0; column < MonthGrid.columnCount; ++column) {
+        Rectangle bounds =
+            new Rectangle(
+                columnPositions[4] + (column * cellSize.width),
+                rowPositions[2],
+                cellSize.width,
+                cellSize.height);
+        g.setColor(colorBackgroundWeekdayLabels);
+        g.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+        paintText(
+            g,
+            weekdayLabels.get(column),
+            fontWeekdayLabels,
+            colors.get(DateArea.CalendarTextWeekdays),
+            bounds);
+      }
+      // Paint the week numbers.
+      if (weekNumberRules != null) {
+        for (int row = 0; row < MonthGrid.rowCount; ++row) {
+          Rectangle bounds =
+              new Rectangle(
+                  columnPositions[2],
+                  rowPositions[4] + (row * cellSize.height),
+                  columnWidths[2],
+                  cellSize.height);
+          g.setColor(colorBackgroundWeekNumberLabels);
+          g.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+          if (row < monthGrid.getUsedRowCount()) {
+            paintText(
+                g,
+                String.valueOf(monthGrid.getWeekNumberOfRow(row)),
+                fontWeekNumberLabels,
+                colors.get(DateArea.CalendarTextWeekNumbers),
+                bounds);
+          }
+        }
+      }
+      paintDateCells(g, monthGrid, selectedDateOrNull);
+    } finally {
+      g.dispose();
+    }
+  }
+
+  /**
+   * renderMonth, This paints the supplied month onto a new image, and returns the image. The image
+   * has the size that is returned by getImageSize(). The selected date is optional, and may be
+   * null.
+   */
+  public BufferedImage renderMonth(YearMonth yearMonth, LocalDate selectedDateOrNull) {
+    BufferedImage image =
+        new BufferedImage(imageSize.width, imageSize.height, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g = image.createGraphics();
+    try {
+      paintMonth(g, 0, 0, yearMonth, selectedDateOrNull);
+    } finally {
+      g.dispose();
+    }
+    return image;
+  }
+
+  /**
+   * applyBorderProperties, This applies one border properties instance to the border colors and
+   * border thicknesses of this renderer. This follows the same rules as the calendar panel. A null
+   * color or a null thickness leaves the current value unchanged.
+   */
+  private void applyBorderProperties(CalendarBorderProperties borderProperties) {
+    Point ul = borderProperties.upperLeft;
+    Point lr = borderProperties.lowerRight;
+    if ((ul == null)
+        || (lr == null)
+        || (ul.x < 1)
+        || (ul.x > 5)
+        || (ul.y < 1)
+        || (ul.y > 5)
+        || (lr.x < 1)
+        || (lr.x > 5)
+        || (lr.y < 1)
+        || (lr.y > 5)
+        || (ul.x > lr.x)
+        || (ul.y > lr.y)) {
+      throw new RuntimeException(
+          "CalendarRenderer.applyBorderProperties(), The supplied points cannot be null, and"
+              + " they must have x and y coordinates with values in the range of 1 to 5"
+              + " (inclusive). Additionally, the upper left point values must be less"
+              + " than or equal to the lower right point values.");
+    }
+    for (int x = ul.x; x <= lr.x; ++x) {
+      for (int y = ul.y; y <= lr.y; ++y) {
+        if (borderProperties.backgroundColor != null) {
+          borderColors[x][y] = borderProperties.backgroundColor;
+        }
+        if (borderProperties.thicknessInPixels != null) {
+          borderThicknesses[x][y] = Math.max(0, borderProperties.thicknessInPixels);
+        }
+      }
+    }
+  }
+
+  /**
+   * getDateCellBounds, This returns the bounds of the date cell with the supplied cell index,
+   * relative to the upper left corner of a painted month.
+   */
+  private Rectangle getDateCellBounds(int cellIndex) {
+    int row = cellIndex / MonthGrid.columnCount;
+    int column = cellIndex % MonthGrid.columnCount;
+    return new Rectangle(
+        columnPositions[4] + (column * cellSize.width),
+        rowPositions[4] + (row * cellSize.height),
+        cellSize.width,
+        cellSize.height);
+  }
+
+  /**
+   * paintBorders, This paints every visible border coordinate. There is nothing to paint at the
+   * four coordinates that hold the top left label, the weekday labels, the week numbers, and the
+   * dates.
+   */
+  private void paintBorders(Graphics2D g) {
+    for (int x = 1; x <= 5; ++x) {
+      for (int y = 1; y <= 5; ++y) {
+        boolean isEmptyCoordinate = ((x % 2) == 0) && ((y % 2) == 0);
+        if (isEmptyCoordinate || borderThicknesses[x][y] == 0 || borderColors[x][y] == null) {
+          continue;
+        }
+        g.setColor(borderColors[x][y]);
+        g.fillRect(columnPositions[x], rowPositions[y], columnWidths[x], rowHeights[y]);
+      }
+    }
+  }
+
+  /**
+   * paintDateCells, This paints all the date cells of the supplied month grid. The veto policy and
+   * the highlight policy are resolved for the whole month at once, in the same way as the calendar
+   * panel.
+   */
+  private void paintDateCells(Graphics2D g, MonthGrid monthGrid, LocalDate selectedDateOrNull) {
+    YearMonth yearMonth = monthGrid.getYearMonth();
+    DateInterval monthInterval = new DateInterval(yearMonth.atDay(1), yearMonth.atEndOfMonth());
+    BitSet allowedDatesOfMonth =
+        InternalUtilities.getAllowedDatesInInterval(vetoPolicy, monthInterval);
+    HighlightInformation[] highlightInfoOfMonth =
+        InternalUtilities.getHighlightInformationInInterval(highlightPolicy, monthInterval);
+    int selectedDayOfMonth =
+        (selectedDateOrNull != null && YearMonth.from(selectedDateOrNull).equals(yearMonth))
+            ? selectedDateOrNull.getDayOfMonth()
+            : 0;
+    for (int cellIndex = 0; cellIndex < MonthGrid.cellCount; ++cellIndex) {
+      Rectangle bounds = getDateCellBounds(cellIndex);
+      Color cellBackground = colors.get(DateArea.CalendarBackgroundNormalDates);
+      int dayOfMonth = monthGrid.getDayOfMonthInCell(cellIndex);
+      if (dayOfMonth == 0) {
+        g.setColor(cellBackground);
+        g.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+        continue;
+      }
+      Color cellForeground = colors.get(DateArea.CalendarTextNormalDates);
+      Color cellBorderColor = null;
+      boolean dateIsVetoed = !allowedDatesOfMonth.get(dayOfMonth - 1);
+      HighlightInformation highlightInfo = highlightInfoOfMonth[dayOfMonth - 1];
+      if (dateIsVetoed) {
+        cellBackground = colors.get(DateArea.CalendarBackgroundVetoedDates);
+        cellForeground = colorTextVetoedDates;
+      } else if (highlightInfo != null) {
+        cellBackground =
+            (highlightInfo.colorBackground != null)
+                ? highlightInfo.colorBackground
+                : colors.get(DateArea.CalendarDefaultBackgroundHighlightedDates);
+        cellForeground =
+            (highlightInfo.colorText != null)
+                ? highlightInfo.colorText
+                : colors.get(DateArea.CalendarDefaultTextHighlightedDates);
+      }
+      if (dayOfMonth == selectedDayOfMonth) {
+        cellBackground = colors.get(DateArea.CalendarBackgroundSelectedDate);
+        cellBorderColor = colors.get(DateArea.CalendarBorderSelectedDate);
+      }
+      g.setColor(cellBackground);
+      g.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+      if (cellBorderColor != null) {
+        g.setColor(cellBorderColor);
+        g.drawRect(bounds.x, bounds.y, bounds.width - 1, bounds.height - 1);
+      }
+      paintText(g, String.valueOf(dayOfMonth), fontDateLabels, cellForeground, bounds);
+    }
+  }
+
+  /** paintText, This paints the supplied text, centered inside the supplied bounds. */
+  private static void paintText(
+      Graphics2D g, String text, Font font, Color color, Rectangle bounds) {
+    FontMetrics metrics = g.getFontMetrics(font);
+    int textX = bounds.x + ((bounds.width - metrics.stringWidth(text)) / 2);
+    int textY = bounds.y + ((bounds.height - metrics.getHeight()) / 2) + metrics.getAscent();
+    g.setFont(font);
+    g.setColor(color);
+    g.drawString(text, textX, textY);
+  }
+}
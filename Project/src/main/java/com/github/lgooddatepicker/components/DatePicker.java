@@ -44,10 +44,9 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.chrono.IsoEra;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Locale;
-import javax.swing.BorderFactory;
 import javax.swing.JButton;
 import javax.swing.JComponent;
 import javax.swing.JPanel;
@@ -115,6 +114,35 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
    */
   private Instant lastPopupCloseTime = Instant.now();
 
+  /**
+   * cachedParseText, This holds the text that was most recently parsed by this date picker, or
+   * null. The cached parse fields are used to make sure that each distinct text is only parsed
+   * once, even though the text is examined by several functions after each edit. The cached result
+   * is only valid for the settings instance, the parsing formats version, and the parsing formats
+   * list instance and size that were in use when the text was parsed.
+   */
+  private String cachedParseText = null;
+
+  /** cachedParseResult, This holds the parse result for the cachedParseText, or null. */
+  private LocalDate cachedParseResult = null;
+
+  /** cachedParseSettings, This holds the settings instance that produced the cached result. */
+  private DatePickerSettings cachedParseSettings = null;
+
+  /** cachedParseFormatsVersion, This holds the parsing formats version of the cached result. */
+  private int cachedParseFormatsVersion = 0;
+
+  /**
+   * cachedParseFormatsForParsing, This holds the parsing formats list instance that produced the
+   * cached result. The list returned by DatePickerSettings.getFormatsForParsing() can be edited in
+   * place without calling any setter. Adding or removing formats changes the size of the list, so
+   * the cached result is only used while the current list is this instance with the same size.
+   */
+  private ArrayList<DateTimeFormatter> cachedParseFormatsForParsing = null;
+
+  /** cachedParseFormatsForParsingSize, This holds the size of the cached parsing formats list. */
+  private int cachedParseFormatsForParsingSize = 0;
+
   /**
    * lastValidDate, This holds the last valid date that was entered into the date picker. This value
    * is returned from the function DatePicker.getDate();
@@ -132,6 +160,12 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
    */
   private CustomPopup popup = null;
 
+  /**
+   * reusableCalendarPanel, This holds the calendar panel that is kept between popup openings when
+   * calendar panel reuse is enabled in the settings. Otherwise this is null.
+   */
+  private CalendarPanel reusableCalendarPanel = null;
+
   /**
    * settings, This holds the settings instance for this date picker. Default settings are generated
    * automatically. Custom settings may optionally be supplied in the DatePicker constructor.
@@ -453,12 +487,7 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
       return settings.getAllowEmptyDates();
     }
     // Try to get a parsed date.
-    LocalDate parsedDate =
-        InternalUtilities.getParsedDateOrNull(
-            text,
-            settings.getFormatForDatesCommonEra(),
-            settings.getFormatForDatesBeforeCommonEra(),
-            settings.getFormatsForParsing());
+    LocalDate parsedDate = zGetParsedDateOrNull(text);
 
     // If the date could not be parsed, return false.
     if (parsedDate == null) {
@@ -483,8 +512,14 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
    * displayed, and no date will be selected.
    *
    * <p>This function creates a new calendar and a new custom popup instance each time that it is
-   * called. The associated object instances are automatically disposed and set to null when a popup
-   * is closed.
+   * called. The associated object instances are automatically set to null when a popup is closed.
+   * The popup is displayed in the popup window that is shared by all the date pickers and time
+   * pickers in the same top window, so a new native window is not created for every popup.
+   *
+   * <p>If calendar panel reuse is enabled in the settings, then the first calendar panel is kept
+   * after the popup is closed, and it is reset and redrawn by later calls to this function. The
+   * kept calendar panel is replaced if the settings instance of this date picker has changed. (See
+   * DatePickerSettings.setEnableCalendarPanelReuse().)
    */
   public void openPopup() {
     if (isPopupOpen()) {
@@ -506,35 +541,53 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
     }
     // Get the last valid date, to pass to the calendar if needed.
     LocalDate selectedDateForCalendar = lastValidDate;
-    // Create a new calendar panel.
+    // Discard any kept calendar panel that can not be reused with the current settings.
+    boolean reuseIsEnabled = settings.getEnableCalendarPanelReuse();
+    if ((!reuseIsEnabled)
+        || (reusableCalendarPanel != null && reusableCalendarPanel.getSettings() != settings)) {
+      reusableCalendarPanel = null;
+    }
+    boolean isReusingCalendarPanel = (reusableCalendarPanel != null);
+    // Create a new calendar panel, or use the kept calendar panel.
     // Use the CalendarPanel constructor that is made for the DatePicker class.
     DatePicker thisDatePicker = this;
-    if (settings.getCalendarPanelFactory() == null) {
+    if (isReusingCalendarPanel) {
+      calendarPanel = reusableCalendarPanel;
+    } else if (settings.getCalendarPanelFactory() == null) {
       calendarPanel = new CalendarPanel(thisDatePicker);
     } else {
       calendarPanel = settings.getCalendarPanelFactory().apply(thisDatePicker);
     }
+    if (reuseIsEnabled) {
+      reusableCalendarPanel = calendarPanel;
+    }
 
-    fireComponentEvent(
-        new ComponentEvent(ComponentEvent.PREVIOUS_YEAR, calendarPanel.getPreviousYearButton()));
-    fireComponentEvent(
-        new ComponentEvent(ComponentEvent.PREVIOUS_MONTH, calendarPanel.getPreviousMonthButton()));
-    fireComponentEvent(
-        new ComponentEvent(ComponentEvent.NEXT_MONTH, calendarPanel.getNextMonthButton()));
-    fireComponentEvent(
-        new ComponentEvent(ComponentEvent.NEXT_YEAR, calendarPanel.getNextYearButton()));
+    // Notify the component listeners about the buttons of a new calendar panel. The buttons of a
+    // kept calendar panel were already reported when that panel was created.
+    if (!isReusingCalendarPanel) {
+      fireComponentEvent(
+          new ComponentEvent(ComponentEvent.PREVIOUS_YEAR, calendarPanel.getPreviousYearButton()));
+      fireComponentEvent(
+          new ComponentEvent(
+              ComponentEvent.PREVIOUS_MONTH, calendarPanel.getPreviousMonthButton()));
+      fireComponentEvent(
+          new ComponentEvent(ComponentEvent.NEXT_MONTH, calendarPanel.getNextMonthButton()));
+      fireComponentEvent(
+          new ComponentEvent(ComponentEvent.NEXT_YEAR, calendarPanel.getNextYearButton()));
+    }
 
     // If needed, apply the selected date to the calendar.
-    if (selectedDateForCalendar != null) {
+    // A kept calendar panel is also reset to the state of a new calendar panel.
+    if (isReusingCalendarPanel) {
+      calendarPanel.zPrepareForReuse(selectedDateForCalendar);
+    } else if (selectedDateForCalendar != null) {
       calendarPanel.setSelectedDate(selectedDateForCalendar);
     }
-    // Create a new custom popup.
+    // Create a new custom popup, in the popup window that is shared within the top window.
+    Window topWindow = SwingUtilities.getWindowAncestor(this);
     popup =
-        new CustomPopup(
-            calendarPanel,
-            SwingUtilities.getWindowAncestor(this),
-            this,
-            settings.getBorderCalendarPopup());
+        CustomPopup.createInSharedWindow(
+            calendarPanel, topWindow, this, settings.getBorderCalendarPopup());
     // Calculate the default origin for the popup.
     int defaultX =
         toggleCalendarButton.getLocationOnScreen().x
@@ -844,6 +897,52 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
     togglePopup();
   }
 
+  /**
+   * zGetParsedDateOrNull, This tries to parse the supplied text into a date, using the formats from
+   * the current settings. This returns the parsed date, or null if the text could not be parsed.
+   *
+   * <p>The result for the most recently parsed text is cached, so repeated calls with the same text
+   * will not parse the text again unless the settings or the parsing formats have changed. The
+   * parsing formats list is compared by instance and size, so that each keystroke does not need to
+   * compare the whole list. Formats that are added to or removed from that list in place are
+   * detected. If a format in the list is replaced in place, then setFormatsForParsing() must be
+   * called.
+   */
+  private LocalDate zGetParsedDateOrNull(String text) {
+    // The text is trimmed before it is parsed, so the cache is keyed by the trimmed text.
+    text = (text == null) ? null : text.trim();
+    int parsingFormatsVersion = settings.zGetParsingFormatsVersion();
+    ArrayList<DateTimeFormatter> formatsForParsing = settings.getFormatsForParsing();
+    if (text != null
+        && text.equals(cachedParseText)
+        && settings == cachedParseSettings
+        && parsingFormatsVersion == cachedParseFormatsVersion
+        && formatsForParsing == cachedParseFormatsForParsing
+        && formatsForParsing.size() == cachedParseFormatsForParsingSize) {
+      return cachedParseResult;
+    }
+    LocalDate parsedDate = zParseDateOrNull(text);
+    cachedParseText = text;
+    cachedParseResult = parsedDate;
+    cachedParseSettings = settings;
+    cachedParseFormatsVersion = parsingFormatsVersion;
+    cachedParseFormatsForParsing = formatsForParsing;
+    cachedParseFormatsForParsingSize = formatsForParsing.size();
+    return parsedDate;
+  }
+
+  /**
+   * zParseDateOrNull, This parses the supplied text into a date without using the parse cache.
+   * This returns the parsed date, or null if the text could not be parsed.
+   */
+  private LocalDate zParseDateOrNull(String text) {
+    return InternalUtilities.getParsedDateOrNull(
+        text,
+        settings.getFormatForDatesCommonEra(),
+        settings.getFormatForDatesBeforeCommonEra(),
+        settings.getFormatsForParsing());
+  }
+
   /**
    * zGetStandardTextFieldDateString, This returns a string for the supplied date (or null), in the
    * standard format which could be used for displaying that date in the text field.
@@ -852,16 +951,9 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
     if (settings == null) {
       return "";
     }
-    String standardDateString = "";
-    if (date == null) {
-      return standardDateString;
-    }
-    if (date.getEra() == IsoEra.CE) {
-      standardDateString = date.format(settings.getFormatForDatesCommonEra());
-    } else {
-      standardDateString = date.format(settings.getFormatForDatesBeforeCommonEra());
-    }
-    return standardDateString;
+    // The settings instance formats the date with the format for the date era, and caches the
+    // resulting string.
+    return settings.getFormattedDate(date);
   }
 
   /**
@@ -924,12 +1016,7 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
     // If the text is not empty, then try to parse the date.
     LocalDate parsedDate = null;
     if (!textIsEmpty) {
-      parsedDate =
-          InternalUtilities.getParsedDateOrNull(
-              dateText,
-              settings.getFormatForDatesCommonEra(),
-              settings.getFormatForDatesBeforeCommonEra(),
-              settings.getFormatsForParsing());
+      parsedDate = zGetParsedDateOrNull(dateText);
     }
     // If the date was parsed successfully, then check it against the veto policy.
     boolean dateIsVetoed = false;
@@ -1028,10 +1115,7 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
     dateTextField.setBackground(settings.getColor(DateArea.TextFieldBackgroundValidDate));
     dateTextField.setForeground(settings.getColor(DateArea.DatePickerTextValidDate));
     dateTextField.setBorder(
-        BorderFactory.createCompoundBorder(
-            BorderFactory.createMatteBorder(
-                1, 1, 1, 1, settings.getColor(DateArea.TextFieldBorder)),
-            BorderFactory.createEmptyBorder(1, 3, 2, 2)));
+        settings.getBorderCache().getTextFieldBorder(settings.getColor(DateArea.TextFieldBorder)));
     dateTextField.setFont(settings.getFontValidDate());
     // Get the text, and check to see if it is empty.
     String dateText = dateTextField.getText();
@@ -1047,12 +1131,7 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
       return;
     }
     // The text is not empty.
-    LocalDate parsedDate =
-        InternalUtilities.getParsedDateOrNull(
-            dateText,
-            settings.getFormatForDatesCommonEra(),
-            settings.getFormatForDatesBeforeCommonEra(),
-            settings.getFormatsForParsing());
+    LocalDate parsedDate = zGetParsedDateOrNull(dateText);
     if (parsedDate == null) {
       // (Possibility: UnparsableValue)
       dateTextField.setBackground(settings.getColor(DateArea.TextFieldBackgroundInvalidDate));
@@ -27,11 +27,13 @@ import com.github.lgooddatepicker.optionalusertools.DateHighlightPolicy;
 import com.github.lgooddatepicker.optionalusertools.DateInterval;
 import com.github.lgooddatepicker.optionalusertools.DateVetoPolicy;
 import com.github.lgooddatepicker.optionalusertools.PickerUtilities;
+import com.github.lgooddatepicker.zinternaltools.BorderCache;
+import com.github.lgooddatepicker.zinternaltools.DateLocaleProfile;
 import com.github.lgooddatepicker.zinternaltools.DateVetoPolicyMinimumMaximumDate;
 import com.github.lgooddatepicker.zinternaltools.ExtraDateStrings;
+import com.github.lgooddatepicker.zinternaltools.FormatCache;
 import com.github.lgooddatepicker.zinternaltools.InternalConstants;
 import com.github.lgooddatepicker.zinternaltools.InternalUtilities;
-import com.github.lgooddatepicker.zinternaltools.TranslationSource;
 import com.privatejgoodies.forms.layout.ColumnSpec;
 import com.privatejgoodies.forms.layout.ConstantSize;
 import com.privatejgoodies.forms.layout.FormLayout;
@@ -43,23 +45,21 @@ import java.time.Clock;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.time.chrono.IsoEra;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.format.FormatStyle;
 import java.time.temporal.WeekFields;
 import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
 import javax.swing.border.Border;
-import javax.swing.border.CompoundBorder;
-import javax.swing.border.EmptyBorder;
-import javax.swing.border.MatteBorder;
 
 /**
  * DatePickerSettings, This holds all the settings that can be customized for a DatePicker (or an
@@ -125,6 +125,33 @@ public class DatePickerSettings {
     public Color defaultColor;
   }
 
+  /**
+   * YearMonthEventMode, These enumerations control when the calendar panel notifies its calendar
+   * listeners about a YearMonth change. See DatePickerSettings.setYearMonthEventMode() for details.
+   */
+  public enum YearMonthEventMode {
+    /**
+     * EveryRedraw, Listeners are notified at the start of every calendar redraw, even if the same
+     * YearMonth is displayed twice in a row. Duplicate events are marked as duplicates in the event
+     * object. This is the default mode.
+     */
+    EveryRedraw,
+    /**
+     * ChangesOnly, Listeners are notified at the start of a calendar redraw, but only if the
+     * displayed YearMonth has changed. Redraws that keep the same YearMonth (for example, after a
+     * color change) do not notify the listeners.
+     */
+    ChangesOnly,
+    /**
+     * CoalescedChanges, Listeners are notified after the calendar has been redrawn, from a later
+     * event on the Swing event dispatch thread. If the YearMonth changes several times before that
+     * event runs, (for example, when the user clicks the navigation buttons quickly), the listeners
+     * are only notified once, with the first old YearMonth and the final new YearMonth. No
+     * notification is sent if the final YearMonth matches the first old YearMonth.
+     */
+    CoalescedChanges
+  }
+
   /**
    * allowEmptyDates, This indicates whether or not empty dates are allowed in the date picker.
    * Empty dates are also called "null dates". The default value is true, which allows empty dates.
@@ -154,6 +181,14 @@ public class DatePickerSettings {
    */
   private Border borderCalendarPopup = null;
 
+  /**
+   * borderCache, This holds the shared border instances that are used for the calendar date labels,
+   * the calendar label indicators, and the date picker text field. The borders are immutable, so
+   * they are shared by every component that uses these settings, and they are only created once
+   * for each border color.
+   */
+  private final BorderCache borderCache = new BorderCache();
+
   /**
    * borderPropertiesList, This contains the list of border properties objects that specifies the
    * colors and thicknesses of the borders in the CalendarPanel. By default, a default set of border
@@ -227,6 +262,45 @@ public class DatePickerSettings {
    */
   private YearMonth defaultYearMonth = null;
 
+  /**
+   * enableCalendarPanelReuse, This determines whether a date picker keeps its calendar panel after
+   * the popup is closed. If this is false, then a new calendar panel is constructed every time that
+   * the popup is opened. If this is true, then the first calendar panel is kept "warm", and every
+   * later opening will reset and redraw the existing calendar panel instead of rebuilding it. The
+   * default value for this setting is false.
+   *
+   * <p>Note: The kept calendar panel is discarded whenever the date picker receives a different
+   * settings instance. This setting only applies to calendar panels that belong to a date picker.
+   * The popup window is shared by all the pickers in the same top level window, regardless of this
+   * setting.
+   */
+  private boolean enableCalendarPanelReuse = false;
+
+  /**
+   * enableCoalescedRedraws, This determines whether settings changes update the parent components
+   * immediately, or in a single coalesced update. If this is false, then each settings change
+   * immediately redraws the affected parts of the parent component. If this is true, then the
+   * redraws that are requested by a series of settings changes are combined, and performed once
+   * from a single later event on the Swing event dispatch thread. The default value for this
+   * setting is false.
+   *
+   * <p>Note: Settings changes that are made inside of the batch() function are always combined,
+   * regardless of this setting.
+   */
+  private boolean enableCoalescedRedraws = false;
+
+  /**
+   * enableIncrementalRedraw, This determines how the calendar panel is repainted after the date
+   * labels are redrawn. If this is false, then the whole calendar panel is repainted after every
+   * redraw. If this is true, then only the date labels whose displayed state has actually changed
+   * will be repainted. The default value for this setting is false.
+   *
+   * <p>Note: Either way, the calendar panel only pushes changed properties to the date labels. The
+   * incremental redraw can be useful when the displayed month is changed many times per second, for
+   * example while the user is holding down a month navigation button.
+   */
+  private boolean enableIncrementalRedraw = false;
+
   /**
    * enableMonthMenu, This determines whether the month popup menu is enabled or disabled. (Note:
    * The month label is located in the header area of the calendar panel.) If this is true, then the
@@ -241,6 +315,26 @@ public class DatePickerSettings {
    */
   private boolean enableMonthMenu = true;
 
+  /**
+   * enableSkipVetoedMonths, This determines how the month and year navigation buttons of the
+   * calendar panel move through months that do not contain any allowed dates. If this is false,
+   * then the buttons always move by exactly one month or one year. If this is true, then the
+   * buttons move directly to the nearest month (in the same direction) that contains at least one
+   * date that is allowed by the veto policy, and a button is disabled when no such month exists in
+   * its direction. The default value for this setting is false.
+   *
+   * <p>Note: If the veto policy is a DateVetoPolicyMinimumMaximumDate (for example, a policy that
+   * was set with setDateRangeLimits()), then the nearest allowed month is found exactly, without
+   * checking the months in between. For any other veto policy, at most
+   * CalendarPanel.maximumMonthsToSkip months are checked in each direction, and the button is
+   * disabled if no allowed month is found within that many months.
+   *
+   * <p>The enabled states of the buttons are calculated again each time that the calendar is
+   * redrawn. If the rules of the current veto policy are changed while the calendar is displayed,
+   * then call CalendarPanel.drawCalendar() to update the buttons.
+   */
+  private boolean enableSkipVetoedMonths = false;
+
   /**
    * enableYearMenu, This determines whether the year popup menu is enabled or disabled. (Note: The
    * year label is located in the header area of the calendar panel.) If this is true, then the year
@@ -325,6 +419,15 @@ public class DatePickerSettings {
    */
   private Font fontVetoedDate;
 
+  /**
+   * formatCacheForDates, This holds recently formatted date strings, keyed by date. The strings are
+   * formatted with formatForDatesCommonEra or formatForDatesBeforeCommonEra, according to the era
+   * of each date. This cache is cleared whenever either of those formats is changed (including when
+   * the locale is changed).
+   */
+  private FormatCache<LocalDate> formatCacheForDates =
+      new FormatCache<>(FormatCache.defaultMaximumSize, this::zFormatDateWithoutCache);
+
   /**
    * formatForDatesCommonEra, This holds the default format that is used to display or parse CE
    * dates in the date picker. The default value is generated using the locale of the settings
@@ -622,12 +725,69 @@ public class DatePickerSettings {
    */
   private boolean weekNumbersWillOverrideFirstDayOfWeek = true;
 
+  /**
+   * yearMonthEventMode, This controls when the calendar panel notifies its calendar listeners about
+   * a YearMonth change. The default value is YearMonthEventMode.EveryRedraw. See the "set" function
+   * for setting information.
+   */
+  private YearMonthEventMode yearMonthEventMode = YearMonthEventMode.EveryRedraw;
+
   /**
    * zSkipDrawIndependentCalendarPanelIfNeeded, This is used to temporarily skip the named function,
    * until the setLocale() function is complete.
    */
   private boolean zSkipDrawIndependentCalendarPanelIfNeeded = false;
 
+  /**
+   * zBatchDepth, This holds the number of batch() function calls that are currently running. While
+   * this is greater than zero, any parent component updates are deferred.
+   */
+  private int zBatchDepth = 0;
+
+  /**
+   * zPendingUpdateFlush, This is true while a flush of the pending parent component updates has
+   * been scheduled with SwingUtilities.invokeLater(), but has not yet run.
+   */
+  private boolean zPendingUpdateFlush = false;
+
+  /**
+   * zPendingUpdates, This holds the deferred parent component updates, as a set of the
+   * "zPendingUpdate..." bit flags. This is zero when no updates are waiting.
+   */
+  private int zPendingUpdates = 0;
+
+  /** zPendingUpdateBorderProperties, This flag defers applying the border properties list. */
+  private static final int zPendingUpdateBorderProperties = 1;
+
+  /** zPendingUpdateButtonVisibility, This flag defers applying the button visibility settings. */
+  private static final int zPendingUpdateButtonVisibility = 2;
+
+  /** zPendingUpdateCalendarRedraw, This flag defers redrawing the independent calendar panel. */
+  private static final int zPendingUpdateCalendarRedraw = 4;
+
+  /** zPendingUpdateTextFieldIndicators, This flag defers redrawing the text field indicators. */
+  private static final int zPendingUpdateTextFieldIndicators = 8;
+
+  /** zPendingUpdateTextFieldState, This flag defers redrawing the date picker text field. */
+  private static final int zPendingUpdateTextFieldState = 16;
+
+  /** zPendingUpdateTextFieldWidth, This flag defers setting the text field minimum width. */
+  private static final int zPendingUpdateTextFieldWidth = 32;
+
+  /** zPendingUpdateComponentVisibility, This flag defers applying the date picker visibility. */
+  private static final int zPendingUpdateComponentVisibility = 64;
+
+  /** zPendingUpdateLabelIndicators, This flag defers redrawing the calendar label indicators. */
+  private static final int zPendingUpdateLabelIndicators = 128;
+
+  /**
+   * zParsingFormatsVersion, This is a version stamp for the formats that are used to parse date
+   * text. This is incremented each time that any of the parsing related formats are set. The parent
+   * date picker uses this value, and the size of the parsing formats list, to know when its cached
+   * parse results have become stale.
+   */
+  private int zParsingFormatsVersion = 0;
+
   /**
    * Constructor with Default Locale, This constructs a date picker settings instance using the
    * system default locale and language. The constructor populates all the settings with default
@@ -683,6 +843,30 @@ public class DatePickerSettings {
     setLocale(pickerLocale);
   }
 
+  /**
+   * batch, This applies a group of settings changes, and then updates the parent component once.
+   * The supplied function is called with this settings instance. Any redraws that are requested by
+   * the settings changes inside of the function are deferred. When the function returns (or throws
+   * an exception), each kind of deferred update is performed one time. Batch calls can be nested.
+   * The deferred updates are performed when the outermost batch call is complete.
+   *
+   * <p>Example usage: settings.batch(s -> { s.setColor(...); s.setFontValidDate(...); });
+   *
+   * <p>Note: Like other settings changes, this should be called from the Swing event dispatch
+   * thread if the settings instance belongs to a displayed component.
+   */
+  public void batch(Consumer<DatePickerSettings> changes) {
+    ++zBatchDepth;
+    try {
+      changes.accept(this);
+    } finally {
+      --zBatchDepth;
+      if (zBatchDepth == 0) {
+        zFlushPendingUpdates();
+      }
+    }
+  }
+
   /**
    * copySettings, This function creates and returns a deep copy of this DatePickerSettings
    * instance. The new settings instance can be used with new DatePicker or CalendarPanel instances.
@@ -717,6 +901,10 @@ public class DatePickerSettings {
       // A shallow copy is okay here, because the map key and value are immutable types.
       result.colors = new EnumMap<>(this.colors);
     }
+    result.enableCalendarPanelReuse = this.enableCalendarPanelReuse;
+    result.enableCoalescedRedraws = this.enableCoalescedRedraws;
+    result.enableIncrementalRedraw = this.enableIncrementalRedraw;
+    result.enableSkipVetoedMonths = this.enableSkipVetoedMonths;
     result.firstDayOfWeek = this.firstDayOfWeek;
     // The Font class is immutable.
     result.fontClearLabel = this.fontClearLabel;
@@ -765,6 +953,7 @@ public class DatePickerSettings {
     result.weekNumberRules = this.weekNumberRules;
     result.weekNumbersDisplayed = this.weekNumbersDisplayed;
     result.weekNumbersWillOverrideFirstDayOfWeek = this.weekNumbersWillOverrideFirstDayOfWeek;
+    result.yearMonthEventMode = this.yearMonthEventMode;
     result.zSkipDrawIndependentCalendarPanelIfNeeded = false;
     return result;
   }
@@ -785,6 +974,14 @@ public class DatePickerSettings {
     return allowKeyboardEditing;
   }
 
+  /**
+   * getBorderCache, Returns the cache that holds the shared border instances for the calendar date
+   * labels, the calendar label indicators, and the date picker text field.
+   */
+  public BorderCache getBorderCache() {
+    return borderCache;
+  }
+
   /**
    * getBorderCalendarPopup, Returns the value of this setting. See the "set" function for setting
    * information.
@@ -858,6 +1055,30 @@ public class DatePickerSettings {
     return defaultYearMonth;
   }
 
+  /**
+   * getEnableCalendarPanelReuse, Returns the value of this setting. See the "set" function for
+   * setting information.
+   */
+  public boolean getEnableCalendarPanelReuse() {
+    return enableCalendarPanelReuse;
+  }
+
+  /**
+   * getEnableCoalescedRedraws, Returns the value of this setting. See the "set" function for
+   * setting information.
+   */
+  public boolean getEnableCoalescedRedraws() {
+    return enableCoalescedRedraws;
+  }
+
+  /**
+   * getEnableIncrementalRedraw, Returns the value of this setting. See the "set" function for
+   * setting information.
+   */
+  public boolean getEnableIncrementalRedraw() {
+    return enableIncrementalRedraw;
+  }
+
   /**
    * getEnableMonthMenu, Returns the value of this setting. See the "set" function for setting
    * information.
@@ -866,6 +1087,14 @@ public class DatePickerSettings {
     return enableMonthMenu;
   }
 
+  /**
+   * getEnableSkipVetoedMonths, Returns the value of this setting. See the "set" function for
+   * setting information.
+   */
+  public boolean getEnableSkipVetoedMonths() {
+    return enableSkipVetoedMonths;
+  }
+
   /**
    * getEnableYearMenu, Returns the value of this setting. See the "set" function for setting
    * information.
@@ -977,6 +1206,14 @@ public class DatePickerSettings {
     return fontVetoedDate;
   }
 
+  /**
+   * getFormatCacheForDates, Returns the cache that holds recently formatted date strings. The
+   * cache can be used to read the hit and miss counters. See also: getFormattedDate().
+   */
+  public FormatCache<LocalDate> getFormatCacheForDates() {
+    return formatCacheForDates;
+  }
+
   /**
    * getFormatForDatesBeforeCommonEra, Returns the value of this setting. See the "set" function for
    * setting information.
@@ -993,6 +1230,15 @@ public class DatePickerSettings {
     return formatForDatesCommonEra;
   }
 
+  /**
+   * getFormattedDate, This returns the supplied date as a string, formatted with the CE or the BCE
+   * date format (as appropriate for the era of the date). If the date is null, this returns an
+   * empty string. Recently formatted strings are cached. See also: getFormatCacheForDates().
+   */
+  public String getFormattedDate(LocalDate date) {
+    return formatCacheForDates.getFormattedString(date);
+  }
+
   /**
    * getFormatForTodayButton, Returns the value of this setting. See the "set" function for setting
    * information.
@@ -1184,6 +1430,14 @@ public class DatePickerSettings {
     return weekNumbersWillOverrideFirstDayOfWeek;
   }
 
+  /**
+   * getYearMonthEventMode, Returns the value of this setting. See the "set" function for setting
+   * information.
+   */
+  public YearMonthEventMode getYearMonthEventMode() {
+    return yearMonthEventMode;
+  }
+
   /**
    * hasParent, This returns true if this settings instance has a parent, otherwise returns false. A
    * settings instance will have a parent if the settings instance has already been used to
@@ -1302,7 +1556,7 @@ public class DatePickerSettings {
     // This only needs to be applied to independent calendar panels.
     // For the date picker, the setting is automatically applied from the calendar panel
     // constructor each time the calendar panel is opened.
-    if (parentCalendarPanel != null) {
+    if (parentCalendarPanel != null && !zDeferUpdate(zPendingUpdateBorderProperties)) {
       parentCalendarPanel.zApplyBorderPropertiesList();
     }
   }
@@ -1343,7 +1597,7 @@ public class DatePickerSettings {
       case BackgroundMonthAndYearMenuLabels:
       case BackgroundTodayLabel:
       case BackgroundClearLabel:
-        if (parentCalendarPanel != null) {
+        if (parentCalendarPanel != null && !zDeferUpdate(zPendingUpdateLabelIndicators)) {
           parentCalendarPanel.zSetAllLabelIndicatorColorsToDefaultState();
         }
         break;
@@ -1353,7 +1607,7 @@ public class DatePickerSettings {
         }
         break;
       default:
-        if (parentDatePicker != null) {
+        if (parentDatePicker != null && !zDeferUpdate(zPendingUpdateTextFieldIndicators)) {
           parentDatePicker.zDrawTextFieldIndicators();
         }
         zDrawIndependentCalendarPanelIfNeeded();
@@ -1449,6 +1703,47 @@ public class DatePickerSettings {
     zDrawIndependentCalendarPanelIfNeeded();
   }
 
+  /**
+   * setEnableCalendarPanelReuse, This sets whether a date picker keeps its calendar panel after the
+   * popup is closed. If this is true, then later openings of the popup will reset and redraw the
+   * kept calendar panel instead of constructing a new one. If this is false, then a new calendar
+   * panel is constructed every time that the popup is opened, and any kept calendar panel will be
+   * discarded the next time the popup is opened. The default value for this setting is false.
+   * (The popup window itself is always shared by the pickers of the same top window.)
+   */
+  public void setEnableCalendarPanelReuse(boolean enableCalendarPanelReuse) {
+    this.enableCalendarPanelReuse = enableCalendarPanelReuse;
+  }
+
+  /**
+   * setEnableCoalescedRedraws, This sets whether the redraws that are requested by a series of
+   * settings changes are combined into a single update. If this is true, then settings changes do
+   * not update the parent component immediately. Instead, each kind of requested update is
+   * performed once, from a single SwingUtilities.invokeLater() event. If this is false, then each
+   * settings change updates the parent component immediately. The default value for this setting
+   * is false. If this is set to false while updates are waiting, then the waiting updates are
+   * performed immediately.
+   *
+   * <p>See also: batch(), which combines the updates of a group of settings changes, regardless of
+   * this setting.
+   */
+  public void setEnableCoalescedRedraws(boolean enableCoalescedRedraws) {
+    this.enableCoalescedRedraws = enableCoalescedRedraws;
+    if (!enableCoalescedRedraws && zBatchDepth == 0) {
+      zFlushPendingUpdates();
+    }
+  }
+
+  /**
+   * setEnableIncrementalRedraw, This sets how the calendar panel is repainted after the date labels
+   * are redrawn. If this is false, then the whole calendar panel is repainted after every redraw.
+   * If this is true, then only the date labels whose displayed state has actually changed will be
+   * repainted. The default value for this setting is false.
+   */
+  public void setEnableIncrementalRedraw(boolean enableIncrementalRedraw) {
+    this.enableIncrementalRedraw = enableIncrementalRedraw;
+  }
+
   /**
    * setEnableMonthMenu, This sets the month popup menu to be enabled or disabled. (Note: The month
    * label is located in the header area of the calendar panel.) If this is true, then the month
@@ -1464,6 +1759,20 @@ public class DatePickerSettings {
     this.enableMonthMenu = enableMonthMenu;
   }
 
+  /**
+   * setEnableSkipVetoedMonths, This sets whether the month and year navigation buttons of the
+   * calendar panel skip over months that do not contain any allowed dates. If this is true, then
+   * the buttons move directly to the nearest month that contains an allowed date, and a button is
+   * disabled when no such month exists in its direction. If this is false, then the buttons always
+   * move by exactly one month or one year. The default value for this setting is false.
+   *
+   * <p>See the documentation of the "enableSkipVetoedMonths" field for additional details.
+   */
+  public void setEnableSkipVetoedMonths(boolean enableSkipVetoedMonths) {
+    this.enableSkipVetoedMonths = enableSkipVetoedMonths;
+    zDrawIndependentCalendarPanelIfNeeded();
+  }
+
   /**
    * setEnableYearMenu, This sets the year popup menu to be enabled or disabled. (Note: The year
    * label is located in the header area of the calendar panel.) If this is true, then the year
@@ -1577,9 +1886,7 @@ public class DatePickerSettings {
     this.fontValidDate = fontValidDate;
     // The font for the valid date can change the default minimum size.
     // So we recalculate and set the minimum size, if needed.
-    if (parentDatePicker != null) {
-      parentDatePicker.zSetAppropriateTextFieldMinimumWidth();
-    }
+    zSetDatePickerTextFieldMinimumWidthIfNeeded();
   }
 
   /**
@@ -1614,9 +1921,9 @@ public class DatePickerSettings {
    */
   public void setFormatForDatesBeforeCommonEra(DateTimeFormatter formatForDatesBeforeCommonEra) {
     this.formatForDatesBeforeCommonEra = formatForDatesBeforeCommonEra;
-    if (parentDatePicker != null) {
-      parentDatePicker.setTextFieldToValidStateIfNeeded();
-    }
+    ++zParsingFormatsVersion;
+    formatCacheForDates.clear();
+    zDrawDatePickerTextFieldIfNeeded();
   }
 
   /**
@@ -1663,14 +1970,12 @@ public class DatePickerSettings {
    */
   public void setFormatForDatesCommonEra(DateTimeFormatter formatForDatesCommonEra) {
     this.formatForDatesCommonEra = formatForDatesCommonEra;
-    if (parentDatePicker != null) {
-      parentDatePicker.setTextFieldToValidStateIfNeeded();
-    }
+    ++zParsingFormatsVersion;
+    formatCacheForDates.clear();
+    zDrawDatePickerTextFieldIfNeeded();
     // Changing the format for AD dates can change the default minimum width of the text field.
     // So if needed, set the appropriate minimum width.
-    if (parentDatePicker != null) {
-      parentDatePicker.zSetAppropriateTextFieldMinimumWidth();
-    }
+    zSetDatePickerTextFieldMinimumWidthIfNeeded();
   }
 
   /**
@@ -1710,9 +2015,14 @@ public class DatePickerSettings {
    * are always tried (in that order) before any other parsing formats. The default values for the
    * formatsForParsing are generated using the pickerLocale, using the enum constants in
    * java.time.format.FormatStyle.
+   *
+   * <p>If a format in the supplied list is replaced in place after calling this function, then this
+   * function should be called again so that the date picker will stop using any previously cached
+   * parse results. (Adding or removing formats is detected automatically.)
    */
   public void setFormatsForParsing(ArrayList<DateTimeFormatter> formatsForParsing) {
     this.formatsForParsing = formatsForParsing;
+    ++zParsingFormatsVersion;
   }
 
   /**
@@ -1774,64 +2084,33 @@ public class DatePickerSettings {
     // Do not redraw the calendar until this function is complete.
     zSkipDrawIndependentCalendarPanelIfNeeded = true;
 
+    // Get the shared profile of default values for the locale. The profile is only calculated
+    // the first time that each locale is used.
+    DateLocaleProfile profile = DateLocaleProfile.getProfile(locale);
+
     // Set the default week number rules.
-    WeekFields localeWeekFields = WeekFields.of(locale);
-    setWeekNumberRules(localeWeekFields);
+    setWeekNumberRules(profile.getWeekNumberRules());
 
     // Set the default "today" and "clear" translations for the locale.
-    String todayTranslation = TranslationSource.getTranslation(locale, "today", "Today");
-    setTranslationToday(todayTranslation);
-    String clearTranslation = TranslationSource.getTranslation(locale, "clear", "Clear");
-    setTranslationClear(clearTranslation);
+    setTranslationToday(profile.getTranslationToday());
+    setTranslationClear(profile.getTranslationClear());
 
     // Set the default standalone month names for the locale.
-    String[] standaloneLongMonthNames =
-        ExtraDateStrings.getDefaultStandaloneLongMonthNamesForLocale(locale);
-    setTranslationArrayStandaloneLongMonthNames(standaloneLongMonthNames);
-    String[] standaloneShortMonthNames =
-        ExtraDateStrings.getDefaultStandaloneShortMonthNamesForLocale(locale);
-    setTranslationArrayStandaloneShortMonthNames(standaloneShortMonthNames);
-
-    // Create default formatters for displaying the today button, and AD and BC dates, in
-    // the specified locale.
-    DateTimeFormatter formatForToday =
-        DateTimeFormatter.ofLocalizedDate(FormatStyle.MEDIUM).withLocale(locale);
-    setFormatForTodayButton(formatForToday);
-    DateTimeFormatter formatForDatesCE = InternalUtilities.generateDefaultFormatterCE(locale);
-    setFormatForDatesCommonEra(formatForDatesCE);
-    DateTimeFormatter formatForDatesBCE = InternalUtilities.generateDefaultFormatterBCE(locale);
-    setFormatForDatesBeforeCommonEra(formatForDatesBCE);
-
-    // Create an array of all the FormatStyle enum values, from short to long.
-    FormatStyle[] allFormatStyles = {
-      FormatStyle.SHORT, FormatStyle.MEDIUM, FormatStyle.LONG, FormatStyle.FULL
-    };
-
-    // Create a set of default parsing formatters for the specified locale.
-    ArrayList<DateTimeFormatter> parsingFormats = new ArrayList<>();
-    DateTimeFormatter parseFormat;
-    for (FormatStyle allFormatStyle : allFormatStyles) {
-      parseFormat =
-          new DateTimeFormatterBuilder()
-              .parseLenient()
-              .parseCaseInsensitive()
-              .appendLocalized(allFormatStyle, null)
-              .toFormatter(locale);
-      parsingFormats.add(parseFormat);
-    }
+    // The profile returns a new copy of each array.
+    setTranslationArrayStandaloneLongMonthNames(profile.getStandaloneLongMonthNames());
+    setTranslationArrayStandaloneShortMonthNames(profile.getStandaloneShortMonthNames());
 
-    // Get any common extra parsing formats for the specified locale, and append them to
-    // the list of parsingFormatters.
-    ArrayList<DateTimeFormatter> extraFormatters =
-        ExtraDateStrings.getExtraParsingFormatsForLocale(locale);
-    parsingFormats.addAll(extraFormatters);
+    // Set the default formatters for displaying the today button, and AD and BC dates, in
+    // the specified locale.
+    setFormatForTodayButton(profile.getFormatForTodayButton());
+    setFormatForDatesCommonEra(profile.getFormatForDatesCommonEra());
+    setFormatForDatesBeforeCommonEra(profile.getFormatForDatesBeforeCommonEra());
 
-    // Save the parsing formats.
-    setFormatsForParsing(parsingFormats);
+    // Save a modifiable copy of the default parsing formats.
+    setFormatsForParsing(new ArrayList<>(profile.getFormatsForParsing()));
 
     // Initialize the first day of the week.
-    DayOfWeek firstDayOfWeekDefault = WeekFields.of(locale).getFirstDayOfWeek();
-    setFirstDayOfWeek(firstDayOfWeekDefault);
+    setFirstDayOfWeek(profile.getFirstDayOfWeek());
 
     // Draw the calendar.
     zSkipDrawIndependentCalendarPanelIfNeeded = false;
@@ -1878,9 +2157,7 @@ public class DatePickerSettings {
    */
   public void setSizeTextFieldMinimumWidth(Integer minimumWidthInPixels) {
     this.sizeTextFieldMinimumWidth = minimumWidthInPixels;
-    if (parentDatePicker != null) {
-      parentDatePicker.zSetAppropriateTextFieldMinimumWidth();
-    }
+    zSetDatePickerTextFieldMinimumWidthIfNeeded();
   }
 
   /**
@@ -1901,9 +2178,7 @@ public class DatePickerSettings {
    */
   public void setSizeTextFieldMinimumWidthDefaultOverride(boolean defaultShouldOverrideIfNeeded) {
     this.sizeTextFieldMinimumWidthDefaultOverride = defaultShouldOverrideIfNeeded;
-    if (parentDatePicker != null) {
-      parentDatePicker.zSetAppropriateTextFieldMinimumWidth();
-    }
+    zSetDatePickerTextFieldMinimumWidthIfNeeded();
   }
 
   /**
@@ -2026,7 +2301,7 @@ public class DatePickerSettings {
    */
   public void setVisibleDateTextField(boolean isVisible) {
     isVisibleDateTextField = isVisible;
-    if (parentDatePicker != null) {
+    if (parentDatePicker != null && !zDeferUpdate(zPendingUpdateComponentVisibility)) {
       parentDatePicker.zApplyVisibilityOfComponents();
     }
   }
@@ -2171,6 +2446,25 @@ public class DatePickerSettings {
     zDrawIndependentCalendarPanelIfNeeded();
   }
 
+  /**
+   * setYearMonthEventMode, This sets when the calendar panel notifies its calendar listeners about
+   * a YearMonth change. The default value is YearMonthEventMode.EveryRedraw, which notifies the
+   * listeners at the start of every calendar redraw.
+   *
+   * <p>The ChangesOnly mode skips the notifications for redraws that do not change the YearMonth.
+   * The CoalescedChanges mode also delivers only a single notification for a quick series of
+   * YearMonth changes. In the CoalescedChanges mode, the notification is sent after the calendar is
+   * redrawn. Listeners that change the calendar appearance in response to the event may need to
+   * call CalendarPanel.drawCalendar(). For additional details, see the YearMonthEventMode class.
+   *
+   * <p>A null value will be treated as YearMonthEventMode.EveryRedraw. This setting does not change
+   * how date selection events are delivered.
+   */
+  public void setYearMonthEventMode(YearMonthEventMode yearMonthEventMode) {
+    this.yearMonthEventMode =
+        (yearMonthEventMode == null) ? YearMonthEventMode.EveryRedraw : yearMonthEventMode;
+  }
+
   /**
    * zApplyAllowEmptyDates, This applies the named setting to the parent component.
    *
@@ -2216,9 +2510,7 @@ public class DatePickerSettings {
             : InternalConstants.colorNotEditableTextFieldBorder;
     parentDatePicker
         .getComponentDateTextField()
-        .setBorder(
-            new CompoundBorder(
-                new MatteBorder(1, 1, 1, 1, textFieldBorderColor), new EmptyBorder(1, 3, 2, 2)));
+        .setBorder(borderCache.getTextFieldBorder(textFieldBorderColor));
   }
 
   /** zApplyGapBeforeButtonPixels, This applies the named setting to the parent component. */
@@ -2237,9 +2529,75 @@ public class DatePickerSettings {
    * DatePicker).
    */
   private void zApplyIndependentCalendarPanelButtonVisibilityIfNeeded() {
-    if (parentCalendarPanel != null) {
+    if (parentCalendarPanel != null && !zDeferUpdate(zPendingUpdateButtonVisibility)) {
+      parentCalendarPanel.zApplyVisibilityOfButtons();
+    }
+  }
+
+  /**
+   * zDeferUpdate, This is called before a parent component update is performed. If updates are
+   * currently being deferred (inside of a batch() call, or because coalesced redraws are enabled),
+   * then this records the supplied pending update flag and returns true. In that case, the caller
+   * should skip the update, because it will be performed later by zFlushPendingUpdates(). If
+   * updates are not being deferred, then this returns false.
+   */
+  private boolean zDeferUpdate(int pendingUpdateFlag) {
+    if (zBatchDepth == 0 && !enableCoalescedRedraws) {
+      return false;
+    }
+    zPendingUpdates |= pendingUpdateFlag;
+    if (zBatchDepth == 0 && !zPendingUpdateFlush) {
+      zPendingUpdateFlush = true;
+      SwingUtilities.invokeLater(
+          () -> {
+            zPendingUpdateFlush = false;
+            zFlushPendingUpdates();
+          });
+    }
+    return true;
+  }
+
+  /**
+   * zFlushPendingUpdates, This performs any deferred parent component updates, one time each. The
+   * updates are performed in this order: Border properties, button visibility, component
+   * visibility, the text field, the text field minimum width, the label indicators, and finally the
+   * calendar redraw. Each update only happens if the related parent still exists. Applying the
+   * border properties also redraws the calendar, so the calendar is never redrawn twice.
+   */
+  private void zFlushPendingUpdates() {
+    int updates = zPendingUpdates;
+    zPendingUpdates = 0;
+    if (updates == 0) {
+      return;
+    }
+    boolean calendarWasRedrawn = false;
+    if ((updates & zPendingUpdateBorderProperties) != 0 && parentCalendarPanel != null) {
+      parentCalendarPanel.zApplyBorderPropertiesList();
+      calendarWasRedrawn = true;
+    }
+    if ((updates & zPendingUpdateButtonVisibility) != 0 && parentCalendarPanel != null) {
       parentCalendarPanel.zApplyVisibilityOfButtons();
     }
+    if ((updates & zPendingUpdateComponentVisibility) != 0 && parentDatePicker != null) {
+      parentDatePicker.zApplyVisibilityOfComponents();
+    }
+    if ((updates & zPendingUpdateTextFieldState) != 0 && parentDatePicker != null) {
+      parentDatePicker.setTextFieldToValidStateIfNeeded();
+    }
+    if ((updates & zPendingUpdateTextFieldWidth) != 0 && parentDatePicker != null) {
+      parentDatePicker.zSetAppropriateTextFieldMinimumWidth();
+    }
+    if ((updates & zPendingUpdateTextFieldIndicators) != 0 && parentDatePicker != null) {
+      parentDatePicker.zDrawTextFieldIndicators();
+    }
+    if ((updates & zPendingUpdateLabelIndicators) != 0 && parentCalendarPanel != null) {
+      parentCalendarPanel.zSetAllLabelIndicatorColorsToDefaultState();
+    }
+    if ((updates & zPendingUpdateCalendarRedraw) != 0
+        && parentCalendarPanel != null
+        && !calendarWasRedrawn) {
+      parentCalendarPanel.drawCalendar();
+    }
   }
 
   void zApplyDisabledTextColor() {
@@ -2248,17 +2606,47 @@ public class DatePickerSettings {
         .setDisabledTextColor(getColor(DateArea.DatePickerTextDisabled));
   }
 
+  /**
+   * zFormatDateWithoutCache, This formats the supplied (non-null) date with the CE or the BCE date
+   * format, as appropriate for the era of the date. This is used by the formatCacheForDates.
+   */
+  private String zFormatDateWithoutCache(LocalDate date) {
+    if (date.getEra() == IsoEra.CE) {
+      return date.format(formatForDatesCommonEra);
+    }
+    return date.format(formatForDatesBeforeCommonEra);
+  }
+
+  /**
+   * zGetParsingFormatsVersion, This returns the version stamp of the formats that are used to parse
+   * date text. See the zParsingFormatsVersion field for details.
+   */
+  int zGetParsingFormatsVersion() {
+    return zParsingFormatsVersion;
+  }
+
   /**
    * zDrawDatePickerTextFieldIfNeeded, If needed, this will redraw the parent date picker text
    * field. This function only has an effect if the parent of this settings instance is a
    * DatePicker.
    */
   void zDrawDatePickerTextFieldIfNeeded() {
-    if (parentDatePicker != null) {
+    if (parentDatePicker != null && !zDeferUpdate(zPendingUpdateTextFieldState)) {
       parentDatePicker.setTextFieldToValidStateIfNeeded();
     }
   }
 
+  /**
+   * zSetDatePickerTextFieldMinimumWidthIfNeeded, If needed, this will set the appropriate minimum
+   * width of the parent date picker text field. This function only has an effect if the parent of
+   * this settings instance is a DatePicker.
+   */
+  private void zSetDatePickerTextFieldMinimumWidthIfNeeded() {
+    if (parentDatePicker != null && !zDeferUpdate(zPendingUpdateTextFieldWidth)) {
+      parentDatePicker.zSetAppropriateTextFieldMinimumWidth();
+    }
+  }
+
   /**
    * zDrawIndependentCalendarPanelIfNeeded, If needed, this will redraw the independent
    * CalendarPanel. This function only has an effect if the parent of this settings instance is an
@@ -2268,7 +2656,7 @@ public class DatePickerSettings {
     if (zSkipDrawIndependentCalendarPanelIfNeeded) {
       return;
     }
-    if (parentCalendarPanel != null) {
+    if (parentCalendarPanel != null && !zDeferUpdate(zPendingUpdateCalendarRedraw)) {
       parentCalendarPanel.drawCalendar();
     }
   }
@@ -30,6 +30,7 @@ import com.github.lgooddatepicker.zinternaltools.CalculateMinimumTimeFieldSize;
 import com.github.lgooddatepicker.zinternaltools.CustomPopup;
 import com.github.lgooddatepicker.zinternaltools.InternalUtilities;
 import com.github.lgooddatepicker.zinternaltools.TimeChangeEvent;
+import com.github.lgooddatepicker.zinternaltools.TimeMenuListModel;
 import com.github.lgooddatepicker.zinternaltools.TimeMenuPanel;
 import com.github.lgooddatepicker.zinternaltools.TimeSpinnerTimer;
 import com.privatejgoodies.forms.factories.CC;
@@ -142,6 +143,13 @@ public class TimePicker extends JPanel implements CustomPopup.CustomPopupCloseLi
    */
   private ArrayList<TimeChangeListener> timeChangeListeners = new ArrayList<>();
 
+  /**
+   * timeMenuListModel, This holds the list model that is used by the time menu panel. The same list
+   * model is used each time that the time menu is opened, so that formatted menu rows can be
+   * reused. This will be null until the time menu is opened for the first time.
+   */
+  private TimeMenuListModel timeMenuListModel;
+
   /**
    * timeMenuPanel, This holds the menu panel GUI component of this time picker. This should be null
    * when the time picker menu is closed, and hold a time menu panel instance when the time picker
@@ -549,8 +557,9 @@ public class TimePicker extends JPanel implements CustomPopup.CustomPopupCloseLi
    * openPopup, This creates and shows the menu popup.
    *
    * <p>This function creates a new menu panel and a new custom popup instance each time that it is
-   * called. The associated object instances are automatically disposed and set to null when a popup
-   * is closed.
+   * called. The associated object instances are automatically set to null when a popup is closed.
+   * The popup is displayed in the popup window that is shared by all the date pickers and time
+   * pickers in the same top window, so a new native window is not created for every popup.
    */
   public void openPopup() {
     // If the component is disabled, do nothing.
@@ -566,12 +575,13 @@ public class TimePicker extends JPanel implements CustomPopup.CustomPopupCloseLi
     if (!timeTextField.hasFocus()) {
       timeTextField.requestFocusInWindow();
     }
-    // Create a new time menu.
-    timeMenuPanel = new TimeMenuPanel(this, settings);
+    // Create a new time menu. The time menu list model is reused.
+    timeMenuPanel = new TimeMenuPanel(this, settings, timeMenuListModel);
+    timeMenuListModel = timeMenuPanel.getTimeListModel();
 
-    // Create a new custom popup.
+    // Create a new custom popup, in the popup window that is shared within the top window.
     popup =
-        new CustomPopup(
+        CustomPopup.createInSharedWindow(
             timeMenuPanel, SwingUtilities.getWindowAncestor(this), this, settings.borderTimePopup);
     popup.setMinimumSize(new Dimension(this.getSize().width + 1, timeMenuPanel.getSize().height));
     // Calculate the default origin for the popup.
@@ -581,6 +591,8 @@ public class TimePicker extends JPanel implements CustomPopup.CustomPopupCloseLi
     DatePicker.zSetPopupLocation(popup, defaultX, defaultY, this, timeTextField, -1, 1);
     // Show the popup and request focus.
     popup.show();
+    // Scroll the menu to the row that is nearest to the current time, if any.
+    timeMenuPanel.scrollToNearestEntry(getTime());
     timeMenuPanel.requestListFocus();
   }
 
@@ -771,7 +783,7 @@ public class TimePicker extends JPanel implements CustomPopup.CustomPopupCloseLi
               e.consume();
               openPopup();
               if (popup != null) {
-                timeMenuPanel.selectFirstEntry();
+                timeMenuPanel.selectNearestEntry(getTime());
               }
             }
             // Handled the up arrow key, which activates the spinner function to
@@ -783,6 +795,7 @@ public class TimePicker extends JPanel implements CustomPopup.CustomPopupCloseLi
                 return;
               }
               upPressed = true;
+              settings.zClearAllowedTimeIndex();
               if (getTime() == null) {
                 setTime(LocalTime.NOON);
               }
@@ -798,6 +811,7 @@ public class TimePicker extends JPanel implements CustomPopup.CustomPopupCloseLi
                 return;
               }
               downPressed = true;
+              settings.zClearAllowedTimeIndex();
               if (getTime() == null) {
                 setTime(LocalTime.NOON);
               }
@@ -948,12 +962,8 @@ public class TimePicker extends JPanel implements CustomPopup.CustomPopupCloseLi
    * standard format which could be used for displaying that time in the text field.
    */
   private String zGetStandardTextFieldTimeString(LocalTime time) {
-    String standardTimeString = "";
-    if (time == null) {
-      return standardTimeString;
-    }
-    standardTimeString = time.format(settings.getFormatForDisplayTime());
-    return standardTimeString;
+    // The settings instance formats the time, and caches the resulting string.
+    return settings.getFormattedDisplayTime(time);
   }
 
   /**
@@ -974,14 +984,15 @@ public class TimePicker extends JPanel implements CustomPopup.CustomPopupCloseLi
             if (!isEnabled()) {
               return;
             }
+            settings.zClearAllowedTimeIndex();
             if (getTime() == null) {
               setTime(LocalTime.NOON);
             }
             if (event.getSource() == getComponentDecreaseSpinnerButton()) {
-              setTime(getTime().plusMinutes(-1));
+              zInternalTryChangeTimeByIncrement(-1);
               decreaseTimer.start();
             } else {
-              setTime(getTime().plusMinutes(1));
+              zInternalTryChangeTimeByIncrement(1);
               increaseTimer.start();
             }
           }
@@ -1034,10 +1045,36 @@ public class TimePicker extends JPanel implements CustomPopup.CustomPopupCloseLi
     zEventTextFieldChanged();
   }
 
+  /**
+   * zInternalTryChangeTimeByIncrement, This changes the time by the supplied number of minutes, if
+   * the resulting time is allowed by the veto policy. If the resulting time is vetoed, then the
+   * time is changed to the next allowed time in the same direction, so that the spinner can jump
+   * over vetoed ranges of time. If no allowed time can be reached, then the time is not changed.
+   *
+   * <p>The next allowed time is found using the index of allowed minutes in the settings, which is
+   * only built when the first vetoed time is reached.
+   */
   public void zInternalTryChangeTimeByIncrement(int changeAmountMinutes) {
-    LocalTime timeToTry = getTime().plusMinutes(changeAmountMinutes);
-    if (!InternalUtilities.isTimeVetoed(settings.getVetoPolicy(), timeToTry)) {
+    LocalTime time = getTime();
+    if (time == null) {
+      return;
+    }
+    TimeVetoPolicy vetoPolicy = settings.getVetoPolicy();
+    LocalTime timeToTry = time.plusMinutes(changeAmountMinutes);
+    if (!InternalUtilities.isTimeVetoed(vetoPolicy, timeToTry)) {
+      setTime(timeToTry);
+      return;
+    }
+    // The time is vetoed. Jump to the next allowed time, if there is one.
+    timeToTry = settings.zGetAllowedTimeIndex(time).getNextAllowedTime(time, changeAmountMinutes);
+    if (timeToTry == null || timeToTry.equals(time)) {
+      return;
+    }
+    // Confirm the time with the veto policy, in case the rules of the policy have changed.
+    if (!InternalUtilities.isTimeVetoed(vetoPolicy, timeToTry)) {
       setTime(timeToTry);
+    } else {
+      settings.zClearAllowedTimeIndex();
     }
   }
 
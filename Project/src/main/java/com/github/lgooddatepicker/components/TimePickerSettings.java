@@ -24,9 +24,12 @@ package com.github.lgooddatepicker.components;
 
 import com.github.lgooddatepicker.optionalusertools.PickerUtilities;
 import com.github.lgooddatepicker.optionalusertools.TimeVetoPolicy;
+import com.github.lgooddatepicker.zinternaltools.AllowedTimeIndex;
 import com.github.lgooddatepicker.zinternaltools.ExtraTimeStrings;
+import com.github.lgooddatepicker.zinternaltools.FormatCache;
 import com.github.lgooddatepicker.zinternaltools.InternalConstants;
 import com.github.lgooddatepicker.zinternaltools.InternalUtilities;
+import com.github.lgooddatepicker.zinternaltools.SortedTimeList;
 import com.privatejgoodies.forms.layout.ColumnSpec;
 import com.privatejgoodies.forms.layout.ConstantSize;
 import com.privatejgoodies.forms.layout.FormLayout;
@@ -43,7 +46,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
-import java.util.TreeSet;
 import javax.swing.JTextField;
 import javax.swing.border.Border;
 import javax.swing.border.CompoundBorder;
@@ -121,6 +123,15 @@ public class TimePickerSettings {
    */
   private boolean allowKeyboardEditing = true;
 
+  /**
+   * allowedTimeIndex, This holds the index of the minutes of the day that are allowed by the veto
+   * policy, or null if the index has not been built. The index is used by the spinner to jump over
+   * vetoed times. It is built only when a spinner step reaches a vetoed time. It is discarded when
+   * the veto policy is replaced, and whenever the user starts to use the spinner, because veto
+   * policies are allowed to change their rules at runtime.
+   */
+  private AllowedTimeIndex allowedTimeIndex = null;
+
   /**
    * borderTimePopup, This allows you to set a custom border for the time picker popup menu. By
    * default, a simple border is drawn.
@@ -169,6 +180,23 @@ public class TimePickerSettings {
    */
   public Font fontVetoedTime;
 
+  /**
+   * formatCacheForDisplayTimes, This holds recently formatted time strings, keyed by time. The
+   * strings are formatted with formatForDisplayTime. This cache is cleared whenever that format is
+   * changed.
+   */
+  private FormatCache<LocalTime> formatCacheForDisplayTimes =
+      new FormatCache<>(
+          FormatCache.defaultMaximumSize, time -> time.format(this.formatForDisplayTime));
+
+  /**
+   * formatCacheForMenuTimes, This holds recently formatted time strings, keyed by time. The strings
+   * are formatted with formatForMenuTimes. This cache is cleared whenever that format is changed.
+   */
+  private FormatCache<LocalTime> formatCacheForMenuTimes =
+      new FormatCache<>(
+          FormatCache.defaultMaximumSize, time -> time.format(this.formatForMenuTimes));
+
   /**
    * formatForDisplayTime, This is used to format and display the time values in the main text field
    * of the time picker. By default, a format is generated from the time picker locale.
@@ -249,8 +277,11 @@ public class TimePickerSettings {
    * 11:30PM, in 30 minute increments. This variable is private to ensure the validity of the menu
    * times list. To customize the menu times, call one of the generatePotentialMenuTimes() functions
    * with your desired parameters.
+   *
+   * <p>The times are stored as a sorted array of nano-of-day values. (See SortedTimeList.) This
+   * list is immutable, so it can be shared as a read-only view without copying.
    */
-  private ArrayList<LocalTime> potentialMenuTimes;
+  private SortedTimeList potentialMenuTimes;
 
   /**
    * sizeTextFieldMinimumWidth, This specifies the minimum width, in pixels, of the TimePicker text
@@ -409,19 +440,18 @@ public class TimePickerSettings {
     LocalTime startTime = (optionalStartTime == null) ? LocalTime.MIN : optionalStartTime;
     LocalTime endTime = (optionalEndTime == null) ? LocalTime.MAX : optionalEndTime;
     // Initialize our needed variables.
-    potentialMenuTimes = new ArrayList<>();
     int increment = timeIncrement.minutes;
+    long[] entries = new long[(24 * 60) / increment];
+    int entryCount = 0;
     // Start at midnight, which is the earliest time of day for LocalTime values.
-    LocalTime entry = LocalTime.MIDNIGHT;
-    boolean continueLoop = true;
-    while (continueLoop) {
+    // Note: This stopping criteria works as long as as ((60 % increment) == 0).
+    for (int minuteOfDay = 0; minuteOfDay < (24 * 60); minuteOfDay += increment) {
+      LocalTime entry = LocalTime.of(minuteOfDay / 60, minuteOfDay % 60);
       if (PickerUtilities.isLocalTimeInRange(entry, startTime, endTime, true)) {
-        potentialMenuTimes.add(entry);
+        entries[entryCount++] = entry.toNanoOfDay();
       }
-      entry = entry.plusMinutes(increment);
-      // Note: This stopping criteria works as long as as ((60 % increment) == 0).
-      continueLoop = (!(LocalTime.MIDNIGHT.equals(entry)));
     }
+    potentialMenuTimes = SortedTimeList.ofNanosOfDay(entries, entryCount);
   }
 
   /**
@@ -437,17 +467,7 @@ public class TimePickerSettings {
    * this function.
    */
   public void generatePotentialMenuTimes(ArrayList<LocalTime> desiredTimes) {
-    potentialMenuTimes = new ArrayList<>();
-    if (desiredTimes == null || desiredTimes.isEmpty()) {
-      return;
-    }
-    TreeSet<LocalTime> timeSet = new TreeSet<>();
-    for (LocalTime desiredTime : desiredTimes) {
-      if (desiredTime != null) {
-        timeSet.add(desiredTime);
-      }
-    }
-    potentialMenuTimes.addAll(timeSet);
+    potentialMenuTimes = SortedTimeList.ofTimes(desiredTimes);
   }
 
   /**
@@ -492,6 +512,23 @@ public class TimePickerSettings {
     return displayToggleTimeMenuButton;
   }
 
+  /**
+   * getFormatCacheForDisplayTimes, Returns the cache that holds recently formatted display time
+   * strings. The cache can be used to read the hit and miss counters. See also:
+   * getFormattedDisplayTime().
+   */
+  public FormatCache<LocalTime> getFormatCacheForDisplayTimes() {
+    return formatCacheForDisplayTimes;
+  }
+
+  /**
+   * getFormatCacheForMenuTimes, Returns the cache that holds recently formatted menu time strings.
+   * The cache can be used to read the hit and miss counters. See also: getFormattedMenuTime().
+   */
+  public FormatCache<LocalTime> getFormatCacheForMenuTimes() {
+    return formatCacheForMenuTimes;
+  }
+
   /**
    * getFormatForDisplayTime, Returns the value this setting. See the "set" function for setting
    * information.
@@ -508,6 +545,24 @@ public class TimePickerSettings {
     return formatForMenuTimes;
   }
 
+  /**
+   * getFormattedDisplayTime, This returns the supplied time as a string, formatted with the
+   * formatForDisplayTime. If the time is null, this returns an empty string. Recently formatted
+   * strings are cached. See also: getFormatCacheForDisplayTimes().
+   */
+  public String getFormattedDisplayTime(LocalTime time) {
+    return formatCacheForDisplayTimes.getFormattedString(time);
+  }
+
+  /**
+   * getFormattedMenuTime, This returns the supplied time as a string, formatted with the
+   * formatForMenuTimes. If the time is null, this returns an empty string. Recently formatted
+   * strings are cached. See also: getFormatCacheForMenuTimes().
+   */
+  public String getFormattedMenuTime(LocalTime time) {
+    return formatCacheForMenuTimes.getFormattedString(time);
+  }
+
   /**
    * getGapBeforeButtonPixels, Returns the value of this setting. See the "set" function for setting
    * information.
@@ -538,6 +593,33 @@ public class TimePickerSettings {
     return minimumToggleTimeMenuButtonWidthInPixels;
   }
 
+  /**
+   * getPotentialMenuTime, This returns the potential menu time at the specified index, without
+   * copying the list of potential menu times. The index must be between zero (inclusive) and
+   * getPotentialMenuTimeCount() (exclusive).
+   */
+  public LocalTime getPotentialMenuTime(int index) {
+    return potentialMenuTimes.get(index);
+  }
+
+  /**
+   * getPotentialMenuTimeIndex, This returns the index of the supplied time in the list of potential
+   * menu times, using a binary search. If the time is not in the list, this returns
+   * (-(insertion point) - 1), following the conventions of Arrays.binarySearch().
+   */
+  public int getPotentialMenuTimeIndex(LocalTime time) {
+    return potentialMenuTimes.binarySearch(time);
+  }
+
+  /**
+   * getPotentialMenuTimeCount, This returns the number of potential menu times, without copying
+   * the list of potential menu times. For additional details, see
+   * TimePickerSettings.potentialMenuTimes.
+   */
+  public int getPotentialMenuTimeCount() {
+    return potentialMenuTimes.size();
+  }
+
   /**
    * getPotentialMenuTimes, This returns a copy of the list of potential menu times. For additional
    * details, see TimePickerSettings.potentialMenuTimes.
@@ -546,6 +628,16 @@ public class TimePickerSettings {
     return new ArrayList<>(potentialMenuTimes);
   }
 
+  /**
+   * getPotentialMenuTimesView, This returns a read-only view of the list of potential menu times,
+   * in ascending order. Unlike getPotentialMenuTimes(), this does not copy the list. The returned
+   * list will not reflect later calls to generatePotentialMenuTimes(). For additional details, see
+   * TimePickerSettings.potentialMenuTimes.
+   */
+  public SortedTimeList getPotentialMenuTimesView() {
+    return potentialMenuTimes;
+  }
+
   /**
    * getSizeTextFieldMinimumWidth, Returns the value of this setting. See the "set" function for
    * setting information.
@@ -691,6 +783,7 @@ public class TimePickerSettings {
    */
   public void setFormatForDisplayTime(DateTimeFormatter formatForDisplayTime) {
     this.formatForDisplayTime = formatForDisplayTime;
+    formatCacheForDisplayTimes.clear();
     if (parent != null) {
       parent.setTextFieldToValidStateIfNeeded();
     }
@@ -727,6 +820,7 @@ public class TimePickerSettings {
    */
   public void setFormatForMenuTimes(DateTimeFormatter formatForMenuTimes) {
     this.formatForMenuTimes = formatForMenuTimes;
+    formatCacheForMenuTimes.clear();
     if (parent != null) {
       parent.setTextFieldToValidStateIfNeeded();
     }
@@ -859,6 +953,7 @@ public class TimePickerSettings {
               + "A veto policy can only be set after constructing the TimePicker.");
     }
     this.vetoPolicy = vetoPolicy;
+    allowedTimeIndex = null;
     return isTimeAllowed(parent.getTime());
   }
 
@@ -876,6 +971,8 @@ public class TimePickerSettings {
   public void use24HourClockFormat() {
     formatForDisplayTime = PickerUtilities.createFormatterFromPatternString("HH:mm", locale);
     formatForMenuTimes = formatForDisplayTime;
+    formatCacheForDisplayTimes.clear();
+    formatCacheForMenuTimes.clear();
   }
 
   /**
@@ -1041,6 +1138,27 @@ public class TimePickerSettings {
         .setDisabledTextColor(getColor(TimeArea.TimePickerTextDisabled));
   }
 
+  /**
+   * zClearAllowedTimeIndex, This discards the index of allowed minutes, so that the index will be
+   * built again from the current rules of the veto policy the next time that it is needed.
+   */
+  void zClearAllowedTimeIndex() {
+    allowedTimeIndex = null;
+  }
+
+  /**
+   * zGetAllowedTimeIndex, This returns an index of the minutes of the day that are allowed by the
+   * current veto policy, which can be used to step the supplied time. The index is built if needed,
+   * and kept until it is cleared, or until the veto policy is replaced.
+   */
+  AllowedTimeIndex zGetAllowedTimeIndex(LocalTime time) {
+    if (allowedTimeIndex == null || !allowedTimeIndex.isBuiltFor(vetoPolicy, time)) {
+      allowedTimeIndex =
+          AllowedTimeIndex.build(vetoPolicy, AllowedTimeIndex.getNanoOfMinute(time));
+    }
+    return allowedTimeIndex;
+  }
+
   /**
    * TimeIncrement, This is a list of increments that can be used with the generateMenuTimes()
    * function.
@@ -0,0 +1,67 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.optionalusertools;
+
+import com.github.lgooddatepicker.zinternaltools.HighlightInformation;
+import java.time.LocalDate;
+
+/**
+ * RangeDateHighlightPolicy,
+ *
+ * <p>A RangeDateHighlightPolicy is an optional extension of the DateHighlightPolicy interface,
+ * which can be implemented when a highlight policy can supply the highlight information for many
+ * dates more efficiently than it can supply it for each date individually. The calendar panel will
+ * use the range function to resolve all the displayed dates of a month with a single call.
+ *
+ * <p>Only the range function needs to be implemented. The single date function
+ * "getHighlightInformationOrNull()" is implemented by default, by calling the range function with
+ * an interval of one date.
+ *
+ * <p>Any regular DateHighlightPolicy can still be used with the date picker and the calendar panel.
+ * The calendar panel will automatically adapt regular highlight policies, by calling
+ * getHighlightInformationOrNull() for each displayed date.
+ */
+public interface RangeDateHighlightPolicy extends DateHighlightPolicy {
+
+  /**
+   * getHighlightInformationInInterval, Implement this function to supply the highlight
+   * information for every date inside the supplied date interval. The returned array should have
+   * one element for each date in the interval, including both the first and the last date. The
+   * array index of a date is equal to the number of days between the first date of the interval
+   * and that date. Elements for dates that should not be highlighted should be null.
+   *
+   * <p>The supplied interval will never be empty, and will always include both the first date and
+   * the last date. The first date will never be after the last date.
+   */
+  public HighlightInformation[] getHighlightInformationInInterval(DateInterval interval);
+
+  /**
+   * getHighlightInformationOrNull, This default implementation checks a single date by calling
+   * the range function with an interval that contains only the specified date.
+   */
+  @Override
+  public default HighlightInformation getHighlightInformationOrNull(LocalDate date) {
+    HighlightInformation[] result = getHighlightInformationInInterval(new DateInterval(date, date));
+    return (result == null || result.length < 1) ? null : result[0];
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.optionalusertools;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+
+/**
+ * RangeDateVetoPolicy,
+ *
+ * <p>A RangeDateVetoPolicy is an optional extension of the DateVetoPolicy interface, which can be
+ * implemented when a veto policy can answer questions about many dates more efficiently than it
+ * can answer questions about each date individually. (For example, when the veto information is
+ * loaded from a database or from a booking store.) The calendar panel will use the range function
+ * to resolve all the displayed dates of a month with a single call.
+ *
+ * <p>Only the range function needs to be implemented. The single date function "isDateAllowed()"
+ * is implemented by default, by calling the range function with an interval of one date. A
+ * programmer may also override "isDateAllowed()" if a faster single date check is available.
+ *
+ * <p>Any regular DateVetoPolicy can still be used with the date picker and the calendar panel. The
+ * calendar panel will automatically adapt regular veto policies, by calling isDateAllowed() for
+ * each displayed date.
+ */
+public interface RangeDateVetoPolicy extends DateVetoPolicy {
+
+  /**
+   * getAllowedDatesInInterval, Implement this function to indicate which dates are allowed inside
+   * the supplied date interval. The returned BitSet should have a set bit for each allowed date,
+   * and a clear bit for each vetoed date. The bit index of a date is equal to the number of days
+   * between the first date of the interval and that date. (The first date of the interval has the
+   * bit index 0.)
+   *
+   * <p>The supplied interval will never be empty, and will always include both the first date and
+   * the last date. The first date will never be after the last date.
+   */
+  public BitSet getAllowedDatesInInterval(DateInterval interval);
+
+  /**
+   * isDateAllowed, This default implementation checks a single date by calling the range function
+   * with an interval that contains only the specified date.
+   */
+  @Override
+  public default boolean isDateAllowed(LocalDate date) {
+    return getAllowedDatesInInterval(new DateInterval(date, date)).get(0);
+  }
+}
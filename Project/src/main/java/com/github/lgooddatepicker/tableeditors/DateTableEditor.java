@@ -24,8 +24,12 @@ package com.github.lgooddatepicker.tableeditors;
 
 import com.github.lgooddatepicker.components.DatePicker;
 import com.github.lgooddatepicker.components.DatePickerSettings;
+import com.github.lgooddatepicker.components.DatePickerSettings.DateArea;
 import com.github.lgooddatepicker.zinternaltools.InternalUtilities;
+import com.github.lgooddatepicker.zinternaltools.LightweightCellLabel;
+import java.awt.Color;
 import java.awt.Component;
+import java.awt.Font;
 import java.awt.event.MouseEvent;
 import java.time.LocalDate;
 import java.util.EventObject;
@@ -60,6 +64,10 @@ import javax.swing.table.TableCellRenderer;
  * displayed. The row height is only adjusted if the current table row height value is below the
  * minimum value that is needed to display the date picker component. This auto adjust behavior can
  * be turned off from the DateTableEditor constructor.
+ *
+ * <p>Lightweight renderer: By default, the renderer paints each cell by stamping the full date
+ * picker component. For large tables, the renderer can instead paint each cell with a single
+ * reused label, by calling setUseLightweightRenderer(true). See that function for details.
  */
 public class DateTableEditor extends AbstractCellEditor
     implements TableCellEditor, TableCellRenderer {
@@ -102,6 +110,18 @@ public class DateTableEditor extends AbstractCellEditor
   /** minimumRowHeight, This holds the minimum row height needed to display the date picker. */
   private int minimumRowHeightInPixels;
 
+  /**
+   * useLightweightRenderer, This indicates whether the renderer should paint cells with the
+   * lightweight renderer label, instead of with the full date picker. The default value is false.
+   */
+  private boolean useLightweightRenderer = false;
+
+  /**
+   * lightweightRendererLabel, This holds the label that is reused to paint every cell, when the
+   * lightweight renderer is in use.
+   */
+  private LightweightCellLabel lightweightRendererLabel;
+
   /** Constructor, default. */
   public DateTableEditor() {
     this(true, true, true);
@@ -147,6 +167,13 @@ public class DateTableEditor extends AbstractCellEditor
     settings.setSizeTextFieldMinimumWidth(20);
     // Calculate and store the minimum row height needed to display the date picker.
     minimumRowHeightInPixels = (datePicker.getPreferredSize().height + 1);
+    // Create the label that is used by the lightweight renderer.
+    lightweightRendererLabel =
+        new LightweightCellLabel(
+            borderFocusedCell,
+            borderUnfocusedCell,
+            matchTableBackgroundColor,
+            matchTableSelectionBackgroundColor);
   }
 
   /**
@@ -201,6 +228,10 @@ public class DateTableEditor extends AbstractCellEditor
   @Override
   public Component getTableCellRendererComponent(
       JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
+    // If requested, paint the cell with the lightweight renderer label.
+    if (useLightweightRenderer) {
+      return zGetLightweightRendererComponent(table, value, isSelected, hasFocus);
+    }
     // Save the supplied value to the date picker.
     setCellEditorValue(value);
     // Draw the appropriate background colors to indicate a selected or unselected state.
@@ -234,6 +265,14 @@ public class DateTableEditor extends AbstractCellEditor
     return datePicker;
   }
 
+  /**
+   * getUseLightweightRenderer, Returns true if the lightweight renderer is in use. See
+   * setUseLightweightRenderer() for details.
+   */
+  public boolean getUseLightweightRenderer() {
+    return useLightweightRenderer;
+  }
+
   /**
    * isCellEditable, Returns true if anEvent is not a MouseEvent. Otherwise, it returns true if the
    * necessary number of clicks have occurred, and returns false otherwise.
@@ -268,6 +307,57 @@ public class DateTableEditor extends AbstractCellEditor
     }
   }
 
+  /**
+   * setUseLightweightRenderer, This sets whether the renderer should paint cells with a single
+   * reused label, instead of with the full date picker. The default value is false.
+   *
+   * <p>The full date picker renderer sets the date on the picker for every painted cell, which
+   * involves formatting, parsing, validation, and notifying listeners. The lightweight renderer
+   * formats LocalDate values directly with the formats in the date picker settings, using the
+   * format cache of the settings instance. It uses the same fonts and colors as the date picker
+   * text field, and vetoed dates are indicated in the same way. Values that are not LocalDate
+   * instances are displayed as text, using the valid date font and colors. The lightweight renderer
+   * does not display the toggle calendar button. The editor always uses the full date picker.
+   */
+  public void setUseLightweightRenderer(boolean useLightweightRenderer) {
+    this.useLightweightRenderer = useLightweightRenderer;
+  }
+
+  /**
+   * zGetLightweightRendererComponent, This prepares and returns the lightweight renderer label for
+   * the supplied cell value. See setUseLightweightRenderer() for details.
+   */
+  private Component zGetLightweightRendererComponent(
+      JTable table, Object value, boolean isSelected, boolean hasFocus) {
+    DatePickerSettings settings = datePicker.getSettings();
+    // Get the text, and the indicator font and colors, for the supplied value.
+    String text;
+    Font font = settings.getFontValidDate();
+    Color foreground = settings.getColor(DateArea.DatePickerTextValidDate);
+    Color background = settings.getColor(DateArea.TextFieldBackgroundValidDate);
+    if (value == null) {
+      text = "";
+      if (!settings.getAllowEmptyDates()) {
+        background = settings.getColor(DateArea.TextFieldBackgroundDisallowedEmptyDate);
+      }
+    } else if (value instanceof LocalDate) {
+      LocalDate date = (LocalDate) value;
+      text = settings.getFormattedDate(date);
+      if (!settings.isDateAllowed(date)) {
+        font = settings.getFontVetoedDate();
+        foreground = settings.getColor(DateArea.DatePickerTextVetoedDate);
+        background = settings.getColor(DateArea.TextFieldBackgroundVetoedDate);
+      }
+    } else {
+      text = InternalUtilities.safeSubstring(value.toString(), 0, 100);
+    }
+    lightweightRendererLabel.prepareCell(
+        table, text, font, foreground, background, isSelected, hasFocus);
+    // If needed, adjust the minimum row height for the table.
+    zAdjustTableRowHeightIfNeeded(table);
+    return lightweightRendererLabel;
+  }
+
   /**
    * zAdjustTableRowHeightIfNeeded, If needed, this will adjust the row height for all rows in the
    * supplied table to fit the minimum row height that is needed to display the date picker
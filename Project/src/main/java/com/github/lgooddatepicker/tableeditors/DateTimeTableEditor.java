@@ -23,14 +23,20 @@
 package com.github.lgooddatepicker.tableeditors;
 
 import com.github.lgooddatepicker.components.DatePickerSettings;
+import com.github.lgooddatepicker.components.DatePickerSettings.DateArea;
 import com.github.lgooddatepicker.components.DateTimePicker;
 import com.github.lgooddatepicker.components.TimePickerSettings;
+import com.github.lgooddatepicker.components.TimePickerSettings.TimeArea;
 import com.github.lgooddatepicker.zinternaltools.InternalUtilities;
+import com.github.lgooddatepicker.zinternaltools.LightweightCellLabel;
 import com.privatejgoodies.forms.layout.ConstantSize;
 import java.awt.Color;
 import java.awt.Component;
+import java.awt.Font;
 import java.awt.event.MouseEvent;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.EventObject;
 import javax.swing.AbstractCellEditor;
 import javax.swing.JLabel;
@@ -63,6 +69,10 @@ import javax.swing.table.TableCellRenderer;
  * displayed. The row height is only adjusted if the current table row height value is below the
  * minimum value that is needed to display the DateTimePicker component. This auto adjust behavior
  * can be turned off from the constructor.
+ *
+ * <p>Lightweight renderer: By default, the renderer paints each cell by stamping the full
+ * DateTimePicker component. For large tables, the renderer can instead paint each cell with a
+ * single reused label, by calling setUseLightweightRenderer(true). See that function for details.
  */
 public class DateTimeTableEditor extends AbstractCellEditor
     implements TableCellEditor, TableCellRenderer {
@@ -105,6 +115,19 @@ public class DateTimeTableEditor extends AbstractCellEditor
   /** minimumRowHeight, This holds the minimum row height needed to display the DateTimePicker. */
   private int minimumRowHeightInPixels;
 
+  /**
+   * useLightweightRenderer, This indicates whether the renderer should paint cells with the
+   * lightweight renderer label, instead of with the full DateTimePicker. The default value is
+   * false.
+   */
+  private boolean useLightweightRenderer = false;
+
+  /**
+   * lightweightRendererLabel, This holds the label that is reused to paint every cell, when the
+   * lightweight renderer is in use.
+   */
+  private LightweightCellLabel lightweightRendererLabel;
+
   /** Constructor, default. */
   public DateTimeTableEditor() {
     this(true, true, true);
@@ -154,6 +177,13 @@ public class DateTimeTableEditor extends AbstractCellEditor
     timeSettings.setSizeTextFieldMinimumWidth(20);
     // Calculate and store the minimum row height needed to display the DateTimePicker.
     minimumRowHeightInPixels = (dateTimePicker.getPreferredSize().height + 1);
+    // Create the label that is used by the lightweight renderer.
+    lightweightRendererLabel =
+        new LightweightCellLabel(
+            borderFocusedCell,
+            borderUnfocusedCell,
+            matchTableBackgroundColor,
+            matchTableSelectionBackgroundColor);
   }
 
   /**
@@ -217,6 +247,10 @@ public class DateTimeTableEditor extends AbstractCellEditor
   @Override
   public Component getTableCellRendererComponent(
       JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
+    // If requested, paint the cell with the lightweight renderer label.
+    if (useLightweightRenderer) {
+      return zGetLightweightRendererComponent(table, value, isSelected, hasFocus);
+    }
     // Save the supplied value to the DateTimePicker.
     setCellEditorValue(value);
     // Draw the appropriate background colors to indicate a selected or unselected state.
@@ -261,6 +295,14 @@ public class DateTimeTableEditor extends AbstractCellEditor
     return dateTimePicker;
   }
 
+  /**
+   * getUseLightweightRenderer, Returns true if the lightweight renderer is in use. See
+   * setUseLightweightRenderer() for details.
+   */
+  public boolean getUseLightweightRenderer() {
+    return useLightweightRenderer;
+  }
+
   /**
    * isCellEditable, Returns true if anEvent is not a MouseEvent. Otherwise, it returns true if the
    * necessary number of clicks have occurred, and returns false otherwise.
@@ -295,6 +337,70 @@ public class DateTimeTableEditor extends AbstractCellEditor
     }
   }
 
+  /**
+   * setUseLightweightRenderer, This sets whether the renderer should paint cells with a single
+   * reused label, instead of with the full DateTimePicker. The default value is false.
+   *
+   * <p>The full DateTimePicker renderer sets the value on both pickers for every painted cell,
+   * which involves formatting, parsing, validation, and notifying listeners. The lightweight
+   * renderer formats LocalDateTime values directly with the formats in the picker settings, using
+   * the format caches of the settings instances. The date and the time are displayed in a single
+   * label, separated by a space. The label uses the date picker fonts and colors, unless only the
+   * time is vetoed, in which case the vetoed time font and colors are used. Values that are not
+   * LocalDateTime instances are displayed as text, using the valid date font and colors. The
+   * lightweight renderer does not display any picker buttons. The editor always uses the full
+   * DateTimePicker.
+   */
+  public void setUseLightweightRenderer(boolean useLightweightRenderer) {
+    this.useLightweightRenderer = useLightweightRenderer;
+  }
+
+  /**
+   * zGetLightweightRendererComponent, This prepares and returns the lightweight renderer label for
+   * the supplied cell value. See setUseLightweightRenderer() for details.
+   */
+  private Component zGetLightweightRendererComponent(
+      JTable table, Object value, boolean isSelected, boolean hasFocus) {
+    DatePickerSettings dateSettings = getDatePickerSettings();
+    TimePickerSettings timeSettings = getTimePickerSettings();
+    // Get the text, and the indicator font and colors, for the supplied value.
+    String text;
+    Font font = dateSettings.getFontValidDate();
+    Color foreground = dateSettings.getColor(DateArea.DatePickerTextValidDate);
+    Color background = dateSettings.getColor(DateArea.TextFieldBackgroundValidDate);
+    if (value == null) {
+      text = "";
+      if (!dateSettings.getAllowEmptyDates()) {
+        background = dateSettings.getColor(DateArea.TextFieldBackgroundDisallowedEmptyDate);
+      }
+    } else if (value instanceof LocalDateTime) {
+      LocalDateTime dateTime = (LocalDateTime) value;
+      LocalDate date = dateTime.toLocalDate();
+      LocalTime time = dateTime.toLocalTime();
+      String timeText = timeSettings.getFormattedDisplayTime(time);
+      if (timeSettings.useLowercaseForDisplayTime) {
+        timeText = timeText.toLowerCase(timeSettings.getLocale());
+      }
+      text = dateSettings.getFormattedDate(date) + " " + timeText;
+      if (!dateSettings.isDateAllowed(date)) {
+        font = dateSettings.getFontVetoedDate();
+        foreground = dateSettings.getColor(DateArea.DatePickerTextVetoedDate);
+        background = dateSettings.getColor(DateArea.TextFieldBackgroundVetoedDate);
+      } else if (!timeSettings.isTimeAllowed(time)) {
+        font = timeSettings.fontVetoedTime;
+        foreground = timeSettings.getColor(TimeArea.TimePickerTextVetoedTime);
+        background = timeSettings.getColor(TimeArea.TextFieldBackgroundVetoedTime);
+      }
+    } else {
+      text = InternalUtilities.safeSubstring(value.toString(), 0, 100);
+    }
+    lightweightRendererLabel.prepareCell(
+        table, text, font, foreground, background, isSelected, hasFocus);
+    // If needed, adjust the minimum row height for the table.
+    zAdjustTableRowHeightIfNeeded(table);
+    return lightweightRendererLabel;
+  }
+
   /**
    * zAdjustTableRowHeightIfNeeded, If needed, this will adjust the row height for all rows in the
    * supplied table to fit the minimum row height that is needed to display the DateTimePicker
@@ -24,8 +24,12 @@ package com.github.lgooddatepicker.tableeditors;
 
 import com.github.lgooddatepicker.components.TimePicker;
 import com.github.lgooddatepicker.components.TimePickerSettings;
+import com.github.lgooddatepicker.components.TimePickerSettings.TimeArea;
 import com.github.lgooddatepicker.zinternaltools.InternalUtilities;
+import com.github.lgooddatepicker.zinternaltools.LightweightCellLabel;
+import java.awt.Color;
 import java.awt.Component;
+import java.awt.Font;
 import java.awt.event.MouseEvent;
 import java.time.LocalTime;
 import java.util.EventObject;
@@ -60,6 +64,10 @@ import javax.swing.table.TableCellRenderer;
  * displayed. The row height is only adjusted if the current table row height value is below the
  * minimum value that is needed to display the time picker component. This auto adjust behavior can
  * be turned off from the TimeTableEditor constructor.
+ *
+ * <p>Lightweight renderer: By default, the renderer paints each cell by stamping the full time
+ * picker component. For large tables, the renderer can instead paint each cell with a single
+ * reused label, by calling setUseLightweightRenderer(true). See that function for details.
  */
 public class TimeTableEditor extends AbstractCellEditor
     implements TableCellEditor, TableCellRenderer {
@@ -102,6 +110,18 @@ public class TimeTableEditor extends AbstractCellEditor
   /** minimumRowHeight, This holds the minimum row height needed to display the time picker. */
   private int minimumRowHeightInPixels;
 
+  /**
+   * useLightweightRenderer, This indicates whether the renderer should paint cells with the
+   * lightweight renderer label, instead of with the full time picker. The default value is false.
+   */
+  private boolean useLightweightRenderer = false;
+
+  /**
+   * lightweightRendererLabel, This holds the label that is reused to paint every cell, when the
+   * lightweight renderer is in use.
+   */
+  private LightweightCellLabel lightweightRendererLabel;
+
   /** Constructor, default. */
   public TimeTableEditor() {
     this(true, true, true);
@@ -142,6 +162,13 @@ public class TimeTableEditor extends AbstractCellEditor
     settings.setSizeTextFieldMinimumWidth(20);
     // Calculate and store the minimum row height needed to display the time picker.
     minimumRowHeightInPixels = (timePicker.getPreferredSize().height + 1);
+    // Create the label that is used by the lightweight renderer.
+    lightweightRendererLabel =
+        new LightweightCellLabel(
+            borderFocusedCell,
+            borderUnfocusedCell,
+            matchTableBackgroundColor,
+            matchTableSelectionBackgroundColor);
   }
 
   /**
@@ -196,6 +223,10 @@ public class TimeTableEditor extends AbstractCellEditor
   @Override
   public Component getTableCellRendererComponent(
       JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
+    // If requested, paint the cell with the lightweight renderer label.
+    if (useLightweightRenderer) {
+      return zGetLightweightRendererComponent(table, value, isSelected, hasFocus);
+    }
     // Save the supplied value to the time picker.
     setCellEditorValue(value);
     // Draw the appropriate background colors to indicate a selected or unselected state.
@@ -229,6 +260,14 @@ public class TimeTableEditor extends AbstractCellEditor
     return timePicker;
   }
 
+  /**
+   * getUseLightweightRenderer, Returns true if the lightweight renderer is in use. See
+   * setUseLightweightRenderer() for details.
+   */
+  public boolean getUseLightweightRenderer() {
+    return useLightweightRenderer;
+  }
+
   /**
    * isCellEditable, Returns true if anEvent is not a MouseEvent. Otherwise, it returns true if the
    * necessary number of clicks have occurred, and returns false otherwise.
@@ -263,6 +302,60 @@ public class TimeTableEditor extends AbstractCellEditor
     }
   }
 
+  /**
+   * setUseLightweightRenderer, This sets whether the renderer should paint cells with a single
+   * reused label, instead of with the full time picker. The default value is false.
+   *
+   * <p>The full time picker renderer sets the time on the picker for every painted cell, which
+   * involves formatting, parsing, validation, and notifying listeners. The lightweight renderer
+   * formats LocalTime values directly with the display format in the time picker settings, using
+   * the format cache of the settings instance. It uses the same fonts and colors as the time picker
+   * text field, and vetoed times are indicated in the same way. Values that are not LocalTime
+   * instances are displayed as text, using the valid time font and colors. The lightweight renderer
+   * does not display the time menu button. The editor always uses the full time picker.
+   */
+  public void setUseLightweightRenderer(boolean useLightweightRenderer) {
+    this.useLightweightRenderer = useLightweightRenderer;
+  }
+
+  /**
+   * zGetLightweightRendererComponent, This prepares and returns the lightweight renderer label for
+   * the supplied cell value. See setUseLightweightRenderer() for details.
+   */
+  private Component zGetLightweightRendererComponent(
+      JTable table, Object value, boolean isSelected, boolean hasFocus) {
+    TimePickerSettings settings = timePicker.getSettings();
+    // Get the text, and the indicator font and colors, for the supplied value.
+    String text;
+    Font font = settings.fontValidTime;
+    Color foreground = settings.getColor(TimeArea.TimePickerTextValidTime);
+    Color background = settings.getColor(TimeArea.TextFieldBackgroundValidTime);
+    if (value == null) {
+      text = "";
+      if (!settings.getAllowEmptyTimes()) {
+        background = settings.getColor(TimeArea.TextFieldBackgroundDisallowedEmptyTime);
+      }
+    } else if (value instanceof LocalTime) {
+      LocalTime time = (LocalTime) value;
+      text = settings.getFormattedDisplayTime(time);
+      if (settings.useLowercaseForDisplayTime) {
+        text = text.toLowerCase(settings.getLocale());
+      }
+      if (!settings.isTimeAllowed(time)) {
+        font = settings.fontVetoedTime;
+        foreground = settings.getColor(TimeArea.TimePickerTextVetoedTime);
+        background = settings.getColor(TimeArea.TextFieldBackgroundVetoedTime);
+      }
+    } else {
+      text = InternalUtilities.safeSubstring(value.toString(), 0, 100);
+    }
+    lightweightRendererLabel.prepareCell(
+        table, text, font, foreground, background, isSelected, hasFocus);
+    // If needed, adjust the minimum row height for the table.
+    zAdjustTableRowHeightIfNeeded(table);
+    return lightweightRendererLabel;
+  }
+
   /**
    * zAdjustTableRowHeightIfNeeded, If needed, this will adjust the row height for all rows in the
    * supplied table to fit the minimum row height that is needed to display the time picker
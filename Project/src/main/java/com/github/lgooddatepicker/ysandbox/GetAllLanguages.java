@@ -25,6 +25,7 @@ package com.github.lgooddatepicker.ysandbox;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
+import java.util.ArrayList;
 import java.util.Locale;
 import java.util.TreeSet;
 
@@ -35,21 +36,30 @@ import java.util.TreeSet;
 public class GetAllLanguages {
 
   public static void main(String[] args) {
-    TreeSet<String> languageCodes = new TreeSet<>();
-    for (Locale locale : Locale.getAvailableLocales()) {
-      languageCodes.add(locale.getLanguage());
-    }
-
     LocalTime localTime = LocalTime.of(17, 30, 20);
 
-    for (String languageCode : languageCodes) {
-
-      Locale localeForLanguage = new Locale(languageCode);
-      // Locale localeForLanguage = Locale.forLanguageTag(languageCode);
+    for (Locale localeForLanguage : getAllLanguageLocales()) {
       DateTimeFormatter format =
           DateTimeFormatter.ofLocalizedTime(FormatStyle.SHORT).withLocale(localeForLanguage);
       System.out.print(localeForLanguage.getDisplayLanguage() + ": ");
       System.out.print(format.format(localTime) + "\n");
     }
   }
+
+  /**
+   * getAllLanguageLocales, This returns one language-only locale for every distinct language code
+   * of the available locales, sorted by language code.
+   */
+  public static ArrayList<Locale> getAllLanguageLocales() {
+    TreeSet<String> languageCodes = new TreeSet<>();
+    for (Locale locale : Locale.getAvailableLocales()) {
+      languageCodes.add(locale.getLanguage());
+    }
+    ArrayList<Locale> result = new ArrayList<>();
+    for (String languageCode : languageCodes) {
+      // Locale localeForLanguage = Locale.forLanguageTag(languageCode);
+      result.add(new Locale(languageCode));
+    }
+    return result;
+  }
 }
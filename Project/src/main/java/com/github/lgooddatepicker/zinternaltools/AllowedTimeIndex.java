@@ -0,0 +1,175 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import com.github.lgooddatepicker.optionalusertools.TimeVetoPolicy;
+import java.time.LocalTime;
+import java.util.BitSet;
+
+/**
+ * AllowedTimeIndex, This is an immutable index of the minutes of the day that are allowed by a time
+ * veto policy. This is used by the time picker spinner, so that a spinner step can jump over a
+ * vetoed range of times in a single step, instead of stopping at the edge of the vetoed range.
+ *
+ * <p>The index holds one bit for each of the 1440 minutes of the day. Every minute is checked with
+ * the veto policy once, when the index is built. Each minute is checked using the same second and
+ * nanosecond values, which are called the "nano of minute" of the index. This means that an index
+ * can be used to step any time that has the same nano of minute, which is usually zero.
+ *
+ * <p>Veto policies are allowed to change their rules at runtime. For this reason, an index only
+ * reflects the veto policy at the moment that the index was built. The owner of an index should
+ * build a new index whenever the current index might be out of date.
+ */
+public final class AllowedTimeIndex {
+
+  /** minutesPerDay, This is the number of minutes in one day. */
+  public static final int minutesPerDay = 1440;
+
+  /** nanosPerMinute, This is the number of nanoseconds in one minute. */
+  private static final long nanosPerMinute = 60_000_000_000L;
+
+  /** allowedMinutes, This has a set bit for each minute of the day that is allowed. */
+  private final BitSet allowedMinutes;
+
+  /** allowedMinuteCount, This is the number of minutes of the day that are allowed. */
+  private final int allowedMinuteCount;
+
+  /**
+   * nanoOfMinute, This is the number of nanoseconds after the start of each minute, that were used
+   * when checking the minutes of the day with the veto policy.
+   */
+  private final long nanoOfMinute;
+
+  /** vetoPolicy, This is the veto policy that was used to build this index. */
+  private final TimeVetoPolicy vetoPolicy;
+
+  /** Constructor, This is private. Indexes are created with the build() function. */
+  private AllowedTimeIndex(TimeVetoPolicy vetoPolicy, long nanoOfMinute, BitSet allowedMinutes) {
+    this.vetoPolicy = vetoPolicy;
+    this.nanoOfMinute = nanoOfMinute;
+    this.allowedMinutes = allowedMinutes;
+    this.allowedMinuteCount = allowedMinutes.cardinality();
+  }
+
+  /**
+   * build, This creates an index of the minutes of the day that are allowed by the supplied veto
+   * policy. Each minute is checked with the supplied nano of minute. (The number of nanoseconds
+   * after the start of the minute.) If the veto policy is null, then every minute is allowed.
+   */
+  public static AllowedTimeIndex build(TimeVetoPolicy vetoPolicy, long nanoOfMinute) {
+    if (nanoOfMinute < 0 || nanoOfMinute >= nanosPerMinute) {
+      throw new RuntimeException(
+          "AllowedTimeIndex.build(), The nano of minute must be between zero and the number of "
+              + "nanoseconds in one minute.");
+    }
+    BitSet allowedMinutes = new BitSet(minutesPerDay);
+    for (int minute = 0; minute < minutesPerDay; ++minute) {
+      LocalTime time = LocalTime.ofNanoOfDay((minute * nanosPerMinute) + nanoOfMinute);
+      if (!InternalUtilities.isTimeVetoed(vetoPolicy, time)) {
+        allowedMinutes.set(minute);
+      }
+    }
+    return new AllowedTimeIndex(vetoPolicy, nanoOfMinute, allowedMinutes);
+  }
+
+  /**
+   * getNanoOfMinute, This returns the number of nanoseconds after the start of a minute, for the
+   * supplied time. Times can only be stepped by an index that has the same nano of minute.
+   */
+  public static long getNanoOfMinute(LocalTime time) {
+    return time.toNanoOfDay() % nanosPerMinute;
+  }
+
+  /** getAllowedMinuteCount, This returns the number of minutes of the day that are allowed. */
+  public int getAllowedMinuteCount() {
+    return allowedMinuteCount;
+  }
+
+  /**
+   * getNextAllowedTime, This returns the first allowed time that would be reached by repeatedly
+   * adding the supplied number of minutes to the supplied time. The search wraps around midnight,
+   * in the same way as LocalTime.plusMinutes(). If no allowed time can be reached, then this
+   * returns null. If the only allowed time that can be reached is the supplied time, then the
+   * supplied time is returned.
+   *
+   * <p>When the change amount is 1 or -1, this runs in constant time. The supplied time must have
+   * the same nano of minute as this index, otherwise an exception is thrown.
+   */
+  public LocalTime getNextAllowedTime(LocalTime time, int changeAmountMinutes) {
+    if (getNanoOfMinute(time) != nanoOfMinute) {
+      throw new RuntimeException(
+          "AllowedTimeIndex.getNextAllowedTime(), The time must have the same nano of minute as "
+              + "the index.");
+    }
+    int startMinute = (int) (time.toNanoOfDay() / nanosPerMinute);
+    int step = Math.floorMod(changeAmountMinutes, minutesPerDay);
+    if (allowedMinuteCount == 0 || step == 0) {
+      return (step == 0 && allowedMinutes.get(startMinute)) ? time : null;
+    }
+    int foundMinute = -1;
+    if (step == 1) {
+      foundMinute = allowedMinutes.nextSetBit(startMinute + 1);
+      if (foundMinute < 0) {
+        foundMinute = allowedMinutes.nextSetBit(0);
+      }
+    } else if (step == minutesPerDay - 1) {
+      foundMinute = allowedMinutes.previousSetBit(startMinute - 1);
+      if (foundMinute < 0) {
+        foundMinute = allowedMinutes.previousSetBit(minutesPerDay - 1);
+      }
+    } else {
+      // Larger steps can visit each minute of the day at most once before repeating.
+      int minute = startMinute;
+      for (int i = 0; i < minutesPerDay; ++i) {
+        minute = (minute + step) % minutesPerDay;
+        if (allowedMinutes.get(minute)) {
+          foundMinute = minute;
+          break;
+        }
+        if (minute == startMinute) {
+          break;
+        }
+      }
+    }
+    if (foundMinute < 0) {
+      return null;
+    }
+    return LocalTime.ofNanoOfDay((foundMinute * nanosPerMinute) + nanoOfMinute);
+  }
+
+  /**
+   * isBuiltFor, This returns true if this index was built with the supplied veto policy, and can
+   * step the supplied time. The veto policy is compared by identity.
+   */
+  public boolean isBuiltFor(TimeVetoPolicy vetoPolicy, LocalTime time) {
+    return this.vetoPolicy == vetoPolicy && getNanoOfMinute(time) == nanoOfMinute;
+  }
+
+  /**
+   * isMinuteAllowed, This returns true if the supplied minute of the day (from 0 to 1439) was
+   * allowed by the veto policy when this index was built.
+   */
+  public boolean isMinuteAllowed(int minuteOfDay) {
+    return allowedMinutes.get(minuteOfDay);
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import java.awt.Color;
+import java.util.HashMap;
+import java.util.function.Function;
+import javax.swing.border.Border;
+import javax.swing.border.CompoundBorder;
+import javax.swing.border.EmptyBorder;
+import javax.swing.border.LineBorder;
+import javax.swing.border.MatteBorder;
+
+/**
+ * BorderCache, This class holds shared border instances for the date picker components, keyed by
+ * border color. Each settings instance owns one border cache. This is used to avoid creating new
+ * border objects each time that the calendar is redrawn, or each time that the date picker text
+ * field indicators are redrawn (for example, on every keystroke, or for every table cell).
+ *
+ * <p>The swing border classes that are used here (EmptyBorder, LineBorder, MatteBorder and
+ * CompoundBorder) do not have any setter functions, so the same border instance can safely be
+ * used by any number of components. Requesting a border that is already in the cache does not
+ * allocate any objects. The cache is cleared if it ever grows beyond maximumBordersPerKind
+ * borders of one kind, which would only happen if a very large number of colors were used.
+ *
+ * <p>The cached borders can be shared freely, but the cache itself is not synchronized. Only the
+ * settings instance that owns a border cache should request borders from it.
+ */
+public class BorderCache {
+
+  /**
+   * maximumBordersPerKind, This is the maximum number of borders of a single kind that are held in
+   * the cache. If this is exceeded, then the borders of that kind are cleared.
+   */
+  static final int maximumBordersPerKind = 64;
+
+  /**
+   * dateLabelEmptyBorder, This is the border for calendar date labels that do not have a border
+   * color. This has the same size as the line border of a date label with a border color.
+   */
+  private final EmptyBorder dateLabelEmptyBorder = new EmptyBorder(1, 1, 1, 1);
+
+  /** dateLabelLineBorders, This holds the borders for calendar date labels, keyed by color. */
+  private final HashMap<Color, Border> dateLabelLineBorders = new HashMap<>();
+
+  /**
+   * labelIndicatorDefaultBorder, This is the border for calendar panel label indicators (such as
+   * the month label, or the today label) when the mouse is not hovering over them.
+   */
+  private final CompoundBorder labelIndicatorDefaultBorder;
+
+  /**
+   * labelIndicatorHighlightBorders, This holds the borders for calendar panel label indicators
+   * when the mouse is hovering over them, keyed by color.
+   */
+  private final HashMap<Color, Border> labelIndicatorHighlightBorders = new HashMap<>();
+
+  /**
+   * labelIndicatorInnerBorder, This is the inner (padding) border of every calendar panel label
+   * indicator border.
+   */
+  private final EmptyBorder labelIndicatorInnerBorder = new EmptyBorder(3, 2, 3, 2);
+
+  /** textFieldBorders, This holds the borders for the date picker text field, keyed by color. */
+  private final HashMap<Color, Border> textFieldBorders = new HashMap<>();
+
+  /** Constructor, This creates an empty border cache. */
+  public BorderCache() {
+    labelIndicatorDefaultBorder =
+        new CompoundBorder(new EmptyBorder(1, 1, 1, 1), labelIndicatorInnerBorder);
+  }
+
+  /** clear, This removes all the color specific borders from the cache. */
+  public void clear() {
+    dateLabelLineBorders.clear();
+    labelIndicatorHighlightBorders.clear();
+    textFieldBorders.clear();
+  }
+
+  /**
+   * getDateLabelBorder, This returns the border for a calendar date label. If the border color is
+   * null, this returns a one pixel empty border. Otherwise, this returns a one pixel line border
+   * with the specified color.
+   */
+  public Border getDateLabelBorder(Color borderColorOrNull) {
+    if (borderColorOrNull == null) {
+      return dateLabelEmptyBorder;
+    }
+    return getOrCreate(dateLabelLineBorders, borderColorOrNull, LineBorder::new);
+  }
+
+  /**
+   * getLabelIndicatorBorder, This returns the border for a calendar panel label indicator. If the
+   * highlight color is null, this returns the border that is used when the mouse is not hovering
+   * over the label. Otherwise, this returns the highlighted border with the specified line color.
+   */
+  public Border getLabelIndicatorBorder(Color highlightColorOrNull) {
+    if (highlightColorOrNull == null) {
+      return labelIndicatorDefaultBorder;
+    }
+    return getOrCreate(
+        labelIndicatorHighlightBorders,
+        highlightColorOrNull,
+        color -> new CompoundBorder(new LineBorder(color), labelIndicatorInnerBorder));
+  }
+
+  /**
+   * getTextFieldBorder, This returns the border for a date picker text field, which is a one pixel
+   * matte border with the specified color, around an empty border with the standard text field
+   * margins.
+   */
+  public Border getTextFieldBorder(Color borderColor) {
+    return getOrCreate(
+        textFieldBorders,
+        borderColor,
+        color ->
+            new CompoundBorder(new MatteBorder(1, 1, 1, 1, color), new EmptyBorder(1, 3, 2, 2)));
+  }
+
+  /** getSize, This returns the number of color specific borders that are held in the cache. */
+  public int getSize() {
+    return dateLabelLineBorders.size()
+        + labelIndicatorHighlightBorders.size()
+        + textFieldBorders.size();
+  }
+
+  /**
+   * getOrCreate, This returns the border for the supplied color from the supplied map. If the map
+   * does not contain a border for the color, then a border is created and added to the map.
+   */
+  private static Border getOrCreate(
+      HashMap<Color, Border> borders,
+      Color color,
+      Function<Color, Border> borderFactory) {
+    Border border = borders.get(color);
+    if (border == null) {
+      if (borders.size() >= maximumBordersPerKind) {
+        borders.clear();
+      }
+      border = borderFactory.apply(color);
+      borders.put(color, border);
+    }
+    return border;
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * BoundedLruMap, This is a map that holds at most a fixed number of entries, in least recently used
+ * order. When a new entry would exceed the maximum size, the least recently used entry is removed.
+ * This is used by the bounded caches and memo tables in this package.
+ *
+ * <p>Reading an entry with get() also changes the order of the entries. Any map that is shared
+ * between threads must therefore only be accessed while synchronized on the map.
+ */
+class BoundedLruMap<K, V> extends LinkedHashMap<K, V> {
+
+  /** serialVersionUID, This is the serialization version of this class. */
+  private static final long serialVersionUID = 1L;
+
+  /** maximumSize, This is the maximum number of entries that will be held. */
+  private final int maximumSize;
+
+  /** Constructor, This creates an empty map that holds at most maximumSize entries. */
+  BoundedLruMap(int maximumSize) {
+    super(16, 0.75f, true);
+    this.maximumSize = maximumSize;
+  }
+
+  /** removeEldestEntry, This removes the least recently used entry when the map is too large. */
+  @Override
+  protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+    return size() > maximumSize;
+  }
+}
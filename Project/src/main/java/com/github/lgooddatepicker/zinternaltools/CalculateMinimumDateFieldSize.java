@@ -27,7 +27,10 @@ import java.awt.FontMetrics;
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
+import java.util.function.Supplier;
 import javax.swing.JTextField;
 
 /**
@@ -39,9 +42,26 @@ import javax.swing.JTextField;
  * needs to take into account the following factors: The longest (in pixels) month name in the
  * current locale, the font object for valid dates (including the font type and size), and the
  * currently set display format for AD dates.
+ *
+ * <p>Measurement results are kept in a bounded, process wide memo table, because the same
+ * calculation is repeated for every date picker that uses the same format instance, locale, and
+ * font.
  */
 public class CalculateMinimumDateFieldSize {
 
+  /** memoTableMaximumSize, This is the maximum number of results held by the memo table. */
+  public static final int memoTableMaximumSize = 256;
+
+  /**
+   * memoTable, This holds the measurement results, in least recently used order. This table is
+   * shared with CalculateMinimumTimeFieldSize. Each key is created by getMemoTableKey(). Each value
+   * holds the width of the longest date or time string (including any default padding), and the
+   * width of a single numeric character. The memo table must only be accessed while synchronized
+   * on the memo table.
+   */
+  private static final BoundedLruMap<List<Object>, int[]> memoTable =
+      new BoundedLruMap<>(memoTableMaximumSize);
+
   /**
    * getFormattedDateWidthInPixels, This returns the width (in pixels) of the longest formatted
    * date, using the supplied DateTimeFormatter instance, locale, and font.
@@ -74,6 +94,69 @@ public class CalculateMinimumDateFieldSize {
    */
   public static int getFormattedDateWidthInPixels(
       DateTimeFormatter formatCE, Locale locale, Font fontValidDate, int numberOfExtraCharacters) {
+    // Get the measurements from the memo table, or measure them if needed.
+    List<Object> key = getMemoTableKey(LocalDate.class, formatCE, locale, fontValidDate);
+    int[] measurements =
+        getMeasurements(key, () -> measureLongestDate(formatCE, locale, fontValidDate));
+    int longestDateWidth = measurements[0];
+    int singleNumericCharacterWidth = measurements[1];
+    // If requested, pad the result with space for any (programmer specified) extra characters.
+    longestDateWidth += (numberOfExtraCharacters * singleNumericCharacterWidth);
+    // Return the width of the longest formatted date, in pixels.
+    return longestDateWidth;
+  }
+
+  /** clearMemoTable, This removes all measurement results from the memo table. */
+  public static void clearMemoTable() {
+    synchronized (memoTable) {
+      memoTable.clear();
+    }
+  }
+
+  /** getMemoTableSize, This returns the number of measurement results in the memo table. */
+  public static int getMemoTableSize() {
+    synchronized (memoTable) {
+      return memoTable.size();
+    }
+  }
+
+  /**
+   * getMeasurements, This returns the measurements for the supplied memo table key. If the key is
+   * not in the memo table, then the measurements are calculated with the supplied function and
+   * added to the memo table. The measuring is done outside of the lock.
+   */
+  static int[] getMeasurements(List<Object> key, Supplier<int[]> measureFunction) {
+    int[] measurements;
+    synchronized (memoTable) {
+      measurements = memoTable.get(key);
+    }
+    if (measurements == null) {
+      measurements = measureFunction.get();
+      synchronized (memoTable) {
+        memoTable.put(key, measurements);
+      }
+    }
+    return measurements;
+  }
+
+  /**
+   * getMemoTableKey, This returns the memo table key for the supplied values. The value type
+   * (LocalDate or LocalTime) separates the date and time measurements. Formatters are compared by
+   * identity. (The string form of a formatter does not include details such as custom text maps,
+   * so two formatters with the same string form can still print different text.)
+   */
+  static List<Object> getMemoTableKey(
+      Class<?> valueType, DateTimeFormatter format, Locale locale, Font font) {
+    return Arrays.asList(valueType, format, locale, font);
+  }
+
+  /**
+   * measureLongestDate, This measures the longest formatted date for the supplied values. This
+   * returns an array that holds the width of the longest date string (including space for two
+   * extra characters), and the width of a single numeric character.
+   */
+  private static int[] measureLongestDate(
+      DateTimeFormatter formatCE, Locale locale, Font fontValidDate) {
     // Create the font metrics that will be used in the calculation.
     JTextField textField = new JTextField();
     FontMetrics fontMetrics = textField.getFontMetrics(fontValidDate);
@@ -94,10 +177,7 @@ public class CalculateMinimumDateFieldSize {
     // allows room for BC dates.
     int singleNumericCharacterWidth = fontMetrics.stringWidth("8");
     longestDateWidth += (2 * singleNumericCharacterWidth);
-    // If requested, pad the result with space for any (programmer specified) extra characters.
-    longestDateWidth += (numberOfExtraCharacters * singleNumericCharacterWidth);
-    // Return the width of the longest formatted date, in pixels.
-    return longestDateWidth;
+    return new int[] {longestDateWidth, singleNumericCharacterWidth};
   }
 
   /**
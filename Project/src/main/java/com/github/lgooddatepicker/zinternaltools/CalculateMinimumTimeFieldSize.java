@@ -26,6 +26,7 @@ import java.awt.Font;
 import java.awt.FontMetrics;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import javax.swing.JTextField;
 
 /**
@@ -37,6 +38,10 @@ import javax.swing.JTextField;
  * needs to take into account the following factors: The longest (in pixels) time in the current
  * display format, and the font object for valid times (including the font type and size). Note that
  * the locale information is built into the display format.
+ *
+ * <p>Measurement results are kept in the bounded, process wide memo table of
+ * CalculateMinimumDateFieldSize, because the same calculation is repeated for every time picker
+ * that uses the same format instance and font.
  */
 public class CalculateMinimumTimeFieldSize {
 
@@ -51,6 +56,45 @@ public class CalculateMinimumTimeFieldSize {
    */
   public static int getFormattedTimeWidthInPixels(
       DateTimeFormatter formatForDisplayTime, Font fontValidTime, int numberOfExtraCharacters) {
+    // Get the measurements from the memo table, or measure them if needed.
+    // The locale information is built into the display format.
+    List<Object> key =
+        CalculateMinimumDateFieldSize.getMemoTableKey(
+            LocalTime.class, formatForDisplayTime, null, fontValidTime);
+    int[] measurements =
+        CalculateMinimumDateFieldSize.getMeasurements(
+            key, () -> measureLongestTime(formatForDisplayTime, fontValidTime));
+    int longestTimeWidth = measurements[0];
+    int singleNumericCharacterWidth = measurements[1];
+    // If requested, pad the result with space for any (programmer specified) extra characters.
+    longestTimeWidth += (numberOfExtraCharacters * singleNumericCharacterWidth);
+    // Return the width of the longest formatted time, in pixels.
+    return longestTimeWidth;
+  }
+
+  /**
+   * clearMemoTable, This removes all measurement results from the memo table. The memo table is
+   * shared with CalculateMinimumDateFieldSize, so this also removes the date measurements.
+   */
+  public static void clearMemoTable() {
+    CalculateMinimumDateFieldSize.clearMemoTable();
+  }
+
+  /**
+   * getMemoTableSize, This returns the number of measurement results in the memo table. The memo
+   * table is shared with CalculateMinimumDateFieldSize, so this includes the date measurements.
+   */
+  public static int getMemoTableSize() {
+    return CalculateMinimumDateFieldSize.getMemoTableSize();
+  }
+
+  /**
+   * measureLongestTime, This measures the longest formatted time for the supplied values. This
+   * returns an array that holds the width of the longest time string (including space for two
+   * extra characters, and the minimum width), and the width of a single numeric character.
+   */
+  private static int[] measureLongestTime(
+      DateTimeFormatter formatForDisplayTime, Font fontValidTime) {
     // Create the font metrics that will be used in the calculation.
     JTextField textField = new JTextField();
     FontMetrics fontMetrics = textField.getFontMetrics(fontValidTime);
@@ -65,9 +109,6 @@ public class CalculateMinimumTimeFieldSize {
     longestTimeWidth += (2 * singleNumericCharacterWidth);
     // Don't return return anything less than 50 pixels by default.
     longestTimeWidth = (longestTimeWidth < 50) ? 50 : longestTimeWidth;
-    // If requested, pad the result with space for any (programmer specified) extra characters.
-    longestTimeWidth += (numberOfExtraCharacters * singleNumericCharacterWidth);
-    // Return the width of the longest formatted time, in pixels.
-    return longestTimeWidth;
+    return new int[] {longestTimeWidth, singleNumericCharacterWidth};
   }
 }
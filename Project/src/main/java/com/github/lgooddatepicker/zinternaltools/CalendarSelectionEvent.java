@@ -40,13 +40,13 @@ public class CalendarSelectionEvent {
   }
 
   /** source, This is the calendar panel that generated the event. */
-  private CalendarPanel source;
+  private final CalendarPanel source;
 
   /** newDate, This holds the value of the new selected date. */
-  private LocalDate newDate;
+  private final LocalDate newDate;
 
   /** oldDate, This holds the value of the old selected date. */
-  private LocalDate oldDate;
+  private final LocalDate oldDate;
 
   /** getSource, Returns the calendar panel that generated the event. */
   public CalendarPanel getSource() {
@@ -59,9 +59,26 @@ import javax.swing.border.LineBorder;
  * <p>ComponentListener notes: This class listens for movement in the top window of the component
  * which initiated the popup. If the topWindow moves, then the popup will be closed. This class
  * handles its own registration and de-registration of the listener with the top window component.
+ *
+ * <p>Shared window notes: A popup that is created with createInSharedWindow() does not create its
+ * own display window. Instead, it uses the hidden display window that is shared by all popups of
+ * the same top window. (See the CustomPopupHost class.) Opening a popup in a shared window avoids
+ * the cost of creating a native window each time a popup is opened. A popup in a shared window is
+ * closed normally with the hide() function. It never disposes the shared window.
  */
 public class CustomPopup extends Popup implements WindowFocusListener, ComponentListener {
 
+  /**
+   * defaultBorder, This is the border that is used when no border is supplied. The design of this
+   * border was based on the JPopupMenu border, but this border behaves better. It does not show any
+   * of the main panel through transparent areas. Borders are immutable, so this is shared by all
+   * popups.
+   */
+  private static final Border defaultBorder =
+      BorderFactory.createCompoundBorder(
+          new LineBorder(new Color(99, 130, 191)),
+          BorderFactory.createMatteBorder(1, 0, 0, 0, Color.white));
+
   /**
    * displayWindow, This is the visible window that is used with this popup. The "Popup" class does
    * not provide its own visible component. A visible component must be supplied by the
@@ -76,6 +93,12 @@ public class CustomPopup extends Popup implements WindowFocusListener, Component
    */
   private CustomPopupCloseListener optionalCustomPopupCloseListener;
 
+  /**
+   * sharedWindowHost, This is the host of the shared display window, if this popup was created with
+   * createInSharedWindow(). Otherwise this is null. This is set to null in the hide() function.
+   */
+  private CustomPopupHost sharedWindowHost = null;
+
   /**
    * topWindow, This is a reference to the top window of the component which initiated the popup.
    * This is used for registering and deregistering the window movement listener with the topWindow.
@@ -121,18 +144,7 @@ public class CustomPopup extends Popup implements WindowFocusListener, Component
     mainPanel.setLayout(new BorderLayout());
     mainPanel.add(contentsComponent, BorderLayout.CENTER);
     // Add the appropriate border to the main panel.
-    if (optionalBorder == null) {
-      // This creates and uses a default popup border.
-      // The design of this border was based on the JPopupMenu border, but this border
-      // behaves better. It does not show any of the main panel through transparent areas.
-      Border outsideBorder = new LineBorder(new Color(99, 130, 191));
-      Border insideBorder = BorderFactory.createMatteBorder(1, 0, 0, 0, Color.white);
-      Border compoundBorder = BorderFactory.createCompoundBorder(outsideBorder, insideBorder);
-      mainPanel.setBorder(compoundBorder);
-    } else {
-      // This uses the supplied border.
-      mainPanel.setBorder(optionalBorder);
-    }
+    mainPanel.setBorder((optionalBorder == null) ? defaultBorder : optionalBorder);
     // Create the display window.
     displayWindow = new JWindow(topWindow);
     // This is part of the bug fix for blank popup windows in linux.
@@ -171,6 +183,49 @@ public class CustomPopup extends Popup implements WindowFocusListener, Component
     registerListeners();
   }
 
+  /**
+   * Constructor, This creates a popup that uses the shared display window of the supplied host.
+   * This is private, popups in a shared window are created with createInSharedWindow().
+   */
+  private CustomPopup(
+      CustomPopupHost sharedWindowHost,
+      Component contentsComponent,
+      Window topWindow,
+      CustomPopupCloseListener optionalCustomPopupCloseListener,
+      Border optionalBorder) {
+    super();
+    this.topWindow = topWindow;
+    this.optionalCustomPopupCloseListener = optionalCustomPopupCloseListener;
+    this.sharedWindowHost = sharedWindowHost;
+    displayWindow =
+        sharedWindowHost.attach(
+            this, contentsComponent, (optionalBorder == null) ? defaultBorder : optionalBorder);
+  }
+
+  /**
+   * createInSharedWindow, This creates a popup that displays the supplied contents component in the
+   * display window that is shared by all the popups of the supplied top window. If another popup is
+   * currently showing in the shared window, then that popup is hidden. The parameters have the same
+   * meaning as the parameters of the public constructor. If the top window is null, then this
+   * returns a popup with its own display window, as if the public constructor was called.
+   */
+  public static CustomPopup createInSharedWindow(
+      Component contentsComponent,
+      Window topWindow,
+      CustomPopupCloseListener optionalCustomPopupCloseListener,
+      Border optionalBorder) {
+    if (topWindow == null) {
+      return new CustomPopup(
+          contentsComponent, topWindow, optionalCustomPopupCloseListener, optionalBorder);
+    }
+    return new CustomPopup(
+        CustomPopupHost.getHost(topWindow),
+        contentsComponent,
+        topWindow,
+        optionalCustomPopupCloseListener,
+        optionalBorder);
+  }
+
   /**
    * componentHidden, Part of ComponentListener. Whenever the topWindow is hidden, the popup will be
    * hidden.
@@ -220,9 +275,20 @@ public class CustomPopup extends Popup implements WindowFocusListener, Component
    * listeners for the popup window, and removes this class from the list of window movement
    * listeners for the top window. This can be called internally or externally. If this is called
    * multiple times, then only the first call will have an effect.
+   *
+   * <p>For a popup in a shared window, this hides the shared window only if this popup is still
+   * showing in it.
    */
   @Override
   public void hide() {
+    if (sharedWindowHost != null) {
+      // The shared window is only hidden if this popup is still showing in the shared window.
+      // The shared window listeners stay registered with the host.
+      sharedWindowHost.detach(this);
+      sharedWindowHost = null;
+      displayWindow = null;
+      topWindow = null;
+    }
     if (displayWindow != null) {
       displayWindow.setVisible(false);
       displayWindow.removeWindowFocusListener(this);
@@ -238,6 +304,14 @@ public class CustomPopup extends Popup implements WindowFocusListener, Component
     }
   }
 
+  /**
+   * isInSharedWindow, Returns true if this popup was created with createInSharedWindow(), and has
+   * not yet been hidden.
+   */
+  public boolean isInSharedWindow() {
+    return sharedWindowHost != null;
+  }
+
   /**
    * registerListeners, This function registers this class as a listener with the appropriate
    * components. De-registration is handled in the hide() function.
@@ -0,0 +1,284 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Window;
+import java.awt.event.ActionEvent;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.ComponentListener;
+import java.awt.event.KeyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.event.WindowFocusListener;
+import javax.swing.AbstractAction;
+import javax.swing.ActionMap;
+import javax.swing.InputMap;
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+import javax.swing.JWindow;
+import javax.swing.KeyStroke;
+import javax.swing.border.Border;
+
+/**
+ * CustomPopupHost, This holds one hidden display window for a top window, which is shared by all
+ * the custom popups that are opened from components inside that top window. This is used to avoid
+ * creating, packing, and disposing a new native window each time that a popup is opened.
+ *
+ * <p>Each time that a popup is attached to the host, the contents component of the display window
+ * is replaced with the contents of the new popup. The display window is only packed again if the
+ * preferred size of the window has changed, or if the window is not displayable. (A window stops
+ * being displayable when its owner window is disposed.)
+ *
+ * <p>The host registers its focus, component, and escape key listeners only once, when the host is
+ * created. The events are forwarded to the popup that is currently attached to the host. The host
+ * is found again by searching the component listeners of the top window, so the host does not
+ * need to be stored anywhere else, and it can be garbage collected along with the top window.
+ *
+ * <p>This class is not thread safe. It should only be used from the event dispatch thread.
+ */
+final class CustomPopupHost implements WindowFocusListener, ComponentListener {
+
+  /**
+   * currentPopup, This is the popup that is currently attached to this host, or null if the host
+   * is not currently showing a popup.
+   */
+  private CustomPopup currentPopup = null;
+
+  /**
+   * displayWindow, This is the shared window that displays the contents of the current popup. This
+   * window is owned by the top window.
+   */
+  private final JWindow displayWindow;
+
+  /**
+   * enableHideWhenFocusIsLost, This is part of the bug fix for blank popup windows in linux. See
+   * the matching field in the CustomPopup class for more information. Because the display window is
+   * shared, this is set to false each time that a popup is attached, and set to true again when the
+   * display window has been shown for that popup.
+   */
+  private boolean enableHideWhenFocusIsLost = false;
+
+  /**
+   * mainPanel, This is the panel inside the display window. This panel holds the contents
+   * component and the popup border.
+   */
+  private final JPanel mainPanel;
+
+  /**
+   * Constructor, This creates the display window for the supplied top window, and registers the
+   * listeners of this host. If the top window moves or is resized, then the current popup is
+   * hidden. This is private, hosts should be obtained with getHost().
+   */
+  private CustomPopupHost(Window topWindow) {
+    mainPanel = new JPanel();
+    mainPanel.setLayout(new BorderLayout());
+    displayWindow = new JWindow(topWindow);
+    // This is part of the bug fix for blank popup windows in linux.
+    displayWindow.addWindowListener(
+        new WindowAdapter() {
+          @Override
+          public void windowOpened(WindowEvent e) {
+            enableHideWhenFocusIsLost = true;
+          }
+        });
+    // The window is only opened once, so later popups are armed when the window is shown again.
+    displayWindow.addComponentListener(
+        new ComponentAdapter() {
+          @Override
+          public void componentShown(ComponentEvent e) {
+            enableHideWhenFocusIsLost = true;
+          }
+        });
+    displayWindow.getContentPane().add(mainPanel);
+    displayWindow.setFocusable(true);
+    // Bug Fix for Github Issue #49. See the CustomPopup constructor.
+    displayWindow.setAlwaysOnTop(true);
+    // Add the action that is needed to close the popup when the escape key is pressed.
+    String cancelName = "cancel";
+    InputMap inputMap = mainPanel.getInputMap(JComponent.WHEN_ANCESTOR_OF_FOCUSED_COMPONENT);
+    inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0), cancelName);
+    ActionMap actionMap = mainPanel.getActionMap();
+    actionMap.put(
+        cancelName,
+        new AbstractAction() {
+          @Override
+          public void actionPerformed(ActionEvent e) {
+            hideCurrentPopup();
+          }
+        });
+    // Register the listeners once. These stay registered for the lifetime of the host.
+    displayWindow.addWindowFocusListener(this);
+    topWindow.addComponentListener(this);
+  }
+
+  /**
+   * getHost, This returns the host for the supplied top window. If the top window does not have a
+   * host yet, then a host is created and registered with the top window.
+   */
+  static CustomPopupHost getHost(Window topWindow) {
+    for (ComponentListener listener : topWindow.getComponentListeners()) {
+      if (listener instanceof CustomPopupHost) {
+        return (CustomPopupHost) listener;
+      }
+    }
+    return new CustomPopupHost(topWindow);
+  }
+
+  /**
+   * attach, This makes the supplied popup the current popup of this host, and places the supplied
+   * contents component and border inside the display window. If a different popup was attached to
+   * this host, then that popup is hidden first. This returns the display window, which has not yet
+   * been made visible.
+   */
+  JWindow attach(CustomPopup popup, Component contentsComponent, Border border) {
+    if (currentPopup != null && currentPopup != popup) {
+      currentPopup.hide();
+    }
+    currentPopup = popup;
+    // This is part of the bug fix for blank popup windows in linux. A visible window will not be
+    // shown again, so the flag is only reset while the window is hidden.
+    if (!displayWindow.isVisible()) {
+      enableHideWhenFocusIsLost = false;
+    }
+    if (mainPanel.getBorder() != border) {
+      mainPanel.setBorder(border);
+    }
+    // Clear any minimum size that was set by a previous popup.
+    if (displayWindow.isMinimumSizeSet()) {
+      displayWindow.setMinimumSize(null);
+    }
+    // Replace any contents component that was left by a previous popup.
+    mainPanel.removeAll();
+    mainPanel.add(contentsComponent, BorderLayout.CENTER);
+    // Only pack the window if the window size needs to change, or if the window has no peer.
+    Dimension preferredSize = displayWindow.getPreferredSize();
+    if (!displayWindow.isDisplayable() || !preferredSize.equals(displayWindow.getSize())) {
+      displayWindow.pack();
+    }
+    displayWindow.validate();
+    return displayWindow;
+  }
+
+  /**
+   * componentHidden, Part of ComponentListener. Whenever the topWindow is hidden, the current popup
+   * will be hidden.
+   */
+  @Override
+  public void componentHidden(ComponentEvent e) {
+    hideCurrentPopup();
+  }
+
+  /**
+   * componentMoved, Part of ComponentListener. Whenever the topWindow is moved, the current popup
+   * will be hidden.
+   */
+  @Override
+  public void componentMoved(ComponentEvent e) {
+    hideCurrentPopup();
+  }
+
+  /**
+   * componentResized, Part of ComponentListener. Whenever the topWindow is resized, the current
+   * popup will be hidden.
+   */
+  @Override
+  public void componentResized(ComponentEvent e) {
+    hideCurrentPopup();
+  }
+
+  /**
+   * componentShown, Part of ComponentListener. This does nothing, it is included because all
+   * listener functions must be implemented.
+   */
+  @Override
+  public void componentShown(ComponentEvent e) {
+    // Do nothing here.
+  }
+
+  /**
+   * detach, This hides the display window if the supplied popup is the current popup of this host.
+   * Otherwise this does nothing. This is called by the CustomPopup.hide() function. The contents
+   * component is removed from the display window, so that the hidden window does not keep the
+   * contents of a closed popup in memory.
+   */
+  void detach(CustomPopup popup) {
+    if (currentPopup != popup) {
+      return;
+    }
+    currentPopup = null;
+    displayWindow.setVisible(false);
+    mainPanel.removeAll();
+  }
+
+  /** getCurrentPopup, This returns the popup that is attached to this host, or null. */
+  CustomPopup getCurrentPopup() {
+    return currentPopup;
+  }
+
+  /** getDisplayWindow, This returns the shared display window of this host. */
+  JWindow getDisplayWindow() {
+    return displayWindow;
+  }
+
+  /** hideCurrentPopup, This hides the current popup, if a popup is attached to this host. */
+  private void hideCurrentPopup() {
+    if (currentPopup != null) {
+      currentPopup.hide();
+    }
+  }
+
+  /**
+   * windowGainedFocus, Part of WindowFocusListener. This does nothing, it is included because all
+   * listener functions must be implemented.
+   */
+  @Override
+  public void windowGainedFocus(WindowEvent e) {
+    // Do nothing here.
+  }
+
+  /**
+   * windowLostFocus, Part of WindowFocusListener. Whenever the display window loses focus, the
+   * current popup will be hidden.
+   */
+  @Override
+  public void windowLostFocus(WindowEvent e) {
+    if (currentPopup == null) {
+      return;
+    }
+    // This section is part of the bug fix for blank popup windows in linux.
+    if (!enableHideWhenFocusIsLost) {
+      e.getWindow().requestFocus();
+      return;
+    }
+    // This fixes a linux-specific behavior where the focus can be "lost" by clicking a child
+    // component (inside the same panel!).
+    if (InternalUtilities.isMouseWithinComponent(displayWindow)) {
+      return;
+    }
+    hideCurrentPopup();
+  }
+}
@@ -0,0 +1,231 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import java.text.DateFormatSymbols;
+import java.time.DayOfWeek;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.FormatStyle;
+import java.time.temporal.WeekFields;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DateLocaleProfile, This class holds the default date picker settings values that are derived
+ * from a locale. This includes the week number rules, the first day of the week, the translations
+ * of the "today" and "clear" labels, the standalone month names, the short weekday labels, the
+ * default formatters, and the default parsing formatters.
+ *
+ * <p>Calculating these values is relatively expensive, and the values never change for a given
+ * locale. Profiles are therefore calculated once per locale, and shared by all settings instances
+ * that use the same locale. Profiles should be obtained with the getProfile() function. Profiles
+ * are immutable, and this class is thread safe. Any mutable values (arrays) are copied when they
+ * are returned.
+ */
+public final class DateLocaleProfile {
+
+  /** profiles, This holds the profiles that have been calculated, keyed by locale. */
+  private static final ConcurrentHashMap<Locale, DateLocaleProfile> profiles =
+      new ConcurrentHashMap<>();
+
+  /** firstDayOfWeek, This is the default first day of the week for the locale. */
+  private final DayOfWeek firstDayOfWeek;
+
+  /** formatForDatesBeforeCommonEra, This is the default format for BCE dates. */
+  private final DateTimeFormatter formatForDatesBeforeCommonEra;
+
+  /** formatForDatesCommonEra, This is the default format for CE dates. */
+  private final DateTimeFormatter formatForDatesCommonEra;
+
+  /** formatForTodayButton, This is the default format for the today button. */
+  private final DateTimeFormatter formatForTodayButton;
+
+  /** formatsForParsing, This is the unmodifiable list of default parsing formats. */
+  private final List<DateTimeFormatter> formatsForParsing;
+
+  /** locale, This is the locale of this profile. */
+  private final Locale locale;
+
+  /**
+   * shortWeekdayLabels, This holds the short weekday names in calendar display order, for each
+   * possible first day of the week. This is indexed by (firstDayOfWeek.getValue() - 1). Each entry
+   * is an unmodifiable list of seven labels, which starts with the label for that first day.
+   */
+  private final List<List<String>> shortWeekdayLabels;
+
+  /** standaloneLongMonthNames, This holds the standalone long month names. Never returned. */
+  private final String[] standaloneLongMonthNames;
+
+  /** standaloneShortMonthNames, This holds the standalone short month names. Never returned. */
+  private final String[] standaloneShortMonthNames;
+
+  /** translationClear, This is the default translation of the "clear" label. */
+  private final String translationClear;
+
+  /** translationToday, This is the default translation of the "today" label. */
+  private final String translationToday;
+
+  /** weekNumberRules, This holds the default week number rules for the locale. */
+  private final WeekFields weekNumberRules;
+
+  /**
+   * Constructor, This calculates all the values of a profile for the supplied locale. This
+   * constructor is private. Profiles should be obtained with the getProfile() function.
+   */
+  private DateLocaleProfile(Locale locale) {
+    this.locale = locale;
+    // Get the default week number rules, and the first day of the week.
+    weekNumberRules = WeekFields.of(locale);
+    firstDayOfWeek = weekNumberRules.getFirstDayOfWeek();
+    // Get the default "today" and "clear" translations for the locale.
+    TranslationSource.Translations translations = TranslationSource.getTranslations(locale);
+    translationToday = translations.getToday("Today");
+    translationClear = translations.getClear("Clear");
+    // Get the default standalone month names for the locale.
+    standaloneLongMonthNames = ExtraDateStrings.getDefaultStandaloneLongMonthNamesForLocale(locale);
+    standaloneShortMonthNames =
+        ExtraDateStrings.getDefaultStandaloneShortMonthNamesForLocale(locale);
+    // Get the short weekday labels in display order, for each possible first day of the week.
+    // The DateFormatSymbols weekday array is indexed from 1 (Sunday) to 7 (Saturday).
+    String[] localShortDaysOfWeek = DateFormatSymbols.getInstance(locale).getShortWeekdays();
+    ArrayList<List<String>> weekdayLabelLists = new ArrayList<>(7);
+    for (DayOfWeek firstDay : DayOfWeek.values()) {
+      String[] labels = new String[7];
+      for (int column = 0; column < 7; ++column) {
+        int isoDayOfWeek = firstDay.plus(column).getValue();
+        labels[column] = localShortDaysOfWeek[(isoDayOfWeek % 7) + 1];
+      }
+      weekdayLabelLists.add(Collections.unmodifiableList(Arrays.asList(labels)));
+    }
+    shortWeekdayLabels = Collections.unmodifiableList(weekdayLabelLists);
+    // Create default formatters for displaying the today button, and AD and BC dates, in
+    // the specified locale.
+    formatForTodayButton = DateTimeFormatter.ofLocalizedDate(FormatStyle.MEDIUM).withLocale(locale);
+    formatForDatesCommonEra = InternalUtilities.generateDefaultFormatterCE(locale);
+    formatForDatesBeforeCommonEra = InternalUtilities.generateDefaultFormatterBCE(locale);
+    // Create an array of all the FormatStyle enum values, from short to long.
+    FormatStyle[] allFormatStyles = {
+      FormatStyle.SHORT, FormatStyle.MEDIUM, FormatStyle.LONG, FormatStyle.FULL
+    };
+    // Create a set of default parsing formatters for the specified locale.
+    ArrayList<DateTimeFormatter> parsingFormats = new ArrayList<>();
+    for (FormatStyle formatStyle : allFormatStyles) {
+      DateTimeFormatter parseFormat =
+          new DateTimeFormatterBuilder()
+              .parseLenient()
+              .parseCaseInsensitive()
+              .appendLocalized(formatStyle, null)
+              .toFormatter(locale);
+      parsingFormats.add(parseFormat);
+    }
+    // Get any common extra parsing formats for the specified locale, and append them to
+    // the list of parsingFormatters.
+    parsingFormats.addAll(ExtraDateStrings.getExtraParsingFormatsForLocale(locale));
+    formatsForParsing = Collections.unmodifiableList(parsingFormats);
+  }
+
+  /**
+   * getProfile, This returns the profile for the supplied locale. The profile is calculated the
+   * first time that a locale is requested, and the same profile instance is returned for every
+   * later request. The locale must not be null.
+   */
+  public static DateLocaleProfile getProfile(Locale locale) {
+    if (locale == null) {
+      throw new RuntimeException("DateLocaleProfile.getProfile(), The locale must not be null.");
+    }
+    return profiles.computeIfAbsent(locale, DateLocaleProfile::new);
+  }
+
+  /** getFirstDayOfWeek, This returns the default first day of the week for the locale. */
+  public DayOfWeek getFirstDayOfWeek() {
+    return firstDayOfWeek;
+  }
+
+  /** getFormatForDatesBeforeCommonEra, This returns the default format for BCE dates. */
+  public DateTimeFormatter getFormatForDatesBeforeCommonEra() {
+    return formatForDatesBeforeCommonEra;
+  }
+
+  /** getFormatForDatesCommonEra, This returns the default format for CE dates. */
+  public DateTimeFormatter getFormatForDatesCommonEra() {
+    return formatForDatesCommonEra;
+  }
+
+  /** getFormatForTodayButton, This returns the default format for the today button. */
+  public DateTimeFormatter getFormatForTodayButton() {
+    return formatForTodayButton;
+  }
+
+  /**
+   * getFormatsForParsing, This returns an unmodifiable list of the default parsing formats. Callers
+   * that need a modifiable list should copy the returned list.
+   */
+  public List<DateTimeFormatter> getFormatsForParsing() {
+    return formatsForParsing;
+  }
+
+  /** getLocale, This returns the locale of this profile. */
+  public Locale getLocale() {
+    return locale;
+  }
+
+  /**
+   * getShortWeekdayLabels, This returns the short weekday names of the locale, in the order that
+   * they are displayed on a calendar that starts with the supplied first day of the week. The
+   * returned list is unmodifiable, and the same list instance is returned for each call with the
+   * same first day of the week.
+   */
+  public List<String> getShortWeekdayLabels(DayOfWeek firstDayOfWeek) {
+    return shortWeekdayLabels.get(firstDayOfWeek.getValue() - 1);
+  }
+
+  /** getStandaloneLongMonthNames, This returns a new copy of the standalone long month names. */
+  public String[] getStandaloneLongMonthNames() {
+    return standaloneLongMonthNames.clone();
+  }
+
+  /** getStandaloneShortMonthNames, This returns a new copy of the standalone short month names. */
+  public String[] getStandaloneShortMonthNames() {
+    return standaloneShortMonthNames.clone();
+  }
+
+  /** getTranslationClear, This returns the default translation of the "clear" label. */
+  public String getTranslationClear() {
+    return translationClear;
+  }
+
+  /** getTranslationToday, This returns the default translation of the "today" label. */
+  public String getTranslationToday() {
+    return translationToday;
+  }
+
+  /** getWeekNumberRules, This returns the default week number rules for the locale. */
+  public WeekFields getWeekNumberRules() {
+    return weekNumberRules;
+  }
+}
@@ -23,8 +23,15 @@
 package com.github.lgooddatepicker.zinternaltools;
 
 import com.github.lgooddatepicker.optionalusertools.DateInterval;
-import com.github.lgooddatepicker.optionalusertools.DateVetoPolicy;
+import com.github.lgooddatepicker.optionalusertools.RangeDateVetoPolicy;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * DateVetoPolicyMinimumMaximumDate, This class implements a veto policy that can set a minimum and
@@ -34,8 +41,42 @@ import java.time.LocalDate;
  * then there will be no limiting date on the associated side of the date range. Only one of the two
  * limiting dates can be null. If both dates are supplied, then the lastAllowedDate must be greater
  * than or equal to the firstAllowedDate.
+ *
+ * <p>Additional rules can be combined with the minimum and maximum dates: A set of allowed days of
+ * the week, a set of individually vetoed dates, and a list of vetoed date intervals. A date is
+ * allowed only if it is allowed by every rule.
+ *
+ * <p>The vetoed dates and vetoed intervals are compiled into a sorted list of merged, non
+ * overlapping runs of vetoed dates. The compiled runs are used to answer questions about many
+ * dates at once, without checking each date individually. For example, this can find the next or
+ * previous allowed date, count the allowed dates in an interval, or resolve all the displayed
+ * dates of a calendar month. The runs are compiled again (when needed) after the rules are
+ * changed. The compiled runs are published safely, so a policy whose rules are no longer being
+ * changed can be queried from more than one thread.
  */
-public class DateVetoPolicyMinimumMaximumDate implements DateVetoPolicy {
+public class DateVetoPolicyMinimumMaximumDate implements RangeDateVetoPolicy {
+
+  /** allDaysOfWeekMask, This is the days of week mask that allows every day of the week. */
+  private static final int allDaysOfWeekMask = 0x7F;
+
+  /** minimumEpochDay, This is the epoch day of LocalDate.MIN. */
+  private static final long minimumEpochDay = LocalDate.MIN.toEpochDay();
+
+  /** maximumEpochDay, This is the epoch day of LocalDate.MAX. */
+  private static final long maximumEpochDay = LocalDate.MAX.toEpochDay();
+
+  /**
+   * allowedDaysOfWeekMask, This has one bit for each day of the week that is allowed. The bit
+   * index of a day of the week is equal to DayOfWeek.ordinal(). By default all days are allowed.
+   */
+  private int allowedDaysOfWeekMask = allDaysOfWeekMask;
+
+  /**
+   * compiledRuns, This holds the compiled runs of vetoed dates. This is null if the runs need to be
+   * compiled again. The compiled runs are immutable, and are published through this volatile field,
+   * so a thread that reads the field always sees a complete set of runs.
+   */
+  private volatile CompiledRuns compiledRuns = null;
 
   /**
    * firstAllowedDate, This is the first date that will be allowed. If this is null, then there will
@@ -49,6 +90,13 @@ public class DateVetoPolicyMinimumMaximumDate implements DateVetoPolicy {
    */
   private LocalDate lastAllowedDate = null;
 
+  /**
+   * vetoedRuns, This holds the vetoed dates and the vetoed intervals that have been added to this
+   * policy, in the order that they were added. Each element holds the first and the last epoch day
+   * of one run of vetoed dates.
+   */
+  private final ArrayList<long[]> vetoedRuns = new ArrayList<>();
+
   /**
    * Constructor. Pass in the first and the last allowed date. If one of the values is null, then
    * there will be no limiting date on the associated side of the date range. Only one of the two
@@ -59,11 +107,199 @@ public class DateVetoPolicyMinimumMaximumDate implements DateVetoPolicy {
     setDateRangeLimits(firstAllowedDate, lastAllowedDate);
   }
 
+  /**
+   * addVetoedDate, This adds a single date that will be vetoed, regardless of the other rules of
+   * this policy. The date must not be null.
+   */
+  public void addVetoedDate(LocalDate date) {
+    if (date == null) {
+      throw new RuntimeException(
+          "DateVetoPolicyMinimumMaximumDate.addVetoedDate(), The date must not be null.");
+    }
+    long epochDay = date.toEpochDay();
+    vetoedRuns.add(new long[] {epochDay, epochDay});
+    compiledRuns = null;
+  }
+
+  /**
+   * addVetoedDates, This adds a group of dates that will be vetoed, regardless of the other rules
+   * of this policy. The collection must not contain null dates.
+   */
+  public void addVetoedDates(Collection<LocalDate> dates) {
+    for (LocalDate date : dates) {
+      addVetoedDate(date);
+    }
+  }
+
+  /**
+   * addVetoedInterval, This adds an interval of dates that will be vetoed, regardless of the other
+   * rules of this policy. Both dates of the interval are vetoed. The interval must contain two non
+   * null dates, and the first date must not be after the last date.
+   */
+  public void addVetoedInterval(DateInterval interval) {
+    if (interval == null
+        || interval.firstDate == null
+        || interval.lastDate == null
+        || interval.lastDate.isBefore(interval.firstDate)) {
+      throw new RuntimeException(
+          "DateVetoPolicyMinimumMaximumDate.addVetoedInterval(), The interval must contain two"
+              + " non-null dates, and the first date must not be after the last date.");
+    }
+    vetoedRuns.add(new long[] {interval.firstDate.toEpochDay(), interval.lastDate.toEpochDay()});
+    compiledRuns = null;
+  }
+
+  /**
+   * clearVetoedDates, This removes all the vetoed dates and vetoed intervals that were added to
+   * this policy. The date range limits and the allowed days of the week are not changed.
+   */
+  public void clearVetoedDates() {
+    vetoedRuns.clear();
+    compiledRuns = null;
+  }
+
+  /**
+   * countAllowedDates, This returns the number of allowed dates inside the supplied interval,
+   * including both the first and the last date of the interval. A null date in the interval means
+   * that the interval has no limit on that side. This does not check each date individually.
+   */
+  public long countAllowedDates(DateInterval interval) {
+    long first = Math.max(getFirstEpochDay(), getEpochDayOrDefault(interval.firstDate, true));
+    long last = Math.min(getLastEpochDay(), getEpochDayOrDefault(interval.lastDate, false));
+    if (first > last) {
+      return 0;
+    }
+    CompiledRuns runs = compileIfNeeded();
+    long count = countAllowedDaysOfWeek(first, last);
+    for (int i = Math.max(0, runs.findRunIndex(first)); i < runs.firstEpochDays.length; ++i) {
+      if (runs.firstEpochDays[i] > last) {
+        break;
+      }
+      long runFirst = Math.max(first, runs.firstEpochDays[i]);
+      long runLast = Math.min(last, runs.lastEpochDays[i]);
+      if (runFirst <= runLast) {
+        count -= countAllowedDaysOfWeek(runFirst, runLast);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * getAllowedDatesInInterval, This implements the RangeDateVetoPolicy interface. This returns a
+   * BitSet with a set bit for each allowed date inside the supplied interval. The bit index of a
+   * date is equal to the number of days between the first date of the interval and that date.
+   *
+   * <p>If this is a subclass, then each date is checked with isDateAllowed(), because a subclass
+   * may override isDateAllowed() with additional rules.
+   */
+  @Override
+  public BitSet getAllowedDatesInInterval(DateInterval interval) {
+    long intervalFirst = interval.firstDate.toEpochDay();
+    int dateCount = (int) (interval.lastDate.toEpochDay() - intervalFirst + 1);
+    BitSet allowedDates = new BitSet(dateCount);
+    if (getClass() != DateVetoPolicyMinimumMaximumDate.class) {
+      for (int i = 0; i < dateCount; ++i) {
+        if (isDateAllowed(LocalDate.ofEpochDay(intervalFirst + i))) {
+          allowedDates.set(i);
+        }
+      }
+      return allowedDates;
+    }
+    long first = Math.max(getFirstEpochDay(), intervalFirst);
+    long last = Math.min(getLastEpochDay(), intervalFirst + dateCount - 1);
+    if (first > last) {
+      return allowedDates;
+    }
+    // Set the dates that are inside the range limits, and that have an allowed day of the week.
+    for (long epochDay = first; epochDay <= last; ++epochDay) {
+      if (isDayOfWeekAllowed(epochDay)) {
+        allowedDates.set((int) (epochDay - intervalFirst));
+      }
+    }
+    // Clear the vetoed runs.
+    CompiledRuns runs = compileIfNeeded();
+    for (int i = Math.max(0, runs.findRunIndex(first)); i < runs.firstEpochDays.length; ++i) {
+      if (runs.firstEpochDays[i] > last) {
+        break;
+      }
+      long runFirst = Math.max(first, runs.firstEpochDays[i]);
+      long runLast = Math.min(last, runs.lastEpochDays[i]);
+      if (runFirst <= runLast) {
+        allowedDates.clear((int) (runFirst - intervalFirst), (int) (runLast - intervalFirst + 1));
+      }
+    }
+    return allowedDates;
+  }
+
+  /**
+   * getAllowedDaysOfWeek, This returns a new set that contains the days of the week that are
+   * allowed by this policy.
+   */
+  public Set<DayOfWeek> getAllowedDaysOfWeek() {
+    EnumSet<DayOfWeek> result = EnumSet.noneOf(DayOfWeek.class);
+    for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+      if ((allowedDaysOfWeekMask & (1 << dayOfWeek.ordinal())) != 0) {
+        result.add(dayOfWeek);
+      }
+    }
+    return result;
+  }
+
   /** getDateRangeLimits, This returns the currently used date limits, as a DateInterval object. */
   public DateInterval getDateRangeLimits() {
     return new DateInterval(firstAllowedDate, lastAllowedDate);
   }
 
+  /**
+   * getNextAllowedDate, This returns the first allowed date that is equal to or after the supplied
+   * date. If there is no such date, then this returns null. This skips over each vetoed run with a
+   * single step, instead of checking each vetoed date individually.
+   */
+  public LocalDate getNextAllowedDate(LocalDate date) {
+    if (allowedDaysOfWeekMask == 0) {
+      return null;
+    }
+    CompiledRuns runs = compileIfNeeded();
+    long last = getLastEpochDay();
+    long epochDay = Math.max(getFirstEpochDay(), date.toEpochDay());
+    while (epochDay <= last) {
+      int runIndex = runs.findRunIndex(epochDay);
+      if (runIndex >= 0 && epochDay <= runs.lastEpochDays[runIndex]) {
+        epochDay = runs.lastEpochDays[runIndex] + 1;
+      } else if (!isDayOfWeekAllowed(epochDay)) {
+        ++epochDay;
+      } else {
+        return LocalDate.ofEpochDay(epochDay);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * getPreviousAllowedDate, This returns the last allowed date that is equal to or before the
+   * supplied date. If there is no such date, then this returns null. This skips over each vetoed
+   * run with a single step, instead of checking each vetoed date individually.
+   */
+  public LocalDate getPreviousAllowedDate(LocalDate date) {
+    if (allowedDaysOfWeekMask == 0) {
+      return null;
+    }
+    CompiledRuns runs = compileIfNeeded();
+    long first = getFirstEpochDay();
+    long epochDay = Math.min(getLastEpochDay(), date.toEpochDay());
+    while (epochDay >= first) {
+      int runIndex = runs.findRunIndex(epochDay);
+      if (runIndex >= 0 && epochDay <= runs.lastEpochDays[runIndex]) {
+        epochDay = runs.firstEpochDays[runIndex] - 1;
+      } else if (!isDayOfWeekAllowed(epochDay)) {
+        --epochDay;
+      } else {
+        return LocalDate.ofEpochDay(epochDay);
+      }
+    }
+    return null;
+  }
+
   /**
    * isDateAllowed, This implements the DateVetoPolicy interface. This returns true if the date is
    * allowed, otherwise this returns false. The value of null will never be passed to this function,
@@ -77,7 +313,33 @@ public class DateVetoPolicyMinimumMaximumDate implements DateVetoPolicy {
     if ((lastAllowedDate != null) && (date.isAfter(lastAllowedDate))) {
       return false;
     }
-    return true;
+    long epochDay = date.toEpochDay();
+    if (!isDayOfWeekAllowed(epochDay)) {
+      return false;
+    }
+    if (vetoedRuns.isEmpty()) {
+      return true;
+    }
+    CompiledRuns runs = compileIfNeeded();
+    int runIndex = runs.findRunIndex(epochDay);
+    return (runIndex < 0 || epochDay > runs.lastEpochDays[runIndex]);
+  }
+
+  /**
+   * setAllowedDaysOfWeek, This sets the days of the week that are allowed by this policy. Dates on
+   * any other day of the week will be vetoed. If this is null, then all days of the week are
+   * allowed. By default, all days of the week are allowed.
+   */
+  public void setAllowedDaysOfWeek(Set<DayOfWeek> allowedDaysOfWeek) {
+    if (allowedDaysOfWeek == null) {
+      allowedDaysOfWeekMask = allDaysOfWeekMask;
+      return;
+    }
+    int mask = 0;
+    for (DayOfWeek dayOfWeek : allowedDaysOfWeek) {
+      mask |= (1 << dayOfWeek.ordinal());
+    }
+    allowedDaysOfWeekMask = mask;
   }
 
   /** setDateRangeLimits, This sets the currently used date limits. */
@@ -100,4 +362,110 @@ public class DateVetoPolicyMinimumMaximumDate implements DateVetoPolicy {
     this.firstAllowedDate = firstAllowedDate;
     this.lastAllowedDate = lastAllowedDate;
   }
+
+  /**
+   * compileIfNeeded, This sorts and merges the vetoed dates and vetoed intervals into runs of
+   * vetoed dates, if the runs are not already compiled. Overlapping and adjacent runs are merged.
+   * This returns the compiled runs.
+   */
+  private CompiledRuns compileIfNeeded() {
+    CompiledRuns result = compiledRuns;
+    if (result != null) {
+      return result;
+    }
+    long[][] runs = vetoedRuns.toArray(new long[vetoedRuns.size()][]);
+    Arrays.sort(runs, (a, b) -> Long.compare(a[0], b[0]));
+    long[] firsts = new long[runs.length];
+    long[] lasts = new long[runs.length];
+    int count = 0;
+    for (long[] run : runs) {
+      if (count > 0 && run[0] <= lasts[count - 1] + 1) {
+        lasts[count - 1] = Math.max(lasts[count - 1], run[1]);
+      } else {
+        firsts[count] = run[0];
+        lasts[count] = run[1];
+        ++count;
+      }
+    }
+    result = new CompiledRuns(Arrays.copyOf(firsts, count), Arrays.copyOf(lasts, count));
+    compiledRuns = result;
+    return result;
+  }
+
+  /**
+   * countAllowedDaysOfWeek, This returns the number of dates from the first epoch day to the last
+   * epoch day (inclusive), that fall on an allowed day of the week. This ignores all other rules.
+   */
+  private long countAllowedDaysOfWeek(long firstEpochDay, long lastEpochDay) {
+    long dateCount = lastEpochDay - firstEpochDay + 1;
+    long count = (dateCount / 7) * Integer.bitCount(allowedDaysOfWeekMask);
+    for (long i = 0; i < dateCount % 7; ++i) {
+      if (isDayOfWeekAllowed(firstEpochDay + i)) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  /** getFirstEpochDay, This returns the epoch day of the first date that can be allowed. */
+  private long getFirstEpochDay() {
+    return getEpochDayOrDefault(firstAllowedDate, true);
+  }
+
+  /** getLastEpochDay, This returns the epoch day of the last date that can be allowed. */
+  private long getLastEpochDay() {
+    return getEpochDayOrDefault(lastAllowedDate, false);
+  }
+
+  /**
+   * isDayOfWeekAllowed, This returns true if the date with the supplied epoch day falls on an
+   * allowed day of the week. (The epoch day 0 was a Thursday.)
+   */
+  private boolean isDayOfWeekAllowed(long epochDay) {
+    int dayOfWeekOrdinal = (int) Math.floorMod(epochDay + 3, 7L);
+    return (allowedDaysOfWeekMask & (1 << dayOfWeekOrdinal)) != 0;
+  }
+
+  /**
+   * getEpochDayOrDefault, This returns the epoch day of the supplied date. If the date is null,
+   * then this returns the epoch day of LocalDate.MIN (for a first date), or the epoch day of
+   * LocalDate.MAX (for a last date).
+   */
+  private static long getEpochDayOrDefault(LocalDate date, boolean isFirstDate) {
+    if (date == null) {
+      return (isFirstDate) ? minimumEpochDay : maximumEpochDay;
+    }
+    return date.toEpochDay();
+  }
+
+  /**
+   * CompiledRuns, This holds an immutable set of compiled runs of vetoed dates. The runs are sorted
+   * in ascending order, and do not overlap.
+   */
+  private static final class CompiledRuns {
+
+    /** firstEpochDays, This holds the first epoch day of each run. */
+    final long[] firstEpochDays;
+
+    /**
+     * lastEpochDays, This holds the last epoch day of each run. Each element matches the element
+     * with the same index in firstEpochDays.
+     */
+    final long[] lastEpochDays;
+
+    /** Constructor. The supplied arrays must not be changed after they are supplied. */
+    CompiledRuns(long[] firstEpochDays, long[] lastEpochDays) {
+      this.firstEpochDays = firstEpochDays;
+      this.lastEpochDays = lastEpochDays;
+    }
+
+    /**
+     * findRunIndex, This returns the index of the last run that starts on or before the supplied
+     * epoch day, or -1 if every run starts after the supplied epoch day.
+     */
+    int findRunIndex(long epochDay) {
+      int index = Arrays.binarySearch(firstEpochDays, epochDay);
+      return (index >= 0) ? index : (-index - 2);
+    }
+  }
 }
@@ -27,6 +27,7 @@ import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.FormatStyle;
 import java.util.ArrayList;
 import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * ExtraTimeStrings, This class holds extra time strings. This includes: # Formats for parsing times
@@ -40,6 +41,13 @@ public class ExtraTimeStrings {
    */
   private static final String[] extraParsingFormatsForLanguage_en = {"h:ma", "h.ma", "ha"};
 
+  /**
+   * defaultDisplayFormats, This holds the default display time formatter for each locale that has
+   * been requested.
+   */
+  private static final ConcurrentHashMap<Locale, DateTimeFormatter> defaultDisplayFormats =
+      new ConcurrentHashMap<>();
+
   /**
    * getExtraTimeParsingFormatsForLocale, This will return a list of extra parsing formatters for
    * the specified locale. If no extra formatters are found, then this will return an empty list.
@@ -77,7 +85,30 @@ public class ExtraTimeStrings {
     return extraParsingFormatters;
   }
 
+  /**
+   * getDefaultFormatForDisplayTime, This returns the default format for displaying times in the
+   * specified locale. DateTimeFormatter instances are immutable, so a single formatter is shared
+   * for each locale. (Sharing the formatter also lets the time pickers of one locale share the
+   * memoized minimum text field width.)
+   */
   public static DateTimeFormatter getDefaultFormatForDisplayTime(Locale locale) {
+    return defaultDisplayFormats.computeIfAbsent(
+        locale, ExtraTimeStrings::createDefaultFormatForDisplayTime);
+  }
+
+  /**
+   * getDefaultFormatForMenuTimes, This returns the default format for the times in the time menu,
+   * for the specified locale. This is the same shared formatter as the default display format.
+   */
+  public static DateTimeFormatter getDefaultFormatForMenuTimes(Locale locale) {
+    return getDefaultFormatForDisplayTime(locale);
+  }
+
+  /**
+   * createDefaultFormatForDisplayTime, This creates a new default format for displaying times in
+   * the specified locale.
+   */
+  private static DateTimeFormatter createDefaultFormatForDisplayTime(Locale locale) {
     DateTimeFormatter format =
         new DateTimeFormatterBuilder()
             .parseLenient()
@@ -95,8 +126,4 @@ public class ExtraTimeStrings {
     }
     return format;
   }
-
-  public static DateTimeFormatter getDefaultFormatForMenuTimes(Locale locale) {
-    return getDefaultFormatForDisplayTime(locale);
-  }
 }
@@ -0,0 +1,195 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import java.awt.Canvas;
+import java.awt.Component;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.font.FontRenderContext;
+import java.text.DateFormatSymbols;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+/**
+ * FontMeasurementCache, This class holds a shared cache of text measurements that are used for
+ * sizing the calendar panel components. The measured texts only depend on the font, the locale, and
+ * the font render context, so the measurements do not need to be repeated each time that a
+ * calendar is redrawn. (For example, when the user navigates between months.)
+ *
+ * <p>All the fields and functions are static. The Font, Locale, and FontRenderContext classes are
+ * immutable, so they are safe to use as cache keys. The cache is limited to maximumSize entries.
+ * If that size is exceeded, the least recently used measurement is removed. This class is thread
+ * safe.
+ */
+public class FontMeasurementCache {
+
+  /** maximumSize, This is the maximum number of measurements that are kept in the cache. */
+  public static final int maximumSize = 500;
+
+  /**
+   * cache, This holds the measurements, keyed by measurement type, text, font, locale, and font
+   * render context, in least recently used order. The cache must only be accessed while
+   * synchronized on the cache.
+   */
+  private static final BoundedLruMap<MeasurementKey, Integer> cache =
+      new BoundedLruMap<>(maximumSize);
+
+  /** measurementCanvas, This supplies font metrics that do not depend on any visible component. */
+  private static final Canvas measurementCanvas = new Canvas();
+
+  /**
+   * getFontHeight, This returns the standard height of a line of text in the supplied font, in
+   * pixels.
+   */
+  public static int getFontHeight(Font font) {
+    return getMeasurement("fontHeight", null, font, null, null, metrics -> metrics.getHeight());
+  }
+
+  /**
+   * getLongestMonthNameWidth, This returns the width in pixels of the longest full month name of
+   * the supplied locale, as supplied by DateFormatSymbols.getMonths(), in the supplied font.
+   */
+  public static int getLongestMonthNameWidth(Font font, Locale locale) {
+    return getMeasurement(
+        "longestMonthName",
+        null,
+        font,
+        locale,
+        null,
+        metrics -> {
+          String[] allLocalMonths = DateFormatSymbols.getInstance(locale).getMonths();
+          int longestMonthPixels = 0;
+          for (String month : allLocalMonths) {
+            longestMonthPixels = Math.max(longestMonthPixels, metrics.stringWidth(month));
+          }
+          return longestMonthPixels;
+        });
+  }
+
+  /**
+   * getTextWidth, This returns the width in pixels of the supplied text in the supplied font. If
+   * the measurement is not found in the cache, then the font metrics of the optional measuring
+   * component are used. If no component is supplied, then font metrics that do not depend on any
+   * visible component are used.
+   */
+  public static int getTextWidth(Font font, String text, Component optionalMeasuringComponent) {
+    return getMeasurement(
+        "text",
+        text,
+        font,
+        null,
+        optionalMeasuringComponent,
+        metrics -> metrics.stringWidth(text));
+  }
+
+  /** clear, This removes all measurements from the cache. */
+  public static void clear() {
+    synchronized (cache) {
+      cache.clear();
+    }
+  }
+
+  /** getSize, This returns the number of measurements that are currently in the cache. */
+  public static int getSize() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  /**
+   * getMeasurement, This returns the cached measurement for the supplied key values. If the
+   * measurement is not cached, then it is calculated with the supplied function, and saved.
+   *
+   * <p>The font render context of the measuring component is part of the key, because components
+   * with different antialiasing or fractional metrics settings can measure different widths. (The
+   * font metrics instances are cached by the toolkit, so getting them does not measure anything.)
+   */
+  private static int getMeasurement(
+      String measurementType,
+      String textOrNull,
+      Font font,
+      Locale localeOrNull,
+      Component optionalMeasuringComponent,
+      ToIntFunction<FontMetrics> measurementFunction) {
+    Component measuringComponent =
+        (optionalMeasuringComponent == null) ? measurementCanvas : optionalMeasuringComponent;
+    FontMetrics metrics = measuringComponent.getFontMetrics(font);
+    MeasurementKey key =
+        new MeasurementKey(
+            measurementType, textOrNull, font, localeOrNull, metrics.getFontRenderContext());
+    Integer result;
+    synchronized (cache) {
+      result = cache.get(key);
+    }
+    if (result == null) {
+      result = measurementFunction.applyAsInt(metrics);
+      synchronized (cache) {
+        cache.put(key, result);
+      }
+    }
+    return result;
+  }
+
+  /** MeasurementKey, This is the cache key of a single measurement. */
+  private static final class MeasurementKey {
+
+    private final String measurementType;
+    private final String text;
+    private final Font font;
+    private final Locale locale;
+    private final FontRenderContext renderContext;
+
+    MeasurementKey(
+        String measurementType,
+        String text,
+        Font font,
+        Locale locale,
+        FontRenderContext renderContext) {
+      this.measurementType = measurementType;
+      this.text = text;
+      this.font = font;
+      this.locale = locale;
+      this.renderContext = renderContext;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof MeasurementKey)) {
+        return false;
+      }
+      MeasurementKey other = (MeasurementKey) obj;
+      return measurementType.equals(other.measurementType)
+          && Objects.equals(text, other.text)
+          && Objects.equals(font, other.font)
+          && Objects.equals(locale, other.locale)
+          && Objects.equals(renderContext, other.renderContext);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(measurementType, text, font, locale, renderContext);
+    }
+  }
+}
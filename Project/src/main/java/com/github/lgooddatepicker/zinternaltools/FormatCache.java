@@ -0,0 +1,133 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import java.util.function.Function;
+
+/**
+ * FormatCache, This class holds a bounded cache of formatted strings, keyed by the value that was
+ * formatted. This is used to avoid formatting the same date or time values repeatedly, for example
+ * when a table with many date cells is repainted.
+ *
+ * <p>When the cache is full, the least recently used entry is removed. The cache does not know when
+ * the underlying format has changed. The owner of the cache must call clear() whenever a format
+ * setting or the locale is changed. This class also keeps hit and miss counters, which can be used
+ * to judge the effectiveness of the cache.
+ *
+ * <p>Every call to get() can reorder the entries, so a format cache must not be shared between
+ * threads without external synchronization.
+ */
+public class FormatCache<T> {
+
+  /**
+   * defaultMaximumSize, This is the default maximum number of formatted strings that are held by a
+   * format cache.
+   */
+  public static final int defaultMaximumSize = 1000;
+
+  /** cache, This holds the formatted strings, in least recently used order. */
+  private final BoundedLruMap<T, String> cache;
+
+  /** formatFunction, This is used to format any values that are not found in the cache. */
+  private final Function<T, String> formatFunction;
+
+  /** hitCount, This holds the number of requests that were answered from the cache. */
+  private long hitCount = 0;
+
+  /** maximumSize, This is the maximum number of formatted strings that will be held. */
+  private final int maximumSize;
+
+  /** missCount, This holds the number of requests that required formatting a value. */
+  private long missCount = 0;
+
+  /**
+   * Constructor, This creates a format cache with the specified maximum size, that uses the
+   * supplied function to format values that are not found in the cache.
+   */
+  public FormatCache(int maximumSize, Function<T, String> formatFunction) {
+    if (maximumSize < 1) {
+      throw new RuntimeException(
+          "FormatCache.FormatCache(), The maximum size must be greater than zero.");
+    }
+    this.maximumSize = maximumSize;
+    this.formatFunction = formatFunction;
+    this.cache = new BoundedLruMap<>(maximumSize);
+  }
+
+  /**
+   * clear, This removes all the formatted strings from the cache. This should be called whenever
+   * the format that is used by the format function has changed. The hit and miss counters are not
+   * changed by this function.
+   */
+  public void clear() {
+    cache.clear();
+  }
+
+  /**
+   * getFormattedString, This returns the formatted string for the supplied value. If the value is
+   * in the cache, the cached string is returned. Otherwise, the value is formatted and the result
+   * is added to the cache. Null values are never cached, and always return an empty string.
+   */
+  public String getFormattedString(T value) {
+    if (value == null) {
+      return "";
+    }
+    String formattedString = cache.get(value);
+    if (formattedString != null) {
+      ++hitCount;
+      return formattedString;
+    }
+    ++missCount;
+    formattedString = formatFunction.apply(value);
+    if (formattedString != null) {
+      cache.put(value, formattedString);
+    }
+    return formattedString;
+  }
+
+  /** getHitCount, Returns the number of requests that were answered from the cache. */
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  /** getMaximumSize, Returns the maximum number of formatted strings that will be held. */
+  public int getMaximumSize() {
+    return maximumSize;
+  }
+
+  /** getMissCount, Returns the number of requests that required formatting a value. */
+  public long getMissCount() {
+    return missCount;
+  }
+
+  /** getSize, Returns the number of formatted strings that are currently held in the cache. */
+  public int getSize() {
+    return cache.size();
+  }
+
+  /** resetCounters, This sets the hit and miss counters back to zero. */
+  public void resetCounters() {
+    hitCount = 0;
+    missCount = 0;
+  }
+}
@@ -22,8 +22,12 @@
  */
 package com.github.lgooddatepicker.zinternaltools;
 
+import com.github.lgooddatepicker.optionalusertools.DateHighlightPolicy;
+import com.github.lgooddatepicker.optionalusertools.DateInterval;
 import com.github.lgooddatepicker.optionalusertools.DateVetoPolicy;
 import com.github.lgooddatepicker.optionalusertools.PickerUtilities;
+import com.github.lgooddatepicker.optionalusertools.RangeDateHighlightPolicy;
+import com.github.lgooddatepicker.optionalusertools.RangeDateVetoPolicy;
 import com.github.lgooddatepicker.optionalusertools.TimeVetoPolicy;
 import java.awt.Component;
 import java.awt.GraphicsConfiguration;
@@ -38,21 +42,34 @@ import java.awt.Window;
 import java.io.DataInputStream;
 import java.io.InputStream;
 import java.text.ParsePosition;
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.chrono.Chronology;
 import java.time.chrono.IsoChronology;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.FormatStyle;
+import java.time.format.ResolverStyle;
 import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import javax.swing.DefaultCellEditor;
 import javax.swing.JTable;
 import javax.swing.table.TableCellEditor;
@@ -64,6 +81,45 @@ import javax.swing.table.TableCellEditor;
  */
 public class InternalUtilities {
 
+  /**
+   * directlyResolvableFields, These are the chrono fields that can be resolved by
+   * resolveIsoDateOrNull().
+   */
+  private static final EnumSet<ChronoField> directlyResolvableFields =
+      EnumSet.of(
+          ChronoField.YEAR,
+          ChronoField.YEAR_OF_ERA,
+          ChronoField.ERA,
+          ChronoField.MONTH_OF_YEAR,
+          ChronoField.DAY_OF_MONTH,
+          ChronoField.DAY_OF_WEEK);
+
+  /**
+   * directlyResolvableFormatterTokens, These are the field names and localized date styles that
+   * can appear in the description of a formatter whose parse results can be resolved by
+   * resolveIsoDateOrNull().
+   */
+  private static final Set<String> directlyResolvableFormatterTokens =
+      new HashSet<>(
+          Arrays.asList(
+              "Year", "YearOfEra", "Era", "MonthOfYear", "DayOfMonth", "DayOfWeek", "SHORT",
+              "MEDIUM", "LONG", "FULL"));
+
+  /**
+   * directlyResolvableFormatters, This holds the result of usesOnlyDirectlyResolvableFields() for
+   * recently used formatters. Formatters are compared by identity. This must only be accessed while
+   * synchronized on this map.
+   */
+  private static final BoundedLruMap<DateTimeFormatter, Boolean> directlyResolvableFormatters =
+      new BoundedLruMap<>(256);
+
+  /**
+   * formatterFieldPattern, This matches each field (or localized style) in the description of a
+   * formatter. The second group holds the field name or the localized date style.
+   */
+  private static final Pattern formatterFieldPattern =
+      Pattern.compile("(Value|ReducedValue|Text|Localized|Fraction)\\(([^,)]*)");
+
   /**
    * areObjectsEqual, This function exists as a workaround for the fact that Objects.equals() did
    * not exist in Java 1.6.
@@ -98,6 +154,19 @@ public class InternalUtilities {
     }
 
     final TemporalAccessor parseResult = usedFormatter.parseUnresolved(text, new ParsePosition(0));
+    return doesParsedDateMatchUnresolvedResult(parsedDate, parseResult);
+  }
+
+  /**
+   * doesParsedDateMatchUnresolvedResult, This compares the day of the month and the year of a
+   * parsed date, to the unresolved result of parsing the original text. See
+   * doesParsedDateMatchText() for additional details.
+   */
+  private static boolean doesParsedDateMatchUnresolvedResult(
+      LocalDate parsedDate, TemporalAccessor parseResult) {
+    if (parsedDate == null || parseResult == null) {
+      return false;
+    }
 
     if (parseResult.isSupported(ChronoField.YEAR)) {
       if (parseResult.get(ChronoField.YEAR) != parsedDate.get(ChronoField.YEAR)) {
@@ -317,13 +386,17 @@ public class InternalUtilities {
    * getParsedDateOrNull, This takes text from the date picker text field, and tries to parse it
    * into a java.time.LocalDate instance. If the text cannot be parsed, this will return null.
    *
+   * <p>The formatters are tried in this order: The common era display formatter, the before common
+   * era display formatter, and then each parsing formatter in the order of the supplied list.
+   * Formatters that do not match the text are rejected without throwing any exceptions.
+   *
    * <p>Implementation note: The DateTimeFormatter parsing class was accepting invalid dates like
    * February 31st, and returning the last valid date of the month, like Feb 28. This could be seen
    * as an attempt to be lenient, but in the context of the date picker class it is considered a
-   * mistake or a bug. There was no setting to disable that functionality. So, this function calls
-   * another function called doesParsedDateMatchText(), to analyze and reject those kinds of
+   * mistake or a bug. There was no setting to disable that functionality. So, this function
+   * compares the parsed date to the unresolved parse result, to analyze and reject those kinds of
    * mistakes. If the parsed text does not match the day of the month (and year) of the parsed date,
-   * then this function will return null.
+   * then this function will return null. (See also: doesParsedDateMatchText().)
    */
   public static LocalDate getParsedDateOrNull(
       String text,
@@ -334,37 +407,165 @@ public class InternalUtilities {
       return null;
     }
     text = text.trim();
-    DateTimeFormatter usedFormatter = null;
-    LocalDate parsedDate = null;
-    if (parsedDate == null) {
-      try {
-        parsedDate = LocalDate.parse(text, displayFormatterAD);
-        usedFormatter = displayFormatterAD;
-      } catch (Exception ex) {
+    // The formatters are always tried in the declared order, so that ambiguous text (such as
+    // "3/4/2021") is always parsed by the same formatter. The first formatter that successfully
+    // parses the text decides the result.
+    int formatterCount = parsingFormatters.size() + 2;
+    for (int i = 0; i < formatterCount; ++i) {
+      DateTimeFormatter formatter =
+          (i == 0)
+              ? displayFormatterAD
+              : (i == 1) ? displayFormatterBC : parsingFormatters.get(i - 2);
+      if (formatter == null) {
+        continue;
+      }
+      // Parse the text without resolving, using a ParsePosition to detect errors. This rejects
+      // non-matching formatters without the cost of creating and throwing an exception.
+      ParsePosition position = new ParsePosition(0);
+      TemporalAccessor unresolved = formatter.parseUnresolved(text, position);
+      if (unresolved == null
+          || position.getErrorIndex() >= 0
+          || position.getIndex() < text.length()) {
+        continue;
+      }
+      LocalDate parsedDate;
+      if (isDirectlyResolvable(formatter, unresolved)) {
+        // Resolve the unresolved result directly, instead of parsing the text a second time.
+        parsedDate = resolveIsoDateOrNull(unresolved);
+        if (parsedDate == null) {
+          continue;
+        }
+      } else {
+        try {
+          // Note: Resolving can still fail for out of range field values, such as a month of 13.
+          parsedDate = LocalDate.parse(text, formatter);
+        } catch (Exception ex) {
+          continue;
+        }
       }
+      // Check for any "successfully" parsed but nonexistent dates like Feb 31.
+      // The unresolved result from above is reused for this check.
+      // Note, this check has been thoroughly tested. See doesParsedDateMatchText() for details.
+      if (!doesParsedDateMatchUnresolvedResult(parsedDate, unresolved)) {
+        return null;
+      }
+      return parsedDate;
     }
-    if (parsedDate == null) {
-      try {
-        // Note: each parse attempt must have its own try/catch block.
-        parsedDate = LocalDate.parse(text, displayFormatterBC);
-        usedFormatter = displayFormatterBC;
-      } catch (Exception ex) {
+    return null;
+  }
+
+  /**
+   * isDirectlyResolvable, This returns true if the supplied unresolved parse result can be
+   * resolved by resolveIsoDateOrNull(). This is true when the formatter only uses the day of the
+   * month, month, year, year of era, era, and day of the week fields with the default "smart"
+   * resolver style, the parse result uses the ISO chronology, and the parse result holds a complete
+   * date and nothing else. Otherwise, the text
+   * must be resolved by the formatter.
+   */
+  private static boolean isDirectlyResolvable(
+      DateTimeFormatter formatter, TemporalAccessor unresolved) {
+    if (formatter.getResolverStyle() != ResolverStyle.SMART
+        || formatter.getResolverFields() != null
+        || !isIsoChronologyOrNull(unresolved.query(TemporalQueries.chronology()))
+        || unresolved.query(TemporalQueries.zone()) != null
+        || !unresolved.isSupported(ChronoField.MONTH_OF_YEAR)
+        || !unresolved.isSupported(ChronoField.DAY_OF_MONTH)
+        || (unresolved.isSupported(ChronoField.YEAR)
+            == unresolved.isSupported(ChronoField.YEAR_OF_ERA))) {
+      return false;
+    }
+    for (ChronoField field : ChronoField.values()) {
+      if (!directlyResolvableFields.contains(field) && unresolved.isSupported(field)) {
+        return false;
       }
     }
-    for (int i = 0; ((parsedDate == null) && (i < parsingFormatters.size())); ++i) {
-      try {
-        parsedDate = LocalDate.parse(text, parsingFormatters.get(i));
-        usedFormatter = parsingFormatters.get(i);
-      } catch (Exception ex) {
+    // Fields that are not chrono fields (such as week based fields) can not be found with
+    // isSupported(), so the formatter itself is checked for those fields.
+    Boolean formatterIsResolvable;
+    synchronized (directlyResolvableFormatters) {
+      formatterIsResolvable = directlyResolvableFormatters.get(formatter);
+    }
+    if (formatterIsResolvable == null) {
+      formatterIsResolvable = usesOnlyDirectlyResolvableFields(formatter);
+      synchronized (directlyResolvableFormatters) {
+        directlyResolvableFormatters.put(formatter, formatterIsResolvable);
+      }
+    }
+    return formatterIsResolvable;
+  }
+
+  /**
+   * isIsoChronologyOrNull, This returns true if the supplied chronology is the ISO chronology, or
+   * is null. An unresolved parse result has a null chronology when neither the formatter nor the
+   * parsed text specified a chronology, and such a result is resolved with the ISO chronology.
+   */
+  private static boolean isIsoChronologyOrNull(Chronology chronology) {
+    return chronology == null || chronology == IsoChronology.INSTANCE;
+  }
+
+  /**
+   * usesOnlyDirectlyResolvableFields, This returns true if every field in the description of the
+   * supplied formatter is a field that can be resolved by resolveIsoDateOrNull(). Localized date
+   * styles are also accepted, because the date styles of every locale only use those fields.
+   */
+  private static boolean usesOnlyDirectlyResolvableFields(DateTimeFormatter formatter) {
+    Matcher matcher = formatterFieldPattern.matcher(formatter.toString());
+    while (matcher.find()) {
+      if (!directlyResolvableFormatterTokens.contains(matcher.group(2))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * resolveIsoDateOrNull, This resolves an unresolved parse result into a date, in the same way
+   * that the formatter would resolve it with the default "smart" resolver style. This returns null
+   * if any field value is out of range, or if the day of the week does not match the date. As with
+   * the smart resolver style, a day of the month that is past the end of the month is changed to
+   * the last day of the month. (Those dates are rejected by doesParsedDateMatchUnresolvedResult().)
+   * This should only be called if isDirectlyResolvable() returned true.
+   */
+  private static LocalDate resolveIsoDateOrNull(TemporalAccessor unresolved) {
+    long year;
+    if (unresolved.isSupported(ChronoField.YEAR)) {
+      year = unresolved.getLong(ChronoField.YEAR);
+      if (!ChronoField.YEAR.range().isValidIntValue(year)) {
+        return null;
+      }
+      if (unresolved.isSupported(ChronoField.ERA)
+          && unresolved.getLong(ChronoField.ERA) != ((year >= 1) ? 1 : 0)) {
+        return null;
+      }
+    } else {
+      long yearOfEra = unresolved.getLong(ChronoField.YEAR_OF_ERA);
+      if (!ChronoField.YEAR_OF_ERA.range().isValidIntValue(yearOfEra)) {
+        return null;
+      }
+      long era =
+          (unresolved.isSupported(ChronoField.ERA)) ? unresolved.getLong(ChronoField.ERA) : 1;
+      if (era != 0 && era != 1) {
+        return null;
       }
+      year = (era == 1) ? yearOfEra : (1 - yearOfEra);
+      if (!ChronoField.YEAR.range().isValidIntValue(year)) {
+        return null;
+      }
+    }
+    long month = unresolved.getLong(ChronoField.MONTH_OF_YEAR);
+    long dayOfMonth = unresolved.getLong(ChronoField.DAY_OF_MONTH);
+    if (!ChronoField.MONTH_OF_YEAR.range().isValidIntValue(month)
+        || !ChronoField.DAY_OF_MONTH.range().isValidIntValue(dayOfMonth)) {
+      return null;
     }
-    // Check for any "successfully" parsed but nonexistent dates like Feb 31.
-    // Note, this function has been thoroughly tested. See the function docs for details.
-    if ((parsedDate != null)
-        && (!InternalUtilities.doesParsedDateMatchText(parsedDate, text, usedFormatter))) {
+    YearMonth yearMonth = YearMonth.of((int) year, (int) month);
+    LocalDate date =
+        yearMonth.atDay((int) Math.min(dayOfMonth, (long) yearMonth.lengthOfMonth()));
+    if (unresolved.isSupported(ChronoField.DAY_OF_WEEK)
+        && unresolved.getLong(ChronoField.DAY_OF_WEEK) != date.getDayOfWeek().getValue()) {
       return null;
     }
-    return parsedDate;
+    return date;
   }
 
   public static LocalTime getParsedTimeOrNull(
@@ -436,6 +637,160 @@ public class InternalUtilities {
     return (!policy.isDateAllowed(date));
   }
 
+  /**
+   * getAllowedDatesInInterval, This is a convenience function for checking which dates are allowed
+   * inside a date interval. The returned BitSet has a set bit for each allowed date, and the bit
+   * index of a date is the number of days between the first date of the interval and that date.
+   *
+   * <p>If the policy is a RangeDateVetoPolicy, then the whole interval is resolved with a single
+   * call to the policy. Otherwise, the policy is called once for each date in the interval. If the
+   * policy is null, then all dates are allowed. The interval must contain two non-null dates, and
+   * the first date must not be after the last date.
+   */
+  public static BitSet getAllowedDatesInInterval(DateVetoPolicy policy, DateInterval interval) {
+    int dateCount = getDateCountInInterval(interval);
+    BitSet allowedDates;
+    if (policy == null) {
+      allowedDates = new BitSet(dateCount);
+      allowedDates.set(0, dateCount);
+    } else if (policy instanceof RangeDateVetoPolicy) {
+      allowedDates = ((RangeDateVetoPolicy) policy).getAllowedDatesInInterval(interval);
+      if (allowedDates == null) {
+        throw new RuntimeException(
+            "InternalUtilities.getAllowedDatesInInterval(), "
+                + "A RangeDateVetoPolicy should never return a null BitSet.");
+      }
+    } else {
+      allowedDates = new BitSet(dateCount);
+      LocalDate date = interval.firstDate;
+      for (int i = 0; i < dateCount; ++i) {
+        if (policy.isDateAllowed(date)) {
+          allowedDates.set(i);
+        }
+        if (i < (dateCount - 1)) {
+          date = date.plusDays(1);
+        }
+      }
+    }
+    return allowedDates;
+  }
+
+  /**
+   * getNearestMonthWithAllowedDate, This returns the nearest month that contains at least one date
+   * that is allowed by the veto policy, starting with the supplied month, and searching forward or
+   * backward in time. The supplied month is included in the search. If no such month is found,
+   * then this returns null. If the policy is null, then the supplied month is returned.
+   *
+   * <p>If the class of the policy is exactly DateVetoPolicyMinimumMaximumDate, then the nearest
+   * month is found exactly, by asking the policy for the next or previous allowed date. Otherwise,
+   * the months are checked one at a time, and at most maximumMonthsToCheck months will be checked.
+   * (Subclasses are checked one month at a time, because they may override isDateAllowed().)
+   */
+  public static YearMonth getNearestMonthWithAllowedDate(
+      DateVetoPolicy policy,
+      YearMonth firstMonthToCheck,
+      boolean searchForward,
+      int maximumMonthsToCheck) {
+    if (policy == null) {
+      return firstMonthToCheck;
+    }
+    if (policy.getClass() == DateVetoPolicyMinimumMaximumDate.class) {
+      DateVetoPolicyMinimumMaximumDate rangePolicy = (DateVetoPolicyMinimumMaximumDate) policy;
+      LocalDate allowedDate =
+          (searchForward)
+              ? rangePolicy.getNextAllowedDate(firstMonthToCheck.atDay(1))
+              : rangePolicy.getPreviousAllowedDate(firstMonthToCheck.atEndOfMonth());
+      return (allowedDate == null) ? null : YearMonth.from(allowedDate);
+    }
+    YearMonth month = firstMonthToCheck;
+    for (int i = 0; i < maximumMonthsToCheck; ++i) {
+      if (isAnyDateAllowedInMonth(policy, month)) {
+        return month;
+      }
+      try {
+        month = month.plusMonths((searchForward) ? 1 : -1);
+      } catch (DateTimeException ex) {
+        // The edge of the supported date range was reached.
+        return null;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * isAnyDateAllowedInMonth, This returns true if at least one date in the supplied month is
+   * allowed by the veto policy. A range policy is called once for the whole month. A regular policy
+   * is called once for each date, until an allowed date is found.
+   */
+  private static boolean isAnyDateAllowedInMonth(DateVetoPolicy policy, YearMonth month) {
+    if (policy instanceof RangeDateVetoPolicy) {
+      DateInterval monthInterval = new DateInterval(month.atDay(1), month.atEndOfMonth());
+      return !getAllowedDatesInInterval(policy, monthInterval).isEmpty();
+    }
+    int lengthOfMonth = month.lengthOfMonth();
+    for (int dayOfMonth = 1; dayOfMonth <= lengthOfMonth; ++dayOfMonth) {
+      if (policy.isDateAllowed(month.atDay(dayOfMonth))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * getHighlightInformationInInterval, This is a convenience function for getting the highlight
+   * information for each date inside a date interval. The returned array has one element for each
+   * date in the interval, and the index of a date is the number of days between the first date of
+   * the interval and that date. Elements for dates that are not highlighted will be null.
+   *
+   * <p>If the policy is a RangeDateHighlightPolicy, then the whole interval is resolved with a
+   * single call to the policy. Otherwise, the policy is called once for each date in the interval.
+   * If the policy is null, then no dates are highlighted. The interval must contain two non-null
+   * dates, and the first date must not be after the last date.
+   */
+  public static HighlightInformation[] getHighlightInformationInInterval(
+      DateHighlightPolicy policy, DateInterval interval) {
+    int dateCount = getDateCountInInterval(interval);
+    HighlightInformation[] result = new HighlightInformation[dateCount];
+    if (policy == null) {
+      return result;
+    }
+    if (policy instanceof RangeDateHighlightPolicy) {
+      HighlightInformation[] policyResult =
+          ((RangeDateHighlightPolicy) policy).getHighlightInformationInInterval(interval);
+      if (policyResult != null) {
+        System.arraycopy(policyResult, 0, result, 0, Math.min(dateCount, policyResult.length));
+      }
+      return result;
+    }
+    LocalDate date = interval.firstDate;
+    for (int i = 0; i < dateCount; ++i) {
+      result[i] = policy.getHighlightInformationOrNull(date);
+      if (i < (dateCount - 1)) {
+        date = date.plusDays(1);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * getDateCountInInterval, This returns the number of dates in the supplied interval, including
+   * both the first and the last date. This will throw an exception if the interval does not contain
+   * two non-null dates, or if the first date is after the last date.
+   */
+  private static int getDateCountInInterval(DateInterval interval) {
+    if (interval == null || interval.firstDate == null || interval.lastDate == null) {
+      throw new RuntimeException(
+          "InternalUtilities.getDateCountInInterval(), "
+              + "The interval must contain a first date and a last date.");
+    }
+    if (interval.firstDate.isAfter(interval.lastDate)) {
+      throw new RuntimeException(
+          "InternalUtilities.getDateCountInInterval(), "
+              + "The first date of the interval cannot be after the last date.");
+    }
+    return Math.toIntExact(ChronoUnit.DAYS.between(interval.firstDate, interval.lastDate) + 1);
+  }
+
   /**
    * isMouseWithinComponent, This returns true if the mouse is inside of the specified component,
    * otherwise returns false.
@@ -0,0 +1,105 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import java.awt.Color;
+import java.awt.Font;
+import javax.swing.JLabel;
+import javax.swing.JTable;
+import javax.swing.border.Border;
+
+/**
+ * LightweightCellLabel, This is the label that the table editors reuse to paint every cell, when
+ * their lightweight renderer is in use. The table editor decides the text, font, and indicator
+ * colors for each cell value. This label applies those values, together with the table background
+ * colors and the focused or unfocused cell border.
+ */
+public class LightweightCellLabel extends JLabel {
+
+  /** serialVersionUID, This is the serialization version of this class. */
+  private static final long serialVersionUID = 1L;
+
+  /** borderFocusedCell, This holds the border that is used when a cell has focus. */
+  private final Border borderFocusedCell;
+
+  /** borderUnfocusedCell, This holds the border that is used when a cell does not have focus. */
+  private final Border borderUnfocusedCell;
+
+  /**
+   * matchTableBackgroundColor, This indicates whether unselected cells should use the background
+   * color of the table.
+   */
+  private final boolean matchTableBackgroundColor;
+
+  /**
+   * matchTableSelectionBackgroundColor, This indicates whether selected cells should use the
+   * selection background color of the table.
+   */
+  private final boolean matchTableSelectionBackgroundColor;
+
+  /**
+   * Constructor, This creates an opaque cell label with the supplied borders and table background
+   * color options. These should be the same values that are used by the owning table editor.
+   */
+  public LightweightCellLabel(
+      Border borderFocusedCell,
+      Border borderUnfocusedCell,
+      boolean matchTableBackgroundColor,
+      boolean matchTableSelectionBackgroundColor) {
+    this.borderFocusedCell = borderFocusedCell;
+    this.borderUnfocusedCell = borderUnfocusedCell;
+    this.matchTableBackgroundColor = matchTableBackgroundColor;
+    this.matchTableSelectionBackgroundColor = matchTableSelectionBackgroundColor;
+    setOpaque(true);
+    setBorder(borderUnfocusedCell);
+  }
+
+  /**
+   * prepareCell, This prepares this label to paint a single cell, and returns this label. The
+   * supplied background color is replaced by the table background colors, if the matching options
+   * are turned on.
+   */
+  public LightweightCellLabel prepareCell(
+      JTable table,
+      String text,
+      Font font,
+      Color foreground,
+      Color background,
+      boolean isSelected,
+      boolean hasFocus) {
+    // Draw the appropriate background colors to indicate a selected or unselected state.
+    if (isSelected && matchTableSelectionBackgroundColor) {
+      background = table.getSelectionBackground();
+    }
+    if ((!isSelected) && matchTableBackgroundColor) {
+      background = table.getBackground();
+    }
+    setText(text);
+    setFont(font);
+    setForeground(foreground);
+    setBackground(background);
+    // Draw the appropriate borders to indicate a focused or unfocused state.
+    setBorder((hasFocus) ? borderFocusedCell : borderUnfocusedCell);
+    return this;
+  }
+}
@@ -0,0 +1,308 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.WeekFields;
+import java.util.ArrayList;
+import java.util.Objects;
+
+/**
+ * MonthGrid, This is an immutable layout model of one month, as it is displayed in the six rows
+ * and seven columns of date cells of a calendar panel. A month grid holds the position of every
+ * day of the month, the day of the week for every column, and (optionally) the week number for
+ * every used row. A month grid does not depend on any Swing components, so the same grid can be
+ * used by any number of calendar panels or renderers.
+ *
+ * <p>Month grids should be obtained with the MonthGrid.of() function. The most recently used grids
+ * are kept in a bounded cache, so that month navigation and multi-month views can reuse grids that
+ * were already calculated. Month grids are immutable, and this class is thread safe.
+ *
+ * <p>Cell indexes: The date cells are numbered from 0 to 41, starting at the top left cell and
+ * proceeding from left to right, and then from top to bottom. Row indexes are numbered from 0 to
+ * 5, and column indexes are numbered from 0 to 6.
+ */
+public final class MonthGrid {
+
+  /** columnCount, This is the number of columns of date cells in a month grid. */
+  public static final int columnCount = 7;
+
+  /** rowCount, This is the number of rows of date cells in a month grid. */
+  public static final int rowCount = 6;
+
+  /** cellCount, This is the total number of date cells in a month grid. */
+  public static final int cellCount = columnCount * rowCount;
+
+  /** maximumCachedGrids, This is the maximum number of month grids that are kept in the cache. */
+  public static final int maximumCachedGrids = 240;
+
+  /** cache, This holds the most recently used month grids, in least recently used order. */
+  private static final BoundedLruMap<GridKey, MonthGrid> cache =
+      new BoundedLruMap<>(maximumCachedGrids);
+
+  /**
+   * dayOfMonthInCell, This holds the day of the month that is displayed in each date cell, or zero
+   * for any cells that are outside of the month.
+   */
+  private final int[] dayOfMonthInCell;
+
+  /** daysOfWeekInColumns, This holds the ISO day of the week value of each column. */
+  private final int[] daysOfWeekInColumns;
+
+  /** firstDateCellIndex, This is the index of the cell that holds the first day of the month. */
+  private final int firstDateCellIndex;
+
+  /** firstDayOfWeek, This is the day of the week that is displayed in the first column. */
+  private final DayOfWeek firstDayOfWeek;
+
+  /** usedRowCount, This is the number of rows that hold at least one day of the month. */
+  private final int usedRowCount;
+
+  /**
+   * weekNumbersOfUsedRows, This holds the week number of each used row, or null if no week number
+   * rules were supplied.
+   */
+  private final int[] weekNumbersOfUsedRows;
+
+  /** weekNumberRules, This holds the week number rules of this grid, or null. */
+  private final WeekFields weekNumberRules;
+
+  /** yearMonth, This is the month that is described by this grid. */
+  private final YearMonth yearMonth;
+
+  /**
+   * Constructor, This calculates the layout of the supplied month. This constructor is private.
+   * Month grids should be obtained with the MonthGrid.of() function.
+   */
+  private MonthGrid(YearMonth yearMonth, DayOfWeek firstDayOfWeek, WeekFields weekNumberRules) {
+    this.yearMonth = yearMonth;
+    this.firstDayOfWeek = firstDayOfWeek;
+    this.weekNumberRules = weekNumberRules;
+    // Calculate the day of the week of each column.
+    daysOfWeekInColumns = new int[columnCount];
+    for (int column = 0; column < columnCount; ++column) {
+      daysOfWeekInColumns[column] = firstDayOfWeek.plus(column).getValue();
+    }
+    // Calculate the position of each day of the month.
+    int firstDayOfMonthValue = yearMonth.atDay(1).getDayOfWeek().getValue();
+    firstDateCellIndex =
+        (firstDayOfMonthValue - firstDayOfWeek.getValue() + columnCount) % columnCount;
+    int lengthOfMonth = yearMonth.lengthOfMonth();
+    dayOfMonthInCell = new int[cellCount];
+    for (int dayOfMonth = 1; dayOfMonth <= lengthOfMonth; ++dayOfMonth) {
+      dayOfMonthInCell[firstDateCellIndex + dayOfMonth - 1] = dayOfMonth;
+    }
+    int lastUsedCellIndex = firstDateCellIndex + lengthOfMonth - 1;
+    usedRowCount = (lastUsedCellIndex / columnCount) + 1;
+    // If needed, calculate the week number of each used row.
+    if (weekNumberRules == null) {
+      weekNumbersOfUsedRows = null;
+    } else {
+      weekNumbersOfUsedRows = new int[usedRowCount];
+      for (int row = 0; row < usedRowCount; ++row) {
+        weekNumbersOfUsedRows[row] = getWeekNumberForASevenDayRange(getFirstDateOfRow(row));
+      }
+    }
+  }
+
+  /**
+   * of, This returns the month grid for the supplied month, first day of the week, and (optional)
+   * week number rules. If a matching grid is found in the cache, then the cached grid is returned.
+   * Otherwise a new grid is calculated and added to the cache.
+   *
+   * @param yearMonth The month to describe. This must not be null.
+   * @param firstDayOfWeek The day of the week that is displayed in the first column. This must not
+   *     be null.
+   * @param weekNumberRulesOrNull The rules that should be used to calculate the week number of
+   *     each row, or null if week numbers are not needed.
+   */
+  public static MonthGrid of(
+      YearMonth yearMonth, DayOfWeek firstDayOfWeek, WeekFields weekNumberRulesOrNull) {
+    if (yearMonth == null || firstDayOfWeek == null) {
+      throw new RuntimeException(
+          "MonthGrid.of(), The year month and the first day of the week must not be null.");
+    }
+    GridKey key = new GridKey(yearMonth, firstDayOfWeek, weekNumberRulesOrNull);
+    synchronized (cache) {
+      MonthGrid grid = cache.get(key);
+      if (grid == null) {
+        grid = new MonthGrid(yearMonth, firstDayOfWeek, weekNumberRulesOrNull);
+        cache.put(key, grid);
+      }
+      return grid;
+    }
+  }
+
+  /** clearCache, This removes all month grids from the cache. */
+  public static void clearCache() {
+    synchronized (cache) {
+      cache.clear();
+    }
+  }
+
+  /** getCachedGridCount, This returns the number of month grids that are currently cached. */
+  public static int getCachedGridCount() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  /**
+   * getDayOfMonthInCell, This returns the day of the month that is displayed in the specified date
+   * cell, or zero if the cell is outside of the month.
+   */
+  public int getDayOfMonthInCell(int cellIndex) {
+    return dayOfMonthInCell[cellIndex];
+  }
+
+  /** getDayOfWeekInColumn, This returns the day of the week that is displayed in a column. */
+  public DayOfWeek getDayOfWeekInColumn(int column) {
+    return DayOfWeek.of(daysOfWeekInColumns[column]);
+  }
+
+  /**
+   * getFirstDateCellIndex, This returns the index of the cell that holds the first day of the
+   * month. This is always a cell in the first row.
+   */
+  public int getFirstDateCellIndex() {
+    return firstDateCellIndex;
+  }
+
+  /**
+   * getFirstDateOfRow, This returns the date that belongs to the first cell of the specified row.
+   * For the first row, this will often be a date from the previous month. If that date would be
+   * before LocalDate.MIN, then LocalDate.MIN is returned.
+   */
+  public LocalDate getFirstDateOfRow(int row) {
+    LocalDate firstDayOfMonth = yearMonth.atDay(1);
+    long daysFromFirstDayOfMonth = (row * columnCount) - firstDateCellIndex;
+    // LocalDate.MIN and LocalDate.MAX can not be exceeded. Those cases are handled here.
+    try {
+      return firstDayOfMonth.plusDays(daysFromFirstDayOfMonth);
+    } catch (Exception e) {
+      return (daysFromFirstDayOfMonth < 0) ? LocalDate.MIN : LocalDate.MAX;
+    }
+  }
+
+  /** getFirstDayOfWeek, This returns the day of the week that is displayed in the first column. */
+  public DayOfWeek getFirstDayOfWeek() {
+    return firstDayOfWeek;
+  }
+
+  /** getLengthOfMonth, This returns the number of days in the month of this grid. */
+  public int getLengthOfMonth() {
+    return yearMonth.lengthOfMonth();
+  }
+
+  /** getUsedRowCount, This returns the number of rows that hold at least one day of the month. */
+  public int getUsedRowCount() {
+    return usedRowCount;
+  }
+
+  /**
+   * getWeekNumberOfRow, This returns the week number of the specified used row. The week number of
+   * a row is the week number of the majority of the seven dates in that row. This will throw an
+   * exception if this grid was created without week number rules, or if the row is not used.
+   */
+  public int getWeekNumberOfRow(int row) {
+    if (weekNumbersOfUsedRows == null) {
+      throw new RuntimeException(
+          "MonthGrid.getWeekNumberOfRow(), This grid was created without week number rules.");
+    }
+    return weekNumbersOfUsedRows[row];
+  }
+
+  /** getWeekNumberRules, This returns the week number rules of this grid, or null. */
+  public WeekFields getWeekNumberRules() {
+    return weekNumberRules;
+  }
+
+  /** getYearMonth, This returns the month that is described by this grid. */
+  public YearMonth getYearMonth() {
+    return yearMonth;
+  }
+
+  /** isCellInsideMonth, This returns true if the specified cell holds a day of the month. */
+  public boolean isCellInsideMonth(int cellIndex) {
+    return dayOfMonthInCell[cellIndex] != 0;
+  }
+
+  /**
+   * getWeekNumberForASevenDayRange, This returns the most common week number of the seven days
+   * that start with the supplied date, according to the week number rules of this grid. There can
+   * be no tie, because the number of days in the range is odd. If the range would exceed
+   * LocalDate.MAX, then 1 is returned.
+   */
+  private int getWeekNumberForASevenDayRange(LocalDate firstDateInRange) {
+    ArrayList<Integer> weekNumbersList = new ArrayList<>();
+    for (int daysIntoTheFuture = 0; daysIntoTheFuture <= 6; ++daysIntoTheFuture) {
+      // This try block handles an exception that can occur at LocalDate.MAX
+      try {
+        LocalDate currentDateInRange = firstDateInRange.plusDays(daysIntoTheFuture);
+        weekNumbersList.add(currentDateInRange.get(weekNumberRules.weekOfWeekBasedYear()));
+      } catch (Exception ex) {
+        return 1;
+      }
+    }
+    // If the week numbers are unanimous, then return the unanimous week number.
+    if (weekNumbersList.get(0).equals(weekNumbersList.get(6))) {
+      return weekNumbersList.get(0);
+    }
+    return InternalUtilities.getMostCommonElementInList(weekNumbersList);
+  }
+
+  /**
+   * GridKey, This is the cache key of a month grid. Two keys are equal if they describe the same
+   * month, first day of the week, and week number rules.
+   */
+  private static final class GridKey {
+
+    private final YearMonth yearMonth;
+    private final DayOfWeek firstDayOfWeek;
+    private final WeekFields weekNumberRules;
+
+    GridKey(YearMonth yearMonth, DayOfWeek firstDayOfWeek, WeekFields weekNumberRules) {
+      this.yearMonth = yearMonth;
+      this.firstDayOfWeek = firstDayOfWeek;
+      this.weekNumberRules = weekNumberRules;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof GridKey)) {
+        return false;
+      }
+      GridKey other = (GridKey) obj;
+      return yearMonth.equals(other.yearMonth)
+          && firstDayOfWeek == other.firstDayOfWeek
+          && Objects.equals(weekNumberRules, other.weekNumberRules);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(yearMonth, firstDayOfWeek, weekNumberRules);
+    }
+  }
+}
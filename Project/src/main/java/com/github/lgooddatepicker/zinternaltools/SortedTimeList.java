@@ -0,0 +1,185 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import java.time.LocalTime;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * SortedTimeList, This is an immutable list of unique LocalTime values in ascending order. The
+ * times are stored as an array of nano-of-day values, rather than as LocalTime objects. This is
+ * used to hold the potential menu times of a time picker, which can contain a large number of
+ * times.
+ *
+ * <p>Because the list is sorted, the position of any time can be found with a binary search. The
+ * functions indexOf(), contains(), binarySearch(), getCeilingIndex() and getFloorIndex() all run
+ * in logarithmic time. Any function that would modify the list will throw an
+ * UnsupportedOperationException.
+ */
+public final class SortedTimeList extends AbstractList<LocalTime> implements RandomAccess {
+
+  /** emptyList, This is a shared instance of an empty sorted time list. */
+  public static final SortedTimeList emptyList = new SortedTimeList(new long[0]);
+
+  /** nanosOfDay, This holds the nano-of-day values of the times, in ascending order. */
+  private final long[] nanosOfDay;
+
+  /**
+   * Constructor, This is private. The supplied array must already be sorted and free of
+   * duplicates, and must not be modified after construction.
+   */
+  private SortedTimeList(long[] nanosOfDay) {
+    this.nanosOfDay = nanosOfDay;
+  }
+
+  /**
+   * ofTimes, This returns a sorted time list that contains one instance of each unique time in the
+   * supplied iterable, in ascending order. Null values are ignored.
+   */
+  public static SortedTimeList ofTimes(Iterable<LocalTime> times) {
+    long[] values = new long[16];
+    int count = 0;
+    if (times != null) {
+      for (LocalTime time : times) {
+        if (time != null) {
+          if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+          }
+          values[count++] = time.toNanoOfDay();
+        }
+      }
+    }
+    return ofNanosOfDay(values, count);
+  }
+
+  /**
+   * ofNanosOfDay, This returns a sorted time list that contains one instance of each unique value
+   * in the first "count" elements of the supplied array, in ascending order. The supplied array is
+   * not modified. Every value must be a valid nano-of-day value.
+   */
+  public static SortedTimeList ofNanosOfDay(long[] values, int count) {
+    if (count == 0) {
+      return emptyList;
+    }
+    long[] sortedValues = Arrays.copyOf(values, count);
+    Arrays.sort(sortedValues);
+    if (sortedValues[0] < 0 || sortedValues[count - 1] > LocalTime.MAX.toNanoOfDay()) {
+      throw new RuntimeException(
+          "SortedTimeList.ofNanosOfDay(), All values must be valid nano-of-day values.");
+    }
+    // Remove any duplicate values.
+    int uniqueCount = 1;
+    for (int index = 1; index < count; ++index) {
+      if (sortedValues[index] != sortedValues[uniqueCount - 1]) {
+        sortedValues[uniqueCount++] = sortedValues[index];
+      }
+    }
+    if (uniqueCount != count) {
+      sortedValues = Arrays.copyOf(sortedValues, uniqueCount);
+    }
+    return new SortedTimeList(sortedValues);
+  }
+
+  /**
+   * binarySearch, This returns the index of the supplied time, if it is contained in this list.
+   * Otherwise, this returns (-(insertion point) - 1). The insertion point is the index of the first
+   * time that is later than the supplied time, or size() if there is no such time. This follows the
+   * conventions of Arrays.binarySearch().
+   */
+  public int binarySearch(LocalTime time) {
+    return Arrays.binarySearch(nanosOfDay, time.toNanoOfDay());
+  }
+
+  /** contains, This returns true if this list contains the supplied time. */
+  @Override
+  public boolean contains(Object value) {
+    return indexOf(value) >= 0;
+  }
+
+  /** get, This returns the time at the specified index. */
+  @Override
+  public LocalTime get(int index) {
+    return LocalTime.ofNanoOfDay(nanosOfDay[index]);
+  }
+
+  /**
+   * getCeilingIndex, This returns the index of the earliest time in this list that is equal to or
+   * later than the supplied time. This returns -1 if there is no such time.
+   */
+  public int getCeilingIndex(LocalTime time) {
+    int index = binarySearch(time);
+    if (index >= 0) {
+      return index;
+    }
+    int insertionPoint = -(index + 1);
+    return (insertionPoint < nanosOfDay.length) ? insertionPoint : -1;
+  }
+
+  /**
+   * getFloorIndex, This returns the index of the latest time in this list that is equal to or
+   * earlier than the supplied time. This returns -1 if there is no such time.
+   */
+  public int getFloorIndex(LocalTime time) {
+    int index = binarySearch(time);
+    if (index >= 0) {
+      return index;
+    }
+    int insertionPoint = -(index + 1);
+    return insertionPoint - 1;
+  }
+
+  /** getNanoOfDay, This returns the nano-of-day value of the time at the specified index. */
+  public long getNanoOfDay(int index) {
+    return nanosOfDay[index];
+  }
+
+  /**
+   * indexOf, This returns the index of the supplied time, or -1 if the supplied value is not a
+   * time in this list.
+   */
+  @Override
+  public int indexOf(Object value) {
+    if (!(value instanceof LocalTime)) {
+      return -1;
+    }
+    int index = binarySearch((LocalTime) value);
+    return (index >= 0) ? index : -1;
+  }
+
+  /**
+   * lastIndexOf, This returns the same value as indexOf(), because this list does not contain
+   * duplicates.
+   */
+  @Override
+  public int lastIndexOf(Object value) {
+    return indexOf(value);
+  }
+
+  /** size, This returns the number of times in this list. */
+  @Override
+  public int size() {
+    return nanosOfDay.length;
+  }
+}
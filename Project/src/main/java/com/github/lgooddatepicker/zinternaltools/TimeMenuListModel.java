@@ -0,0 +1,294 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import com.github.lgooddatepicker.components.TimePickerSettings;
+import com.github.lgooddatepicker.optionalusertools.TimeVetoPolicy;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Locale;
+import javax.swing.AbstractListModel;
+
+/**
+ * TimeMenuListModel, This is the list model for the time picker menu. The menu rows are computed on
+ * demand from the potential menu times in the time picker settings, rather than being formatted
+ * and stored in advance. This keeps the time menu fast to open, even when the menu contains a large
+ * number of times (for example, a menu with one minute increments has 1,440 times).
+ *
+ * <p>Only the rows that are actually requested by the list (normally the visible rows) are
+ * formatted. The formatted text of recently requested rows is held in a small cache. A time picker
+ * keeps a single instance of this model, which is refreshed each time the time menu is opened. The
+ * refresh only repeats the veto checks, and only if a veto policy exists. The formatted text is
+ * kept between refreshes, unless the menu time format, the locale, or the lowercase setting has
+ * changed.
+ *
+ * <p>The refresh() function fires list data events to the time menu list, so it should only be
+ * called from the event dispatch thread.
+ */
+public class TimeMenuListModel extends AbstractListModel<String> {
+
+  /** serialVersionUID, This is the serialization version of this class. */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * rowCacheSize, This is the number of formatted rows that can be held in the row cache. This
+   * should be larger than the maximum number of visible rows in the time menu.
+   */
+  static final int rowCacheSize = 128;
+
+  /**
+   * allowedMenuTimeIndexes, This holds the index of the potential menu time that is displayed in
+   * each row of the menu. This is null if there is no veto policy, in which case each row displays
+   * the potential menu time with the same index.
+   */
+  private int[] allowedMenuTimeIndexes = null;
+
+  /**
+   * cachedFormat, This holds the menu time format that was used to create the cached row text. This
+   * is used to detect when the cached row text must be discarded.
+   */
+  private DateTimeFormatter cachedFormat = null;
+
+  /**
+   * cachedLocale, This holds the locale that was used to create the cached row text. This is used
+   * to detect when the cached row text must be discarded.
+   */
+  private Locale cachedLocale = null;
+
+  /**
+   * cachedLowercase, This holds the lowercase setting that was used to create the cached row text.
+   * This is used to detect when the cached row text must be discarded.
+   */
+  private boolean cachedLowercase = false;
+
+  /**
+   * cachedRowTexts, This holds the formatted text of recently requested rows. Each row is stored at
+   * the position (row % rowCacheSize), together with the time in cachedRowTimes.
+   */
+  private final String[] cachedRowTexts = new String[rowCacheSize];
+
+  /**
+   * cachedRowTimes, This holds the time that belongs to each entry in cachedRowTexts. A cached
+   * entry is only used if its time matches the time of the requested row.
+   */
+  private final LocalTime[] cachedRowTimes = new LocalTime[rowCacheSize];
+
+  /** settings, This holds the time picker settings that are used to compute the menu rows. */
+  private final TimePickerSettings settings;
+
+  /** size, This holds the number of rows in the menu, as of the last refresh. */
+  private int size = 0;
+
+  /**
+   * Constructor, This creates a time menu list model for the supplied settings. The model is
+   * refreshed immediately.
+   */
+  public TimeMenuListModel(TimePickerSettings settings) {
+    if (settings == null) {
+      throw new RuntimeException(
+          "TimeMenuListModel.TimeMenuListModel(), The settings cannot be null.");
+    }
+    this.settings = settings;
+    refresh();
+  }
+
+  /**
+   * getElementAt, This returns the formatted text for the specified row. The text is computed on
+   * demand, and held in the row cache.
+   */
+  @Override
+  public String getElementAt(int row) {
+    LocalTime time = getTimeAt(row);
+    int cacheIndex = row % rowCacheSize;
+    if (time.equals(cachedRowTimes[cacheIndex])) {
+      return cachedRowTexts[cacheIndex];
+    }
+    String text = settings.getFormattedMenuTime(time);
+    if (settings.useLowercaseForMenuTimes) {
+      text = text.toLowerCase(settings.getLocale());
+    }
+    cachedRowTimes[cacheIndex] = time;
+    cachedRowTexts[cacheIndex] = text;
+    return text;
+  }
+
+  /**
+   * getPrototypeRowText, This returns a text that is at least as long as the text of any row in
+   * the menu, or null if the menu is empty. This can be given to JList.setPrototypeCellValue(), so
+   * that the list does not need to measure every row to determine its cell size.
+   *
+   * <p>Only a few sample times are formatted. The samples include the first and last rows, and the
+   * times that have the most digits in both the morning and the afternoon.
+   */
+  public String getPrototypeRowText() {
+    if (size == 0) {
+      return null;
+    }
+    String longestText = getElementAt(0);
+    LocalTime[] sampleTimes =
+        new LocalTime[] {
+          getTimeAt(size - 1),
+          LocalTime.of(10, 58, 58, 888000000),
+          LocalTime.of(22, 58, 58, 888000000)
+        };
+    for (LocalTime sampleTime : sampleTimes) {
+      String text = settings.getFormatForMenuTimes().format(sampleTime);
+      if (text.length() > longestText.length()) {
+        longestText = text;
+      }
+    }
+    return longestText;
+  }
+
+  /**
+   * getRowAtOrAfter, This returns the first row that displays the potential menu time with the
+   * supplied index, or a later potential menu time. This returns -1 if the supplied index is -1,
+   * or if there is no such row.
+   */
+  private int getRowAtOrAfter(int menuTimeIndex) {
+    if (menuTimeIndex < 0) {
+      return -1;
+    }
+    int row = menuTimeIndex;
+    if (allowedMenuTimeIndexes != null) {
+      row = Arrays.binarySearch(allowedMenuTimeIndexes, menuTimeIndex);
+      row = (row >= 0) ? row : -(row + 1);
+    }
+    return (row < size) ? row : -1;
+  }
+
+  /**
+   * getRowAtOrBefore, This returns the last row that displays the potential menu time with the
+   * supplied index, or an earlier potential menu time. This returns -1 if the supplied index is -1,
+   * or if there is no such row.
+   */
+  private int getRowAtOrBefore(int menuTimeIndex) {
+    if (menuTimeIndex < 0) {
+      return -1;
+    }
+    int row = menuTimeIndex;
+    if (allowedMenuTimeIndexes != null) {
+      row = Arrays.binarySearch(allowedMenuTimeIndexes, menuTimeIndex);
+      row = (row >= 0) ? row : -(row + 1) - 1;
+    }
+    return Math.min(row, size - 1);
+  }
+
+  /**
+   * getRowNearestTime, This returns the row whose time is nearest to the supplied time, or -1 if
+   * the menu is empty or the supplied time is null. If two rows are equally near, then the earlier
+   * row is returned. This uses a binary search, so no menu rows are formatted.
+   */
+  public int getRowNearestTime(LocalTime time) {
+    if (size == 0 || time == null) {
+      return -1;
+    }
+    SortedTimeList menuTimes = settings.getPotentialMenuTimesView();
+    int floorRow = getRowAtOrBefore(menuTimes.getFloorIndex(time));
+    int ceilingRow = getRowAtOrAfter(menuTimes.getCeilingIndex(time));
+    if (floorRow == -1 || ceilingRow == -1) {
+      return (floorRow == -1) ? ceilingRow : floorRow;
+    }
+    long nanoOfDay = time.toNanoOfDay();
+    long floorDistance = nanoOfDay - getTimeAt(floorRow).toNanoOfDay();
+    long ceilingDistance = getTimeAt(ceilingRow).toNanoOfDay() - nanoOfDay;
+    return (ceilingDistance < floorDistance) ? ceilingRow : floorRow;
+  }
+
+  /** getSize, This returns the number of rows in the menu, as of the last refresh. */
+  @Override
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * getTimeAt, This returns the time that is displayed in the specified row. The row must be
+   * between zero (inclusive) and getSize() (exclusive).
+   */
+  public LocalTime getTimeAt(int row) {
+    if (row < 0 || row >= size) {
+      throw new IndexOutOfBoundsException(
+          "TimeMenuListModel.getTimeAt(), Row " + row + " is not between 0 and " + size + ".");
+    }
+    int menuTimeIndex = (allowedMenuTimeIndexes == null) ? row : allowedMenuTimeIndexes[row];
+    return settings.getPotentialMenuTime(menuTimeIndex);
+  }
+
+  /**
+   * isModelForSettings, This returns true if this model computes its rows from the supplied
+   * settings instance.
+   */
+  public boolean isModelForSettings(TimePickerSettings settings) {
+    return this.settings == settings;
+  }
+
+  /**
+   * refresh, This updates the model to match the current potential menu times, veto policy, and
+   * menu format of the settings. This should be called before the menu is displayed.
+   */
+  public final void refresh() {
+    boolean formatChanged =
+        (cachedFormat != settings.getFormatForMenuTimes())
+            || (cachedLocale != settings.getLocale())
+            || (cachedLowercase != settings.useLowercaseForMenuTimes);
+    if (formatChanged) {
+      Arrays.fill(cachedRowTimes, null);
+      Arrays.fill(cachedRowTexts, null);
+      cachedFormat = settings.getFormatForMenuTimes();
+      cachedLocale = settings.getLocale();
+      cachedLowercase = settings.useLowercaseForMenuTimes;
+    }
+    // Find the rows that are allowed by the veto policy, if any.
+    int menuTimeCount = settings.getPotentialMenuTimeCount();
+    int[] newAllowedIndexes = null;
+    int newSize = menuTimeCount;
+    TimeVetoPolicy vetoPolicy = settings.getVetoPolicy();
+    if (vetoPolicy != null) {
+      newAllowedIndexes = new int[menuTimeCount];
+      newSize = 0;
+      for (int index = 0; index < menuTimeCount; ++index) {
+        LocalTime time = settings.getPotentialMenuTime(index);
+        if (!InternalUtilities.isTimeVetoed(vetoPolicy, time)) {
+          newAllowedIndexes[newSize++] = index;
+        }
+      }
+      // Use the identity mapping when nothing was vetoed.
+      newAllowedIndexes =
+          (newSize == menuTimeCount) ? null : Arrays.copyOf(newAllowedIndexes, newSize);
+    }
+    int oldSize = size;
+    allowedMenuTimeIndexes = newAllowedIndexes;
+    size = newSize;
+    // Notify any listeners about the changes.
+    if (newSize < oldSize) {
+      fireIntervalRemoved(this, newSize, oldSize - 1);
+    } else if (newSize > oldSize) {
+      fireIntervalAdded(this, oldSize, newSize - 1);
+    }
+    int sharedSize = Math.min(oldSize, newSize);
+    if (sharedSize > 0) {
+      fireContentsChanged(this, 0, sharedSize - 1);
+    }
+  }
+}
@@ -35,8 +35,6 @@ import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import javax.swing.DefaultListModel;
 import javax.swing.JList;
 import javax.swing.JPanel;
@@ -72,15 +70,34 @@ public class TimeMenuPanel extends JPanel {
   /** settings, This holds our time picker settings instance. This is supplied at construction. */
   private TimePickerSettings settings;
 
-  /** timeListModel, The holds the list model that is used for populating the time list. */
-  private final DefaultListModel<String> timeListModel;
+  /**
+   * timeListModel, The holds the list model that is used for populating the time list. The rows of
+   * this model are computed on demand. See TimeMenuListModel for details.
+   */
+  private final TimeMenuListModel timeListModel;
 
   public TimeMenuPanel(TimePicker parentTimePicker, TimePickerSettings settings) {
+    this(parentTimePicker, settings, null);
+  }
+
+  /**
+   * Constructor, This creates a time menu panel that displays the supplied time menu list model.
+   * This allows the same list model (and its cached rows) to be used every time that a time menu
+   * is opened. If the supplied model is null, or does not belong to the supplied settings, then a
+   * new list model will be created.
+   */
+  public TimeMenuPanel(
+      TimePicker parentTimePicker,
+      TimePickerSettings settings,
+      TimeMenuListModel optionalReusableListModel) {
     this.parentTimePicker = parentTimePicker;
     this.settings = settings;
     initComponents();
-    timeListModel = new DefaultListModel<>();
-    timeList.setModel(timeListModel);
+    boolean canReuseListModel =
+        (optionalReusableListModel != null)
+            && optionalReusableListModel.isModelForSettings(settings);
+    timeListModel =
+        (canReuseListModel) ? optionalReusableListModel : new TimeMenuListModel(settings);
 
     timeList.addMouseMotionListener(
         new MouseAdapter() {
@@ -106,15 +123,21 @@ public class TimeMenuPanel extends JPanel {
           public void keyReleased(KeyEvent event) {
             if (event.getKeyCode() == KeyEvent.VK_ENTER) {
               event.consume();
-              String selectedTimeString = timeList.getSelectedValue();
-              if (selectedTimeString != null) {
-                userSelectedATime(selectedTimeString);
+              int selectedRow = timeList.getSelectedIndex();
+              if (selectedRow != -1) {
+                userSelectedATime(selectedRow);
               }
             }
           }
         });
     // Generate the time entries for the drop down menu.
     generateTimeEntriesFromSettings();
+    // Give the list a prototype cell value, so that the list does not need to measure every row.
+    String prototypeRowText = timeListModel.getPrototypeRowText();
+    if (prototypeRowText != null) {
+      timeList.setPrototypeCellValue(prototypeRowText);
+    }
+    timeList.setModel(timeListModel);
     // Set the maximum number of visible menu rows to the appropriate value.
     int maximumMenuRows = Math.min(settings.maximumVisibleMenuRows, timeListModel.getSize());
     timeList.setVisibleRowCount(maximumMenuRows);
@@ -173,11 +196,8 @@ public class TimeMenuPanel extends JPanel {
       return;
     }
     try {
-      String selectedTimeString = timeList.getModel().getElementAt(index);
-      if (selectedTimeString != null && !selectedTimeString.isEmpty()) {
-        userSelectedATime(selectedTimeString);
-      }
-    } catch (Exception e) {
+      userSelectedATime(index);
+    } catch (IndexOutOfBoundsException e) {
       throw new RuntimeException(
           "TimeMenuPanel.mouseReleasedWhileTimeListIsOpen() "
               + "Time menu list index is out of bounds. This should not happen. "
@@ -188,37 +208,29 @@ public class TimeMenuPanel extends JPanel {
   public void clearParent() {
     parentTimePicker = null;
     settings = null;
+    // Detach the list from the time list model, because the model may be reused by a later menu.
+    timeList.setModel(new DefaultListModel<>());
   }
 
+  /**
+   * generateTimeEntriesFromSettings, This updates the time list model to match the current
+   * settings. The menu rows are not formatted here. They are computed when they are displayed.
+   */
   final void generateTimeEntriesFromSettings() {
-    timeListModel.clear();
-    DateTimeFormatter formatForMenuTimes = settings.getFormatForMenuTimes();
-    ArrayList<LocalTime> menuTimes = settings.getPotentialMenuTimes();
-    for (LocalTime localTime : menuTimes) {
-      if (!InternalUtilities.isTimeVetoed(settings.getVetoPolicy(), localTime)) {
-        String localizedTime = formatForMenuTimes.format(localTime);
-        if (settings.useLowercaseForMenuTimes) {
-          localizedTime = localizedTime.toLowerCase(settings.getLocale());
-        }
-        timeListModel.addElement(localizedTime);
-      }
-    }
+    timeListModel.refresh();
   }
 
-  private void userSelectedATime(String selectedTimeString) {
-    // Try to parse the selected time string.
-    LocalTime selectedTime =
-        InternalUtilities.getParsedTimeOrNull(
-            selectedTimeString,
-            settings.getFormatForDisplayTime(),
-            settings.getFormatForMenuTimes(),
-            settings.formatsForParsing,
-            settings.getLocale());
-    // Check to see if the time was parsed. The time should always parse successfully.
-    if (selectedTime == null) {
-      throw new RuntimeException(
-          "TimeMenuPanel, " + "Could not parse menu time. This should not happen.");
-    }
+  /** getTimeListModel, This returns the list model that is used for populating the time list. */
+  public TimeMenuListModel getTimeListModel() {
+    return timeListModel;
+  }
+
+  /**
+   * userSelectedATime, This is called when the user selects the specified menu row. The time of
+   * the row is read from the time list model, so the row text does not need to be parsed.
+   */
+  private void userSelectedATime(int row) {
+    LocalTime selectedTime = timeListModel.getTimeAt(row);
 
     // If the selected time is vetoed, do nothing.
     TimeVetoPolicy vetoPolicy = settings.getVetoPolicy();
@@ -275,4 +287,30 @@ public class TimeMenuPanel extends JPanel {
       timeList.requestFocusInWindow();
     }
   }
+
+  /**
+   * selectNearestEntry, This selects the menu row whose time is nearest to the supplied time, and
+   * scrolls that row into view. If the supplied time is null, then the first row is selected.
+   */
+  public void selectNearestEntry(LocalTime time) {
+    int row = timeListModel.getRowNearestTime(time);
+    if (row == -1) {
+      selectFirstEntry();
+      return;
+    }
+    timeList.setSelectedIndex(row);
+    timeList.ensureIndexIsVisible(row);
+    timeList.requestFocusInWindow();
+  }
+
+  /**
+   * scrollToNearestEntry, This scrolls the menu row whose time is nearest to the supplied time into
+   * view, without changing the selection. If the supplied time is null, this does nothing.
+   */
+  public void scrollToNearestEntry(LocalTime time) {
+    int row = timeListModel.getRowNearestTime(time);
+    if (row != -1) {
+      timeList.ensureIndexIsVisible(row);
+    }
+  }
 }
@@ -23,61 +23,171 @@
 package com.github.lgooddatepicker.zinternaltools;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
 
 /**
  * TranslationSource, This class has static functions that are used to provide translations of text
  * in the date pickers. This class accesses the "TranslationResources.properties" file to get its
  * translations.
+ *
+ * <p>The properties file is only read once, the first time that any translation is needed. (Or
+ * when preloadTranslations() is called.) The file is parsed into an immutable table that holds one
+ * Translations instance for each language. After that, a translation lookup does not build any
+ * strings and does not acquire any locks. The loading is thread safe, because it is performed by
+ * the class initialization of a holder class.
  */
 public class TranslationSource {
 
-  /**
-   * translationResources, This holds the translation properties. This variable is only loaded once,
-   * the first time that it is needed.
-   */
-  private static Properties translationResources;
-
   /** propertiesFileName, This holds the name of the properties file. */
   // leading / since it is at the root of the jar
   private static final String propertiesFileName = "/TranslationResources.properties";
 
+  /**
+   * keySeparator, This is the text that separates the language from the translation key, in the
+   * property names of the properties file. For example: "de.text.today".
+   */
+  private static final String keySeparator = ".text.";
+
+  /**
+   * noTranslations, This is returned for any language that does not have translations. It always
+   * returns the default text.
+   */
+  private static final Translations noTranslations =
+      new Translations(Collections.<String, String>emptyMap());
+
+  /**
+   * TranslationTableHolder, This holds the translation table. The table is created by the class
+   * initialization of this holder class. The JVM guarantees that class initialization happens only
+   * once, and that it is safely published to all threads, so no further synchronization is needed.
+   */
+  private static final class TranslationTableHolder {
+
+    /** translationTable, This holds the translations for each language, keyed by language. */
+    private static final Map<String, Translations> translationTable = loadTranslationTable();
+  }
+
+  /**
+   * Translations, This holds all the translations for a single language. Instances of this class
+   * are immutable. The most frequently used translations are held in typed fields.
+   */
+  public static final class Translations {
+
+    /** clear, This holds the translation of "Clear", or null if there is no translation. */
+    private final String clear;
+
+    /** texts, This holds all the translations for this language, keyed by translation key. */
+    private final Map<String, String> texts;
+
+    /** today, This holds the translation of "Today", or null if there is no translation. */
+    private final String today;
+
+    /** Constructor, This creates a translations instance from the supplied translations map. */
+    private Translations(Map<String, String> texts) {
+      this.texts = texts;
+      this.clear = texts.get("clear");
+      this.today = texts.get("today");
+    }
+
+    /**
+     * getClear, This returns the translation of "Clear" for this language. If there is no
+     * translation, then the default text will be returned instead.
+     */
+    public String getClear(String defaultText) {
+      return (clear == null) ? defaultText : clear;
+    }
+
+    /**
+     * getText, This returns the translation for the text that is represented by the specified key.
+     * If there is no translation, then the default text will be returned instead.
+     */
+    public String getText(String key, String defaultText) {
+      String text = texts.get(key);
+      return (text == null) ? defaultText : text;
+    }
+
+    /**
+     * getToday, This returns the translation of "Today" for this language. If there is no
+     * translation, then the default text will be returned instead.
+     */
+    public String getToday(String defaultText) {
+      return (today == null) ? defaultText : today;
+    }
+  }
+
   /**
    * getTranslation, This returns a local language translation for the text that is represented by
    * the specified key. The supplied locale is used to indicate the desired language. If a
    * translation cannot be found, then the default text will be returned instead.
    */
   public static String getTranslation(Locale locale, String key, String defaultText) {
-    initializePropertiesIfNeeded();
+    return getTranslations(locale).getText(key, defaultText);
+  }
+
+  /**
+   * getTranslations, This returns all the translations for the language of the supplied locale. If
+   * there are no translations for the language, this returns an instance that always returns the
+   * default text.
+   */
+  public static Translations getTranslations(Locale locale) {
     String language = locale.getLanguage();
     if (language == null || language.isEmpty()) {
-      return defaultText;
+      return noTranslations;
     }
-    String propertyKey = language + ".text." + key;
-    String result = translationResources.getProperty(propertyKey, defaultText);
-    return result;
+    Translations translations = TranslationTableHolder.translationTable.get(language);
+    return (translations == null) ? noTranslations : translations;
   }
 
   /**
-   * initializePropertiesIfNeeded, If needed, this will initialize the translation properties. If
-   * the translation properties have already been initialized, then this will do nothing.
+   * preloadTranslations, This can optionally be called to load the translations eagerly, for
+   * example from a background thread during application startup. If this is not called, then the
+   * translations will be loaded the first time that they are needed.
    */
-  private static void initializePropertiesIfNeeded() {
-    if (translationResources != null) {
-      return;
-    }
-    try {
-      translationResources = new Properties();
-      translationResources.load(TranslationSource.class.getResourceAsStream(propertiesFileName));
+  public static void preloadTranslations() {
+    TranslationTableHolder.translationTable.size();
+  }
+
+  /**
+   * loadTranslationTable, This reads the translation properties file, and returns an immutable
+   * table that holds the translations for each language.
+   */
+  private static Map<String, Translations> loadTranslationTable() {
+    Properties translationResources = new Properties();
+    try (InputStream stream = TranslationSource.class.getResourceAsStream(propertiesFileName)) {
+      if (stream == null) {
+        throw new IOException("The file was not found.");
+      }
+      translationResources.load(stream);
     } catch (IOException exception) {
       // this should probably be logged instead of thrown if it is
       // non-fatal
       throw new RuntimeException(
           "TranslationSource."
-              + "initializePropertiesIfNeeded(): Could not load "
+              + "loadTranslationTable(): Could not load "
               + "TranslationResources.properties file.",
           exception);
     }
+    // Group the translations by language.
+    HashMap<String, HashMap<String, String>> textsByLanguage = new HashMap<>();
+    for (String propertyName : translationResources.stringPropertyNames()) {
+      int separatorIndex = propertyName.indexOf(keySeparator);
+      if (separatorIndex < 1) {
+        continue;
+      }
+      String language = propertyName.substring(0, separatorIndex);
+      String key = propertyName.substring(separatorIndex + keySeparator.length());
+      textsByLanguage
+          .computeIfAbsent(language, unused -> new HashMap<>())
+          .put(key, translationResources.getProperty(propertyName));
+    }
+    HashMap<String, Translations> table = new HashMap<>();
+    for (Map.Entry<String, HashMap<String, String>> entry : textsByLanguage.entrySet()) {
+      table.put(entry.getKey(), new Translations(Collections.unmodifiableMap(entry.getValue())));
+    }
+    return Collections.unmodifiableMap(table);
   }
 }
@@ -43,13 +43,13 @@ public class YearMonthChangeEvent {
   }
 
   /** source, This is the calendar panel that generated the event. */
-  private CalendarPanel source;
+  private final CalendarPanel source;
 
   /** newYearMonth, This holds the value of the new YearMonth. */
-  private YearMonth newYearMonth;
+  private final YearMonth newYearMonth;
 
   /** oldYearMonth, This holds the value of the old YearMonth. */
-  private YearMonth oldYearMonth;
+  private final YearMonth oldYearMonth;
 
   /** getSource, Returns the calendar panel that generated the event. */
   public CalendarPanel getSource() {
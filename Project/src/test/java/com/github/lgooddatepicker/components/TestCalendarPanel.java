@@ -22,19 +22,34 @@
  */
 package com.github.lgooddatepicker.components;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import com.github.lgooddatepicker.TestHelpers;
 import com.github.lgooddatepicker.components.DatePickerSettings.DateArea;
+import com.github.lgooddatepicker.components.DatePickerSettings.YearMonthEventMode;
+import com.github.lgooddatepicker.optionalusertools.CalendarListener;
+import com.github.lgooddatepicker.optionalusertools.DateInterval;
+import com.github.lgooddatepicker.optionalusertools.RangeDateHighlightPolicy;
+import com.github.lgooddatepicker.optionalusertools.RangeDateVetoPolicy;
+import com.github.lgooddatepicker.zinternaltools.CalendarSelectionEvent;
+import com.github.lgooddatepicker.zinternaltools.DateLocaleProfile;
+import com.github.lgooddatepicker.zinternaltools.DateVetoPolicyMinimumMaximumDate;
 import com.github.lgooddatepicker.zinternaltools.HighlightInformation;
+import com.github.lgooddatepicker.zinternaltools.YearMonthChangeEvent;
+import com.privatejgoodies.forms.factories.CC;
 import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
 import java.awt.event.MouseEvent;
 import java.lang.reflect.InvocationTargetException;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.YearMonth;
 import java.time.temporal.ChronoField;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Locale;
 import javax.swing.JButton;
 import javax.swing.JLabel;
@@ -43,6 +58,7 @@ import javax.swing.JPanel;
 import javax.swing.JPopupMenu;
 import javax.swing.JTextField;
 import javax.swing.MenuElement;
+import javax.swing.SwingUtilities;
 import org.junit.Test;
 
 public class TestCalendarPanel {
@@ -269,6 +285,71 @@ public class TestCalendarPanel {
     }
   }
 
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestRangeDateHighlightAndVetoPolicy()
+      throws NoSuchFieldException,
+          IllegalArgumentException,
+          IllegalAccessException,
+          NoSuchMethodException,
+          InvocationTargetException {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    final int[] rangeCallCount = new int[] {0};
+    settings.setHighlightPolicy(
+        (RangeDateHighlightPolicy)
+            interval -> {
+              if (!interval.firstDate.equals(interval.lastDate)) {
+                ++rangeCallCount[0];
+              }
+              int dateCount = (int) interval.firstDate.until(interval.lastDate).getDays() + 1;
+              HighlightInformation[] result = new HighlightInformation[dateCount];
+              for (int i = 0; i < dateCount; ++i) {
+                if (interval.firstDate.plusDays(i).getDayOfMonth() % 2 == 0) {
+                  result[i] = new HighlightInformation(Color.green, Color.blue, "highlighted");
+                }
+              }
+              return result;
+            });
+    CalendarPanel panel = new CalendarPanel(settings);
+    settings.setVetoPolicy(
+        (RangeDateVetoPolicy)
+            interval -> {
+              if (!interval.firstDate.equals(interval.lastDate)) {
+                ++rangeCallCount[0];
+              }
+              BitSet allowedDates = new BitSet();
+              int dateCount = (int) interval.firstDate.until(interval.lastDate).getDays() + 1;
+              for (int i = 0; i < dateCount; ++i) {
+                allowedDates.set(i, interval.firstDate.plusDays(i).getDayOfMonth() % 5 != 0);
+              }
+              return allowedDates;
+            });
+    assertTrue(
+        "The single date adapter must use the range function",
+        !settings.isDateAllowed(LocalDate.of(2021, Month.MARCH, 10)));
+    rangeCallCount[0] = 0;
+    panel.setDisplayedYearMonth(YearMonth.of(2021, Month.MARCH));
+    assertTrue(
+        "Each range policy should resolve the month once per redraw, but the month call count was "
+            + rangeCallCount[0],
+        rangeCallCount[0] == 2);
+
+    final Color defaultColor = settings.getColor(DateArea.CalendarBackgroundNormalDates);
+    final Color defaultTextColor = settings.getColor(DateArea.CalendarTextNormalDates);
+    final Color defaultVetoedColor = settings.getColor(DateArea.CalendarBackgroundVetoedDates);
+    for (int dayLabelIdx = 1; dayLabelIdx <= 31; ++dayLabelIdx) {
+      if (dayLabelIdx % 5 == 0) {
+        verifyDateLabelColorAndToolTip(
+            panel, dayLabelIdx, defaultVetoedColor, defaultTextColor, null);
+        continue;
+      }
+      if (dayLabelIdx % 2 == 0) {
+        verifyDateLabelColorAndToolTip(panel, dayLabelIdx, Color.green, Color.blue, "highlighted");
+        continue;
+      }
+      verifyDateLabelColorAndToolTip(panel, dayLabelIdx, defaultColor, defaultTextColor, null);
+    }
+  }
+
   void verifyDateLabelColorAndToolTip(
       CalendarPanel panel, int labelIdx, Color bgColor, Color textColor, String tooltip)
       throws NoSuchFieldException,
@@ -292,6 +373,357 @@ public class TestCalendarPanel {
         labeltoverify.getForeground().equals(textColor));
   }
 
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestIncrementalRedraw()
+      throws NoSuchFieldException,
+          IllegalArgumentException,
+          IllegalAccessException,
+          NoSuchMethodException,
+          InvocationTargetException {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    settings.setEnableIncrementalRedraw(true);
+    CalendarPanel panel = new CalendarPanel(settings);
+    ArrayList<?> labelList =
+        (ArrayList<?>) TestHelpers.readPrivateField(CalendarPanel.class, panel, "dateLabels");
+    // March 2021 starts on a monday, and has 31 days.
+    panel.setDisplayedYearMonth(YearMonth.of(2021, Month.MARCH));
+    // February 2021 starts on a monday, and has 28 days.
+    panel.setDisplayedYearMonth(YearMonth.of(2021, Month.FEBRUARY));
+    for (int dayLabelIdx = 0; dayLabelIdx < 42; ++dayLabelIdx) {
+      JLabel label = (JLabel) labelList.get(dayLabelIdx);
+      String expectedText =
+          (dayLabelIdx < 1 || dayLabelIdx > 28) ? "" : String.valueOf(dayLabelIdx);
+      assertTrue(
+          "DateLabel_" + dayLabelIdx + " has wrong text: " + label.getText(),
+          label.getText().equals(expectedText));
+    }
+    // Vetoed dates must be disabled, and must be enabled again when the veto policy is removed.
+    settings.setVetoPolicy(dateToVeto -> dateToVeto.getDayOfMonth() != 10);
+    JLabel vetoedLabel = (JLabel) labelList.get(10);
+    assertTrue("DateLabel_10 should be disabled", !vetoedLabel.isEnabled());
+    settings.setVetoPolicy(null);
+    assertTrue("DateLabel_10 should be enabled", vetoedLabel.isEnabled());
+    // The selected date must use the selected date colors, and must revert when deselected.
+    panel.setSelectedDate(LocalDate.of(2021, Month.FEBRUARY, 3));
+    JLabel selectedLabel = (JLabel) labelList.get(3);
+    assertTrue(
+        "DateLabel_3 has wrong background color",
+        selectedLabel
+            .getBackground()
+            .equals(settings.getColor(DateArea.CalendarBackgroundSelectedDate)));
+    panel.setSelectedDate(null);
+    verifyDateLabelColorAndToolTip(
+        panel,
+        3,
+        settings.getColor(DateArea.CalendarBackgroundNormalDates),
+        settings.getColor(DateArea.CalendarTextNormalDates),
+        null);
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestSizesAreOnlyAppliedWhenChanged()
+      throws NoSuchFieldException, IllegalAccessException {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    CalendarPanel panel = new CalendarPanel(settings);
+    Dimension appliedSize =
+        (Dimension)
+            TestHelpers.readPrivateField(
+                CalendarPanel.class, panel, "appliedMonthAndYearPanelSize");
+    // Navigating between months must not apply a new size.
+    panel.setDisplayedYearMonth(YearMonth.of(2021, Month.MARCH));
+    panel.setDisplayedYearMonth(YearMonth.of(2021, Month.SEPTEMBER));
+    assertTrue(
+        appliedSize
+            == TestHelpers.readPrivateField(
+                CalendarPanel.class, panel, "appliedMonthAndYearPanelSize"));
+    // Changing the font must apply a new size.
+    Font largerFont = settings.getFontMonthAndYearMenuLabels().deriveFont(40f);
+    settings.setFontMonthAndYearMenuLabels(largerFont);
+    panel.drawCalendar();
+    Dimension newSize =
+        (Dimension)
+            TestHelpers.readPrivateField(
+                CalendarPanel.class, panel, "appliedMonthAndYearPanelSize");
+    assertTrue(newSize.width > appliedSize.width);
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestYearMenuItemsAreReused()
+      throws NoSuchFieldException,
+          IllegalAccessException,
+          NoSuchMethodException,
+          InvocationTargetException {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    CalendarPanel panel = new CalendarPanel(settings);
+    panel.setSelectedDate(LocalDate.of(2000, Month.MAY, 5));
+    JPopupMenu popupYear =
+        (JPopupMenu) TestHelpers.readPrivateField(CalendarPanel.class, panel, "popupYear");
+    TestHelpers.accessPrivateMethod(CalendarPanel.class, "populateYearPopupMenu", int.class)
+        .invoke(panel, 2000);
+    int componentCount = popupYear.getComponentCount();
+    JMenuItem firstYearItem = (JMenuItem) popupYear.getComponent(1);
+    assertTrue(firstYearItem.getText().equals("1989"));
+    // Scrolling to later years must relabel the same menu items.
+    TestHelpers.accessPrivateMethod(CalendarPanel.class, "populateYearPopupMenu", int.class)
+        .invoke(panel, 2023);
+    assertTrue(popupYear.getComponentCount() == componentCount);
+    assertTrue(popupYear.getComponent(1) == firstYearItem);
+    assertTrue(firstYearItem.getText().equals("2012"));
+    // The shared action must read the year from the clicked item.
+    firstYearItem.doClick();
+    assertTrue(panel.getDisplayedYearMonth().equals(YearMonth.of(2012, Month.MAY)));
+    // Unused year items are hidden when the date range limits leave fewer years.
+    settings.setDateRangeLimits(LocalDate.of(2010, 1, 1), LocalDate.of(2014, 12, 31));
+    TestHelpers.accessPrivateMethod(CalendarPanel.class, "populateYearPopupMenu", int.class)
+        .invoke(panel, 2012);
+    assertTrue(popupYear.getComponentCount() == componentCount);
+    assertTrue(firstYearItem.getText().equals("2010"));
+    assertFalse(popupYear.getComponent(6).isVisible());
+    assertFalse(popupYear.getComponent(0).isVisible());
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestYearMonthEventModes() throws InterruptedException, InvocationTargetException {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    CalendarPanel panel = new CalendarPanel(settings);
+    panel.setDisplayedYearMonth(YearMonth.of(2020, Month.JANUARY));
+    ArrayList<YearMonthChangeEvent> events = new ArrayList<>();
+    panel.addCalendarListener(
+        new CalendarListener() {
+          @Override
+          public void selectedDateChanged(CalendarSelectionEvent event) {}
+
+          @Override
+          public void yearMonthChanged(YearMonthChangeEvent event) {
+            events.add(event);
+          }
+        });
+    // By default, every redraw notifies the listeners.
+    panel.drawCalendar();
+    assertTrue(events.size() == 1 && events.get(0).isDuplicate());
+    // Redraws of the same YearMonth are skipped when only changes are requested.
+    events.clear();
+    settings.setYearMonthEventMode(YearMonthEventMode.ChangesOnly);
+    panel.drawCalendar();
+    assertTrue(events.isEmpty());
+    panel.setDisplayedYearMonth(YearMonth.of(2020, Month.FEBRUARY));
+    assertTrue(events.size() == 1 && !events.get(0).isDuplicate());
+    // Quick changes are delivered once, with the first old and final new YearMonth.
+    // The changes are made on the event dispatch thread, so the coalesced event can not run early.
+    events.clear();
+    settings.setYearMonthEventMode(YearMonthEventMode.CoalescedChanges);
+    SwingUtilities.invokeAndWait(
+        () -> {
+          panel.setDisplayedYearMonth(YearMonth.of(2020, Month.MARCH));
+          panel.setDisplayedYearMonth(YearMonth.of(2020, Month.APRIL));
+          panel.drawCalendar();
+          assertTrue(events.isEmpty());
+        });
+    SwingUtilities.invokeAndWait(() -> {});
+    assertTrue(events.size() == 1);
+    assertTrue(events.get(0).getOldYearMonth().equals(YearMonth.of(2020, Month.FEBRUARY)));
+    assertTrue(events.get(0).getNewYearMonth().equals(YearMonth.of(2020, Month.APRIL)));
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestBatchedSettingsRedraws()
+      throws InterruptedException, InvocationTargetException, NoSuchFieldException,
+          IllegalAccessException {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    CalendarPanel panel = new CalendarPanel(settings);
+    // In the default event mode, each calendar redraw sends one YearMonth event.
+    ArrayList<YearMonthChangeEvent> redraws = new ArrayList<>();
+    panel.addCalendarListener(
+        new CalendarListener() {
+          @Override
+          public void selectedDateChanged(CalendarSelectionEvent event) {}
+
+          @Override
+          public void yearMonthChanged(YearMonthChangeEvent event) {
+            redraws.add(event);
+          }
+        });
+    settings.setColor(DateArea.CalendarTextNormalDates, Color.blue);
+    assertTrue(redraws.size() == 1);
+    // A batch of settings changes must redraw the calendar once.
+    redraws.clear();
+    settings.batch(
+        s -> {
+          s.setColor(DateArea.CalendarTextNormalDates, Color.red);
+          s.setColor(DateArea.CalendarBackgroundNormalDates, Color.yellow);
+          s.setFontCalendarDateLabels(new Font(Font.DIALOG, Font.BOLD, 14));
+          s.setVisibleTodayButton(false);
+          assertTrue(redraws.isEmpty());
+        });
+    assertTrue(redraws.size() == 1);
+    // The label indicator colors must also be applied once the batch is complete.
+    JLabel labelMonth =
+        (JLabel) TestHelpers.readPrivateField(CalendarPanel.class, panel, "labelMonth");
+    settings.batch(
+        s -> {
+          s.setColor(DateArea.BackgroundMonthAndYearMenuLabels, Color.orange);
+          assertFalse(labelMonth.getBackground().equals(Color.orange));
+        });
+    assertTrue(labelMonth.getBackground().equals(Color.orange));
+    // Coalesced redraws must be performed once, from a later event.
+    // The changes are made on the event dispatch thread, so the redraw can not run early.
+    redraws.clear();
+    settings.setEnableCoalescedRedraws(true);
+    SwingUtilities.invokeAndWait(
+        () -> {
+          settings.setColor(DateArea.CalendarTextNormalDates, Color.green);
+          settings.setWeekNumbersDisplayed(true, true);
+          assertTrue(redraws.isEmpty());
+        });
+    SwingUtilities.invokeAndWait(() -> {});
+    assertTrue(redraws.size() == 1);
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestWeekdayLabels() throws NoSuchFieldException, IllegalAccessException {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    settings.setFirstDayOfWeek(DayOfWeek.MONDAY);
+    CalendarPanel panel = new CalendarPanel(settings);
+    @SuppressWarnings("unchecked")
+    ArrayList<JLabel> weekdayLabels =
+        (ArrayList<JLabel>)
+            TestHelpers.readPrivateField(CalendarPanel.class, panel, "weekdayLabels");
+    assertTrue(weekdayLabels.get(0).getText().equals("Mon"));
+    assertTrue(weekdayLabels.get(6).getText().equals("Sun"));
+    settings.setFirstDayOfWeek(DayOfWeek.SUNDAY);
+    assertTrue(weekdayLabels.get(0).getText().equals("Sun"));
+    // The ordered labels are shared for each locale and first day of the week.
+    DateLocaleProfile profile = DateLocaleProfile.getProfile(Locale.ENGLISH);
+    assertTrue(
+        profile.getShortWeekdayLabels(DayOfWeek.SUNDAY)
+            == profile.getShortWeekdayLabels(DayOfWeek.SUNDAY));
+    assertTrue(profile.getShortWeekdayLabels(DayOfWeek.WEDNESDAY).get(1).equals("Thu"));
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestPrepareForReuse() throws NoSuchFieldException, IllegalAccessException {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    settings.setEnableCalendarPanelReuse(true);
+    settings.setDefaultYearMonth(YearMonth.of(2020, Month.JUNE));
+    DatePicker picker = new DatePicker(settings);
+    CalendarPanel panel = new CalendarPanel(picker);
+    panel.setSelectedDate(LocalDate.of(2021, Month.FEBRUARY, 3));
+    JPanel monthAndYearInnerPanel =
+        (JPanel) TestHelpers.readPrivateField(CalendarPanel.class, panel, "monthAndYearInnerPanel");
+    JPanel yearEditorPanel =
+        (JPanel) TestHelpers.readPrivateField(CalendarPanel.class, panel, "yearEditorPanel");
+    monthAndYearInnerPanel.add(yearEditorPanel, CC.xy(3, 1));
+    // Reusing the panel with a date must select that date and display its month.
+    panel.zPrepareForReuse(LocalDate.of(2022, Month.MAY, 7));
+    assertTrue(panel.getSelectedDate().equals(LocalDate.of(2022, Month.MAY, 7)));
+    assertTrue(panel.getDisplayedYearMonth().equals(YearMonth.of(2022, Month.MAY)));
+    assertTrue(!monthAndYearInnerPanel.isAncestorOf(yearEditorPanel));
+    // Reusing the panel without a date must match a newly constructed panel.
+    panel.zPrepareForReuse(null);
+    assertTrue(panel.getSelectedDate() == null);
+    assertTrue(panel.getDisplayedYearMonth().equals(YearMonth.of(2020, Month.JUNE)));
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestSkipVetoedMonths() {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    CalendarPanel panel = new CalendarPanel(settings);
+    DateVetoPolicyMinimumMaximumDate rangePolicy =
+        new DateVetoPolicyMinimumMaximumDate(
+            LocalDate.of(2020, Month.JANUARY, 1), LocalDate.of(2021, Month.DECEMBER, 31));
+    rangePolicy.addVetoedInterval(
+        new DateInterval(LocalDate.of(2020, Month.MARCH, 1), LocalDate.of(2020, Month.JULY, 31)));
+    settings.setVetoPolicy(rangePolicy);
+    panel.setDisplayedYearMonth(YearMonth.of(2020, Month.FEBRUARY));
+    // Without the setting, the buttons move by one month and are always enabled.
+    assertTrue(panel.getPreviousYearButton().isEnabled());
+    panel.getNextMonthButton().doClick();
+    assertTrue(panel.getDisplayedYearMonth().equals(YearMonth.of(2020, Month.MARCH)));
+    // With the setting, the buttons skip the vetoed months.
+    settings.setEnableSkipVetoedMonths(true);
+    panel.setDisplayedYearMonth(YearMonth.of(2020, Month.FEBRUARY));
+    assertFalse(panel.getPreviousYearButton().isEnabled());
+    assertTrue(panel.getPreviousMonthButton().isEnabled());
+    panel.getNextMonthButton().doClick();
+    assertTrue(panel.getDisplayedYearMonth().equals(YearMonth.of(2020, Month.AUGUST)));
+    panel.getPreviousMonthButton().doClick();
+    assertTrue(panel.getDisplayedYearMonth().equals(YearMonth.of(2020, Month.FEBRUARY)));
+    panel.getNextYearButton().doClick();
+    assertTrue(panel.getDisplayedYearMonth().equals(YearMonth.of(2021, Month.FEBRUARY)));
+    panel.getPreviousYearButton().doClick();
+    assertTrue(panel.getDisplayedYearMonth().equals(YearMonth.of(2020, Month.FEBRUARY)));
+    // The buttons are disabled when no allowed month exists in their direction.
+    panel.setDisplayedYearMonth(YearMonth.of(2021, Month.DECEMBER));
+    assertFalse(panel.getNextMonthButton().isEnabled());
+    assertFalse(panel.getNextYearButton().isEnabled());
+    assertTrue(panel.getPreviousYearButton().isEnabled());
+    panel.getNextMonthButton().doClick();
+    assertTrue(panel.getDisplayedYearMonth().equals(YearMonth.of(2021, Month.DECEMBER)));
+    // A regular veto policy is checked one month at a time.
+    settings.setVetoPolicy(date -> (date.getMonthValue() % 3 == 0));
+    panel.setDisplayedYearMonth(YearMonth.of(2021, Month.MARCH));
+    assertTrue(panel.getNextMonthButton().isEnabled());
+    panel.getNextMonthButton().doClick();
+    assertTrue(panel.getDisplayedYearMonth().equals(YearMonth.of(2021, Month.JUNE)));
+    panel.getPreviousYearButton().doClick();
+    assertTrue(panel.getDisplayedYearMonth().equals(YearMonth.of(2020, Month.JUNE)));
+    settings.setVetoPolicy(date -> false);
+    assertFalse(panel.getNextMonthButton().isEnabled());
+    assertFalse(panel.getPreviousMonthButton().isEnabled());
+    // Turning off the setting enables all the buttons again.
+    settings.setEnableSkipVetoedMonths(false);
+    assertTrue(panel.getNextMonthButton().isEnabled());
+    assertTrue(panel.getPreviousYearButton().isEnabled());
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestSkipVetoedMonthsFollowsPolicyChanges() {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    CalendarPanel panel = new CalendarPanel(settings);
+    DateVetoPolicyMinimumMaximumDate rangePolicy =
+        new DateVetoPolicyMinimumMaximumDate(null, LocalDate.of(2020, Month.JUNE, 30));
+    settings.setVetoPolicy(rangePolicy);
+    settings.setEnableSkipVetoedMonths(true);
+    panel.setDisplayedYearMonth(YearMonth.of(2020, Month.JUNE));
+    assertFalse(panel.getNextMonthButton().isEnabled());
+    // Changing the rules of the same policy must be shown by the next redraw of the same month.
+    rangePolicy.setDateRangeLimits(null, LocalDate.of(2020, Month.DECEMBER, 31));
+    panel.drawCalendar();
+    assertTrue(panel.getNextMonthButton().isEnabled());
+    assertFalse(panel.getNextYearButton().isEnabled());
+    // The same applies to a custom policy that changes its rules.
+    boolean[] allowDates = {false};
+    settings.setVetoPolicy(
+        date -> allowDates[0] || YearMonth.from(date).equals(YearMonth.of(2020, Month.JUNE)));
+    assertFalse(panel.getNextMonthButton().isEnabled());
+    allowDates[0] = true;
+    panel.drawCalendar();
+    assertTrue(panel.getNextMonthButton().isEnabled());
+    assertTrue(panel.getPreviousYearButton().isEnabled());
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestDisabledNavigationButtonsAreKept() {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    CalendarPanel panel = new CalendarPanel(settings);
+    // Without the setting, a button disabled by the programmer must stay disabled.
+    panel.getNextMonthButton().setEnabled(false);
+    panel.setDisplayedYearMonth(YearMonth.of(2020, Month.FEBRUARY));
+    panel.getPreviousMonthButton().doClick();
+    assertFalse(panel.getNextMonthButton().isEnabled());
+    assertTrue(panel.getPreviousMonthButton().isEnabled());
+    // Turning the setting on and off must only enable the buttons that the setting disabled.
+    settings.setVetoPolicy(
+        new DateVetoPolicyMinimumMaximumDate(null, LocalDate.of(2020, Month.FEBRUARY, 28)));
+    settings.setEnableSkipVetoedMonths(true);
+    panel.setDisplayedYearMonth(YearMonth.of(2020, Month.FEBRUARY));
+    assertFalse(panel.getNextYearButton().isEnabled());
+    settings.setEnableSkipVetoedMonths(false);
+    panel.setDisplayedYearMonth(YearMonth.of(2020, Month.MARCH));
+    assertTrue(panel.getNextYearButton().isEnabled());
+    assertFalse(panel.getNextMonthButton().isEnabled());
+  }
+
   @Test(expected = Test.None.class /* no exception expected */)
   public void TestYearEditor()
       throws NoSuchFieldException,
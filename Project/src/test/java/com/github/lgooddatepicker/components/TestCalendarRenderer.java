@@ -0,0 +1,129 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.components;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.github.lgooddatepicker.components.DatePickerSettings.DateArea;
+import com.github.lgooddatepicker.zinternaltools.HighlightInformation;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+public class TestCalendarRenderer {
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestRenderedColors() {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    settings.setWeekNumbersDisplayed(true, true);
+    settings.setHighlightPolicy(
+        date ->
+            (date.getDayOfMonth() == 20)
+                ? new HighlightInformation(Color.orange, Color.blue, "highlighted")
+                : null);
+    // The veto policy is supplied to the renderer, because the settings do not have a parent.
+    CalendarRenderer renderer =
+        new CalendarRenderer(
+            settings, date -> date.getDayOfMonth() != 10, settings.getHighlightPolicy());
+    // Changes to the settings after construction must not affect the renderer.
+    settings.setColor(DateArea.CalendarBackgroundVetoedDates, Color.magenta);
+    YearMonth yearMonth = YearMonth.of(2021, Month.MARCH);
+    LocalDate selectedDate = LocalDate.of(2021, Month.MARCH, 5);
+    BufferedImage image = renderer.renderMonth(yearMonth, selectedDate);
+    Dimension size = renderer.getImageSize();
+    assertEquals(size.width, image.getWidth());
+    assertEquals(size.height, image.getHeight());
+
+    Rectangle selectedBounds = renderer.getDateCellBounds(yearMonth, selectedDate);
+    assertTrue(new Rectangle(size).contains(selectedBounds));
+    assertEquals(
+        DateArea.CalendarBorderSelectedDate.defaultColor.getRGB(),
+        image.getRGB(selectedBounds.x, selectedBounds.y));
+    assertPixel(image, selectedBounds, 2, DateArea.CalendarBackgroundSelectedDate.defaultColor);
+    assertPixel(
+        image,
+        renderer.getDateCellBounds(yearMonth, LocalDate.of(2021, Month.MARCH, 10)),
+        2,
+        DateArea.CalendarBackgroundVetoedDates.defaultColor);
+    assertPixel(
+        image,
+        renderer.getDateCellBounds(yearMonth, LocalDate.of(2021, Month.MARCH, 20)),
+        2,
+        Color.orange);
+    assertPixel(
+        image,
+        renderer.getDateCellBounds(yearMonth, LocalDate.of(2021, Month.MARCH, 21)),
+        2,
+        DateArea.CalendarBackgroundNormalDates.defaultColor);
+    // Dates outside of the month do not have a date cell.
+    assertTrue(renderer.getDateCellBounds(yearMonth, LocalDate.of(2021, Month.APRIL, 1)) == null);
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestParallelRendering() throws Exception {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    // The veto policy of the settings is used, when the settings have a parent.
+    new CalendarPanel(settings);
+    settings.setVetoPolicy(date -> (date.getDayOfMonth() % 3) != 0);
+    CalendarRenderer renderer = new CalendarRenderer(settings);
+    YearMonth firstMonth = YearMonth.of(2020, Month.JANUARY);
+    int monthCount = 24;
+    ArrayList<int[]> expectedPixels = new ArrayList<>();
+    for (int monthIndex = 0; monthIndex < monthCount; ++monthIndex) {
+      expectedPixels.add(getPixels(renderer.renderMonth(firstMonth.plusMonths(monthIndex), null)));
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      ArrayList<Future<int[]>> futures = new ArrayList<>();
+      for (int monthIndex = 0; monthIndex < monthCount; ++monthIndex) {
+        YearMonth yearMonth = firstMonth.plusMonths(monthIndex);
+        futures.add(executor.submit(() -> getPixels(renderer.renderMonth(yearMonth, null))));
+      }
+      for (int monthIndex = 0; monthIndex < monthCount; ++monthIndex) {
+        assertTrue(Arrays.equals(expectedPixels.get(monthIndex), futures.get(monthIndex).get()));
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static void assertPixel(BufferedImage image, Rectangle bounds, int inset, Color color) {
+    assertEquals(color.getRGB(), image.getRGB(bounds.x + inset, bounds.y + inset));
+  }
+
+  private static int[] getPixels(BufferedImage image) {
+    return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+  }
+}
@@ -25,15 +25,24 @@ package com.github.lgooddatepicker.components;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import com.github.lgooddatepicker.AutoDisposeFrame;
 import com.github.lgooddatepicker.TestHelpers;
+import com.github.lgooddatepicker.zinternaltools.CustomPopup;
+import com.github.lgooddatepicker.zinternaltools.FormatCache;
 import java.awt.Color;
+import java.awt.Container;
+import java.awt.FlowLayout;
+import java.awt.Window;
 import java.lang.reflect.InvocationTargetException;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.YearMonth;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Locale;
+import javax.swing.JTextField;
+import javax.swing.JWindow;
 import org.junit.Test;
 
 public class TestDatePicker {
@@ -110,6 +119,102 @@ public class TestDatePicker {
     validateDatePickerDisabledColor(picker, defaultDisabledText, defaultDisabledBackground);
   }
 
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestParseCacheFollowsFormatChanges() {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    DatePicker picker = new DatePicker(settings);
+    settings.setFormatForDatesCommonEra("yyyy-MM-dd");
+    picker.setText("2021-03-04");
+    assertTrue(picker.isTextFieldValid());
+    assertTrue(picker.getDate().equals(LocalDate.of(2021, Month.MARCH, 4)));
+    // Replacing the parsing formats must invalidate the cached parse result for the same text.
+    settings.setFormatForDatesCommonEra("dd.MM.yyyy");
+    settings.setFormatsForParsing(new ArrayList<>());
+    assertFalse(picker.isTextValid("2021-03-04"));
+    assertTrue(picker.isTextValid("04.03.2021"));
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestParseCacheFollowsInPlaceFormatEdits() {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    DatePicker picker = new DatePicker(settings);
+    picker.setText("3/4/21");
+    assertTrue(picker.isTextFieldValid());
+    // Editing the parsing formats list in place must also invalidate the cached parse result.
+    settings.getFormatsForParsing().clear();
+    assertFalse(picker.isTextFieldValid());
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestBatchedTextFieldUpdates() {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    DatePicker picker = new DatePicker(settings);
+    JTextField textField = picker.getComponentDateTextField();
+    int width = textField.getMinimumSize().width;
+    // The text field width and visibility must only be applied once the batch is complete.
+    settings.batch(
+        s -> {
+          s.setFontValidDate(s.getFontValidDate().deriveFont(40f));
+          s.setFormatForDatesCommonEra("EEEE, MMMM d, yyyy");
+          s.setVisibleDateTextField(false);
+          assertTrue(textField.getMinimumSize().width == width);
+          assertTrue(textField.isVisible());
+        });
+    assertTrue(textField.getMinimumSize().width > width);
+    assertFalse(textField.isVisible());
+    // The text field text must only be validated once the batch is complete, for both eras.
+    picker.setDate(LocalDate.of(-100, Month.MARCH, 4));
+    String text = textField.getText();
+    settings.batch(
+        s -> {
+          s.setFormatForDatesBeforeCommonEra("uuuu-MM-dd");
+          assertTrue(textField.getText().equals(text));
+        });
+    assertTrue(textField.getText().equals("-0100-03-04"));
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestFormatCacheForDates() {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    settings.setFormatForDatesCommonEra("yyyy-MM-dd");
+    FormatCache<LocalDate> cache = settings.getFormatCacheForDates();
+    cache.resetCounters();
+    LocalDate date = LocalDate.of(2021, Month.MARCH, 4);
+    assertTrue(settings.getFormattedDate(date).equals("2021-03-04"));
+    assertTrue(settings.getFormattedDate(date).equals("2021-03-04"));
+    assertTrue(cache.getMissCount() == 1);
+    assertTrue(cache.getHitCount() == 1);
+    assertTrue(settings.getFormattedDate(null).isEmpty());
+    // Changing the format must invalidate the cached strings.
+    settings.setFormatForDatesCommonEra("dd.MM.yyyy");
+    assertTrue(cache.getSize() == 0);
+    assertTrue(settings.getFormattedDate(date).equals("04.03.2021"));
+    assertTrue(cache.getMissCount() == 2);
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestLocaleProfileIsShared() {
+    DatePickerSettings first = new DatePickerSettings(Locale.GERMAN);
+    DatePickerSettings second = new DatePickerSettings(Locale.GERMAN);
+    // Immutable locale values must be shared between settings instances.
+    assertTrue(first.getFormatForDatesCommonEra() == second.getFormatForDatesCommonEra());
+    assertTrue(first.getFormatsForParsing().get(0) == second.getFormatsForParsing().get(0));
+    assertTrue(first.getTranslationToday().equals(second.getTranslationToday()));
+    // Mutable values must not be shared.
+    assertTrue(first.getFormatsForParsing() != second.getFormatsForParsing());
+    assertTrue(
+        first.getTranslationArrayStandaloneLongMonthNames()
+            != second.getTranslationArrayStandaloneLongMonthNames());
+    int parsingFormatCount = second.getFormatsForParsing().size();
+    first.getFormatsForParsing().clear();
+    first.getTranslationArrayStandaloneLongMonthNames()[0] = "changed";
+    assertTrue(second.getFormatsForParsing().size() == parsingFormatCount);
+    assertFalse(second.getTranslationArrayStandaloneLongMonthNames()[0].equals("changed"));
+    DatePickerSettings third = new DatePickerSettings(Locale.GERMAN);
+    assertTrue(third.getFormatsForParsing().size() == parsingFormatCount);
+    assertFalse(third.getTranslationArrayStandaloneLongMonthNames()[0].equals("changed"));
+  }
+
   void validateDatePickerDisabledColor(
       DatePicker picker, Color disabledTextColor, Color disabledBackground) {
     final Color validText =
@@ -129,4 +234,51 @@ public class TestDatePicker {
       assertFalse(picker.getComponentDateTextField().getBackground().equals(enabledBackground));
     }
   }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestPopupWindowIsShared()
+      throws NoSuchFieldException, IllegalAccessException, InterruptedException {
+    org.junit.Assume.assumeTrue(TestHelpers.isUiAvailable());
+    try (AutoDisposeFrame testWin = new AutoDisposeFrame()) {
+      DatePicker datePicker = new DatePicker(new DatePickerSettings(Locale.ENGLISH));
+      TimePicker timePicker = new TimePicker(new TimePickerSettings(Locale.ENGLISH));
+      testWin.setLayout(new FlowLayout());
+      testWin.add(datePicker);
+      testWin.add(timePicker);
+      testWin.pack();
+      testWin.setVisible(true);
+      Thread.sleep(100);
+      // Open the date picker popup, and then the time picker popup.
+      datePicker.openPopup();
+      CustomPopup datePopup =
+          (CustomPopup) TestHelpers.readPrivateField(DatePicker.class, datePicker, "popup");
+      Object dateWindow =
+          TestHelpers.readPrivateField(CustomPopup.class, datePopup, "displayWindow");
+      assertTrue(datePopup.isInSharedWindow());
+      timePicker.openPopup();
+      CustomPopup timePopup =
+          (CustomPopup) TestHelpers.readPrivateField(TimePicker.class, timePicker, "popup");
+      Object timeWindow =
+          TestHelpers.readPrivateField(CustomPopup.class, timePopup, "displayWindow");
+      // Both popups use the same window. Opening the time popup hides the date popup.
+      assertTrue(dateWindow == timeWindow);
+      assertFalse(datePicker.isPopupOpen());
+      assertFalse(datePopup.isInSharedWindow());
+      // Hiding the old date popup again must not hide the time popup.
+      datePopup.hide();
+      assertTrue(((Window) timeWindow).isVisible());
+      timePopup.hide();
+      assertFalse(((Window) timeWindow).isVisible());
+      // The hidden window must not keep the contents of the closed popup.
+      Container mainPanel = (Container) ((JWindow) timeWindow).getContentPane().getComponent(0);
+      assertTrue(mainPanel.getComponentCount() == 0);
+      // The date picker reuses the same window when it is opened again.
+      datePicker.openPopup();
+      datePopup = (CustomPopup) TestHelpers.readPrivateField(DatePicker.class, datePicker, "popup");
+      assertTrue(
+          TestHelpers.readPrivateField(CustomPopup.class, datePopup, "displayWindow")
+              == dateWindow);
+      datePicker.closePopup();
+    }
+  }
 }
@@ -30,8 +30,11 @@ import static org.junit.Assert.assertTrue;
 
 import com.github.lgooddatepicker.TestHelpers;
 import com.github.lgooddatepicker.components.TimePickerSettings.TimeArea;
+import com.github.lgooddatepicker.optionalusertools.PickerUtilities;
 import com.github.lgooddatepicker.optionalusertools.TimeChangeListener;
 import com.github.lgooddatepicker.zinternaltools.TimeChangeEvent;
+import com.github.lgooddatepicker.zinternaltools.TimeMenuListModel;
+import com.github.lgooddatepicker.zinternaltools.TimeMenuPanel;
 import java.awt.Color;
 import java.time.Clock;
 import java.time.LocalTime;
@@ -273,6 +276,68 @@ public class TestTimePicker {
     validateTimePickerDisabledColor(picker, Color.yellow, Color.blue);
   }
 
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestSpinnerSkipsVetoedTimes() {
+    TimePickerSettings settings = new TimePickerSettings(Locale.ENGLISH);
+    TimePicker picker = new TimePicker(settings);
+    // Only allow two half hour slots.
+    settings.setVetoPolicy(
+        time ->
+            PickerUtilities.isLocalTimeInRange(
+                    time, LocalTime.of(9, 0), LocalTime.of(9, 30), true)
+                || PickerUtilities.isLocalTimeInRange(
+                    time, LocalTime.of(14, 0), LocalTime.of(14, 30), true));
+    picker.setTime(LocalTime.of(9, 29));
+    picker.zInternalTryChangeTimeByIncrement(1);
+    assertEquals(LocalTime.of(9, 30), picker.getTime());
+    // Stepping past the end of a slot jumps to the next slot.
+    picker.zInternalTryChangeTimeByIncrement(1);
+    assertEquals(LocalTime.of(14, 0), picker.getTime());
+    picker.zInternalTryChangeTimeByIncrement(-1);
+    assertEquals(LocalTime.of(9, 30), picker.getTime());
+    // Stepping wraps around midnight.
+    picker.setTime(LocalTime.of(14, 30));
+    picker.zInternalTryChangeTimeByIncrement(1);
+    assertEquals(LocalTime.of(9, 0), picker.getTime());
+    // A new veto policy is used immediately.
+    settings.setVetoPolicy(time -> time.getMinute() == 0);
+    picker.zInternalTryChangeTimeByIncrement(1);
+    assertEquals(LocalTime.of(10, 0), picker.getTime());
+    // If no other time is allowed, the time does not change.
+    settings.setVetoPolicy(time -> time.equals(LocalTime.of(10, 0)));
+    picker.zInternalTryChangeTimeByIncrement(-1);
+    assertEquals(LocalTime.of(10, 0), picker.getTime());
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestTimeMenuListModel() {
+    TimePickerSettings settings = new TimePickerSettings(Locale.ENGLISH);
+    settings.generatePotentialMenuTimes(TimePickerSettings.TimeIncrement.OneHour, null, null);
+    TimePicker picker = new TimePicker(settings);
+    TimeMenuListModel model = new TimeMenuListModel(settings);
+    assertEquals(24, model.getSize());
+    assertEquals(LocalTime.of(23, 0), model.getTimeAt(23));
+    String noonText = settings.getFormattedMenuTime(LocalTime.NOON).toLowerCase(Locale.ENGLISH);
+    assertEquals(noonText, model.getElementAt(12));
+    assertNotNull(model.getPrototypeRowText());
+    // Vetoed times must not be shown after a refresh.
+    settings.setVetoPolicy(time -> time.getHour() >= 9 && time.getHour() < 17);
+    model.refresh();
+    assertEquals(8, model.getSize());
+    assertEquals(LocalTime.of(9, 0), model.getTimeAt(0));
+    assertEquals(LocalTime.of(16, 0), model.getTimeAt(7));
+    // A format change must be visible in the cached rows.
+    settings.use24HourClockFormat();
+    model.refresh();
+    assertEquals("09:00", model.getElementAt(0));
+    // The model can only be reused by menus with the same settings.
+    TimeMenuPanel panel = new TimeMenuPanel(picker, settings, model);
+    assertTrue(panel.getTimeListModel() == model);
+    panel.clearParent();
+    panel = new TimeMenuPanel(picker, new TimePickerSettings(), model);
+    assertFalse(panel.getTimeListModel() == model);
+  }
+
   void validateTimePickerDisabledColor(
       TimePicker picker, Color disabledTextColor, Color disabledBackground) {
     final Color validText = new TimePickerSettings().getColor(TimeArea.TimePickerTextValidTime);
@@ -0,0 +1,203 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.tableeditors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.github.lgooddatepicker.components.DatePicker;
+import com.github.lgooddatepicker.components.DatePickerSettings;
+import com.github.lgooddatepicker.components.DatePickerSettings.DateArea;
+import com.github.lgooddatepicker.components.DateTimePicker;
+import com.github.lgooddatepicker.components.TimePicker;
+import com.github.lgooddatepicker.components.TimePickerSettings;
+import com.github.lgooddatepicker.components.TimePickerSettings.TimeArea;
+import java.awt.Color;
+import java.awt.Component;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import javax.swing.JLabel;
+import javax.swing.JTable;
+import org.junit.Test;
+
+public class TestTableEditors {
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestDateTableEditorRenderer() {
+    JTable table = new JTable();
+    LocalDate date = LocalDate.of(2021, Month.MARCH, 4);
+    LocalDate vetoedDate = LocalDate.of(2021, Month.MARCH, 5);
+    // The full date picker renderer.
+    DateTableEditor editor = new DateTableEditor();
+    Component component = editor.getTableCellRendererComponent(table, date, false, false, 0, 0);
+    DatePicker picker = editor.getDatePicker();
+    assertTrue(component == picker);
+    String fullText = picker.getText();
+    assertEquals(editor.getDatePickerSettings().getFormattedDate(date), fullText);
+    assertEquals(table.getBackground(), picker.getComponentDateTextField().getBackground());
+    editor.getTableCellRendererComponent(table, date, true, false, 0, 0);
+    assertEquals(
+        table.getSelectionBackground(), picker.getComponentDateTextField().getBackground());
+    editor.getTableCellRendererComponent(table, null, false, false, 0, 0);
+    assertEquals("", picker.getText());
+    editor.getTableCellRendererComponent(table, "not a date", false, false, 0, 0);
+    assertEquals("not a date", picker.getText());
+    // The lightweight renderer displays the same text, with the table background colors.
+    editor.setUseLightweightRenderer(true);
+    assertTrue(editor.getUseLightweightRenderer());
+    JLabel label = (JLabel) editor.getTableCellRendererComponent(table, date, false, false, 0, 0);
+    assertEquals(fullText, label.getText());
+    assertEquals(table.getBackground(), label.getBackground());
+    editor.getTableCellRendererComponent(table, date, true, false, 0, 0);
+    assertEquals(table.getSelectionBackground(), label.getBackground());
+    editor.getTableCellRendererComponent(table, "not a date", false, false, 0, 0);
+    assertEquals("not a date", label.getText());
+    editor.getTableCellRendererComponent(table, null, false, false, 0, 0);
+    assertEquals("", label.getText());
+
+    // The lightweight renderer uses the picker indicator colors, when the table colors are off.
+    DateTableEditor indicatorEditor = new DateTableEditor(false, false, false);
+    DatePickerSettings settings = indicatorEditor.getDatePickerSettings();
+    settings.setVetoPolicy(vetoDate -> !vetoDate.equals(vetoedDate));
+    settings.setAllowEmptyDates(false);
+    indicatorEditor.setUseLightweightRenderer(true);
+    label =
+        (JLabel) indicatorEditor.getTableCellRendererComponent(table, date, true, true, 0, 0);
+    assertEquals(settings.getColor(DateArea.DatePickerTextValidDate), label.getForeground());
+    assertEquals(settings.getColor(DateArea.TextFieldBackgroundValidDate), label.getBackground());
+    indicatorEditor.getTableCellRendererComponent(table, vetoedDate, false, false, 0, 0);
+    assertEquals(settings.getFormattedDate(vetoedDate), label.getText());
+    assertEquals(settings.getColor(DateArea.DatePickerTextVetoedDate), label.getForeground());
+    assertEquals(settings.getColor(DateArea.TextFieldBackgroundVetoedDate), label.getBackground());
+    assertEquals(settings.getFontVetoedDate(), label.getFont());
+    indicatorEditor.getTableCellRendererComponent(table, null, false, false, 0, 0);
+    assertEquals(
+        settings.getColor(DateArea.TextFieldBackgroundDisallowedEmptyDate), label.getBackground());
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestTimeTableEditorRenderer() {
+    JTable table = new JTable();
+    LocalTime time = LocalTime.of(9, 30);
+    LocalTime vetoedTime = LocalTime.of(10, 0);
+    // The full time picker renderer.
+    TimeTableEditor editor = new TimeTableEditor();
+    Component component = editor.getTableCellRendererComponent(table, time, false, false, 0, 0);
+    TimePicker picker = editor.getTimePicker();
+    assertTrue(component == picker);
+    String fullText = picker.getText();
+    TimePickerSettings pickerSettings = editor.getTimePickerSettings();
+    assertEquals(
+        pickerSettings.getFormattedDisplayTime(time).toLowerCase(pickerSettings.getLocale()),
+        fullText);
+    assertEquals(table.getBackground(), picker.getComponentTimeTextField().getBackground());
+    editor.getTableCellRendererComponent(table, null, false, false, 0, 0);
+    assertEquals("", picker.getText());
+    editor.getTableCellRendererComponent(table, "not a time", false, false, 0, 0);
+    assertEquals("not a time", picker.getText());
+    // The lightweight renderer displays the same text, with the table background colors.
+    editor.setUseLightweightRenderer(true);
+    JLabel label = (JLabel) editor.getTableCellRendererComponent(table, time, false, false, 0, 0);
+    assertEquals(fullText, label.getText());
+    assertEquals(table.getBackground(), label.getBackground());
+    editor.getTableCellRendererComponent(table, time, true, false, 0, 0);
+    assertEquals(table.getSelectionBackground(), label.getBackground());
+    editor.getTableCellRendererComponent(table, "not a time", false, false, 0, 0);
+    assertEquals("not a time", label.getText());
+    editor.getTableCellRendererComponent(table, null, false, false, 0, 0);
+    assertEquals("", label.getText());
+
+    // The lightweight renderer uses the picker indicator colors, when the table colors are off.
+    TimeTableEditor indicatorEditor = new TimeTableEditor(false, false, false);
+    TimePickerSettings settings = indicatorEditor.getTimePickerSettings();
+    settings.setVetoPolicy(vetoTime -> !vetoTime.equals(vetoedTime));
+    settings.setAllowEmptyTimes(false);
+    indicatorEditor.setUseLightweightRenderer(true);
+    label =
+        (JLabel) indicatorEditor.getTableCellRendererComponent(table, time, false, false, 0, 0);
+    assertEquals(settings.getColor(TimeArea.TimePickerTextValidTime), label.getForeground());
+    assertEquals(settings.getColor(TimeArea.TextFieldBackgroundValidTime), label.getBackground());
+    indicatorEditor.getTableCellRendererComponent(table, vetoedTime, false, false, 0, 0);
+    assertEquals(
+        settings.getFormattedDisplayTime(vetoedTime).toLowerCase(settings.getLocale()),
+        label.getText());
+    assertEquals(settings.getColor(TimeArea.TimePickerTextVetoedTime), label.getForeground());
+    assertEquals(
+        settings.getColor(TimeArea.TextFieldBackgroundVetoedTime), label.getBackground());
+    indicatorEditor.getTableCellRendererComponent(table, null, false, false, 0, 0);
+    assertEquals(
+        settings.getColor(TimeArea.TextFieldBackgroundDisallowedEmptyTime), label.getBackground());
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestDateTimeTableEditorRenderer() {
+    JTable table = new JTable();
+    LocalDateTime dateTime = LocalDateTime.of(2021, Month.MARCH, 4, 9, 30);
+    LocalDateTime vetoedTime = LocalDateTime.of(2021, Month.MARCH, 4, 10, 0);
+    LocalDateTime vetoedDate = LocalDateTime.of(2021, Month.MARCH, 5, 9, 30);
+    // The full DateTimePicker renderer.
+    DateTimeTableEditor editor = new DateTimeTableEditor();
+    Component component =
+        editor.getTableCellRendererComponent(table, dateTime, false, false, 0, 0);
+    DateTimePicker picker = editor.getDateTimePicker();
+    assertTrue(component == picker);
+    String fullText = picker.getDatePicker().getText() + " " + picker.getTimePicker().getText();
+    editor.getTableCellRendererComponent(table, null, false, false, 0, 0);
+    assertEquals("", picker.getDatePicker().getText());
+    assertEquals("", picker.getTimePicker().getText());
+    // The lightweight renderer displays the same text, with the table background colors.
+    editor.setUseLightweightRenderer(true);
+    JLabel label =
+        (JLabel) editor.getTableCellRendererComponent(table, dateTime, false, false, 0, 0);
+    assertEquals(fullText, label.getText());
+    assertEquals(table.getBackground(), label.getBackground());
+    editor.getTableCellRendererComponent(table, dateTime, true, false, 0, 0);
+    assertEquals(table.getSelectionBackground(), label.getBackground());
+    editor.getTableCellRendererComponent(table, "not a date time", false, false, 0, 0);
+    assertEquals("not a date time", label.getText());
+    editor.getTableCellRendererComponent(table, null, false, false, 0, 0);
+    assertEquals("", label.getText());
+
+    // The lightweight renderer uses the picker indicator colors, when the table colors are off.
+    DateTimeTableEditor indicatorEditor = new DateTimeTableEditor(false, false, false);
+    DatePickerSettings dateSettings = indicatorEditor.getDatePickerSettings();
+    TimePickerSettings timeSettings = indicatorEditor.getTimePickerSettings();
+    dateSettings.setVetoPolicy(date -> !date.equals(vetoedDate.toLocalDate()));
+    timeSettings.setVetoPolicy(time -> !time.equals(vetoedTime.toLocalTime()));
+    indicatorEditor.setUseLightweightRenderer(true);
+    label =
+        (JLabel)
+            indicatorEditor.getTableCellRendererComponent(table, dateTime, false, false, 0, 0);
+    assertEquals(dateSettings.getColor(DateArea.DatePickerTextValidDate), label.getForeground());
+    indicatorEditor.getTableCellRendererComponent(table, vetoedDate, false, false, 0, 0);
+    assertEquals(dateSettings.getColor(DateArea.DatePickerTextVetoedDate), label.getForeground());
+    assertEquals(
+        dateSettings.getColor(DateArea.TextFieldBackgroundVetoedDate), label.getBackground());
+    indicatorEditor.getTableCellRendererComponent(table, vetoedTime, false, false, 0, 0);
+    assertEquals(timeSettings.getColor(TimeArea.TimePickerTextVetoedTime), label.getForeground());
+    assertEquals(
+        timeSettings.getColor(TimeArea.TextFieldBackgroundVetoedTime), label.getBackground());
+  }
+}
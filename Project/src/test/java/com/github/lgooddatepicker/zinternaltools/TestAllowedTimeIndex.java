@@ -0,0 +1,71 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.github.lgooddatepicker.optionalusertools.TimeVetoPolicy;
+import java.time.LocalTime;
+import org.junit.Test;
+
+public class TestAllowedTimeIndex {
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestStepping() {
+    // Allow every quarter hour, from 08:00 to 17:00.
+    TimeVetoPolicy policy =
+        time -> time.getHour() >= 8 && time.getHour() < 17 && time.getMinute() % 15 == 0;
+    AllowedTimeIndex index = AllowedTimeIndex.build(policy, 0);
+    assertEquals(9 * 4, index.getAllowedMinuteCount());
+    assertTrue(index.isMinuteAllowed(8 * 60));
+    assertFalse(index.isMinuteAllowed(8 * 60 + 1));
+    assertEquals(LocalTime.of(8, 15), index.getNextAllowedTime(LocalTime.of(8, 0), 1));
+    assertEquals(LocalTime.of(8, 0), index.getNextAllowedTime(LocalTime.of(8, 15), -1));
+    assertEquals(LocalTime.of(8, 0), index.getNextAllowedTime(LocalTime.of(16, 45), 1));
+    assertEquals(LocalTime.of(16, 45), index.getNextAllowedTime(LocalTime.of(8, 0), -1));
+    assertEquals(LocalTime.of(16, 45), index.getNextAllowedTime(LocalTime.of(2, 0), -1));
+    // Larger steps only reach the minutes that are a multiple of the step away.
+    assertEquals(LocalTime.of(9, 0), index.getNextAllowedTime(LocalTime.of(8, 0), 60));
+    assertEquals(LocalTime.of(8, 0), index.getNextAllowedTime(LocalTime.of(16, 0), 60));
+    assertNull(index.getNextAllowedTime(LocalTime.of(8, 1), 60));
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestNanoOfMinute() {
+    LocalTime time = LocalTime.of(10, 20, 30);
+    long nanoOfMinute = AllowedTimeIndex.getNanoOfMinute(time);
+    assertEquals(30_000_000_000L, nanoOfMinute);
+    AllowedTimeIndex index = AllowedTimeIndex.build(t -> t.getSecond() == 30, nanoOfMinute);
+    assertEquals(AllowedTimeIndex.minutesPerDay, index.getAllowedMinuteCount());
+    assertEquals(LocalTime.of(10, 21, 30), index.getNextAllowedTime(time, 1));
+    assertFalse(index.isBuiltFor(null, LocalTime.of(1, 2, 30)));
+    AllowedTimeIndex everyMinute = AllowedTimeIndex.build(null, 0);
+    assertTrue(everyMinute.isBuiltFor(null, LocalTime.MIDNIGHT));
+    assertFalse(everyMinute.isBuiltFor(null, time));
+    // An index with no allowed minutes can not step.
+    assertNull(AllowedTimeIndex.build(t -> false, 0).getNextAllowedTime(LocalTime.NOON, 1));
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Insets;
+import javax.swing.JLabel;
+import javax.swing.border.Border;
+import javax.swing.border.EmptyBorder;
+import javax.swing.border.LineBorder;
+import org.junit.Test;
+
+public class TestBorderCache {
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestBordersAreShared() {
+    BorderCache cache = new BorderCache();
+    Border red = cache.getDateLabelBorder(new Color(255, 0, 0));
+    assertSame(red, cache.getDateLabelBorder(Color.RED));
+    assertNotSame(red, cache.getDateLabelBorder(Color.BLUE));
+    assertTrue(red instanceof LineBorder);
+    assertEquals(Color.RED, ((LineBorder) red).getLineColor());
+    assertTrue(cache.getDateLabelBorder(null) instanceof EmptyBorder);
+    assertSame(cache.getDateLabelBorder(null), cache.getDateLabelBorder(null));
+    assertSame(cache.getLabelIndicatorBorder(null), cache.getLabelIndicatorBorder(null));
+    assertSame(
+        cache.getLabelIndicatorBorder(Color.GRAY), cache.getLabelIndicatorBorder(Color.GRAY));
+    assertSame(cache.getTextFieldBorder(Color.GRAY), cache.getTextFieldBorder(Color.GRAY));
+    assertEquals(4, cache.getSize());
+    cache.clear();
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestBorderInsets() {
+    BorderCache cache = new BorderCache();
+    JLabel label = new JLabel();
+    assertEquals(new Insets(1, 1, 1, 1), cache.getDateLabelBorder(null).getBorderInsets(label));
+    assertEquals(
+        new Insets(1, 1, 1, 1), cache.getDateLabelBorder(Color.BLACK).getBorderInsets(label));
+    assertEquals(
+        new Insets(4, 3, 4, 3), cache.getLabelIndicatorBorder(null).getBorderInsets(label));
+    assertEquals(
+        new Insets(4, 3, 4, 3), cache.getLabelIndicatorBorder(Color.GRAY).getBorderInsets(label));
+    assertEquals(
+        new Insets(2, 4, 3, 3), cache.getTextFieldBorder(Color.BLACK).getBorderInsets(label));
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestCacheSizeIsLimited() {
+    BorderCache cache = new BorderCache();
+    for (int i = 0; i < BorderCache.maximumBordersPerKind * 3; ++i) {
+      cache.getDateLabelBorder(new Color(i));
+    }
+    assertTrue(cache.getSize() <= BorderCache.maximumBordersPerKind);
+  }
+}
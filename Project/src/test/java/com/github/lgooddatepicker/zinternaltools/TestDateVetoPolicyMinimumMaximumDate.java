@@ -0,0 +1,176 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.github.lgooddatepicker.optionalusertools.DateInterval;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumSet;
+import org.junit.Test;
+
+public class TestDateVetoPolicyMinimumMaximumDate {
+
+  /** createComposedPolicy, This creates a policy that uses every kind of rule. */
+  private static DateVetoPolicyMinimumMaximumDate createComposedPolicy() {
+    DateVetoPolicyMinimumMaximumDate policy =
+        new DateVetoPolicyMinimumMaximumDate(
+            LocalDate.of(2024, Month.JANUARY, 10), LocalDate.of(2024, Month.DECEMBER, 20));
+    policy.setAllowedDaysOfWeek(
+        EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY, DayOfWeek.SATURDAY));
+    policy.addVetoedDates(
+        Arrays.asList(LocalDate.of(2024, Month.MAY, 1), LocalDate.of(2024, Month.MAY, 3)));
+    // Overlapping and adjacent intervals are merged.
+    policy.addVetoedInterval(
+        new DateInterval(LocalDate.of(2024, Month.MARCH, 1), LocalDate.of(2024, Month.MARCH, 31)));
+    policy.addVetoedInterval(
+        new DateInterval(LocalDate.of(2024, Month.MARCH, 20), LocalDate.of(2024, Month.APRIL, 5)));
+    policy.addVetoedInterval(
+        new DateInterval(LocalDate.of(2024, Month.APRIL, 6), LocalDate.of(2024, Month.APRIL, 10)));
+    return policy;
+  }
+
+  /** isAllowedSlowly, This checks each rule of the composed policy directly. */
+  private static boolean isAllowedSlowly(LocalDate date) {
+    if (date.isBefore(LocalDate.of(2024, Month.JANUARY, 10))
+        || date.isAfter(LocalDate.of(2024, Month.DECEMBER, 20))) {
+      return false;
+    }
+    DayOfWeek dayOfWeek = date.getDayOfWeek();
+    if (dayOfWeek == DayOfWeek.TUESDAY
+        || dayOfWeek == DayOfWeek.THURSDAY
+        || dayOfWeek == DayOfWeek.SUNDAY) {
+      return false;
+    }
+    if (date.equals(LocalDate.of(2024, Month.MAY, 1))
+        || date.equals(LocalDate.of(2024, Month.MAY, 3))) {
+      return false;
+    }
+    return date.isBefore(LocalDate.of(2024, Month.MARCH, 1))
+        || date.isAfter(LocalDate.of(2024, Month.APRIL, 10));
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestComposedRulesMatchSingleDateChecks() {
+    DateVetoPolicyMinimumMaximumDate policy = createComposedPolicy();
+    LocalDate first = LocalDate.of(2023, Month.DECEMBER, 1);
+    LocalDate last = LocalDate.of(2025, Month.JANUARY, 31);
+    BitSet allowedDates = policy.getAllowedDatesInInterval(new DateInterval(first, last));
+    long allowedCount = 0;
+    int index = 0;
+    for (LocalDate date = first; !date.isAfter(last); date = date.plusDays(1), ++index) {
+      boolean expected = isAllowedSlowly(date);
+      assertEquals(expected, policy.isDateAllowed(date));
+      assertEquals(expected, allowedDates.get(index));
+      if (expected) {
+        ++allowedCount;
+      }
+    }
+    assertEquals(allowedCount, policy.countAllowedDates(new DateInterval(first, last)));
+    assertEquals(allowedCount, policy.countAllowedDates(new DateInterval()));
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestNextAndPreviousAllowedDates() {
+    DateVetoPolicyMinimumMaximumDate policy = createComposedPolicy();
+    // Skip the vetoed run in March and April.
+    assertEquals(
+        LocalDate.of(2024, Month.APRIL, 12),
+        policy.getNextAllowedDate(LocalDate.of(2024, Month.FEBRUARY, 29)));
+    assertEquals(
+        LocalDate.of(2024, Month.FEBRUARY, 28),
+        policy.getPreviousAllowedDate(LocalDate.of(2024, Month.APRIL, 11)));
+    // Allowed dates are returned unchanged.
+    assertEquals(
+        LocalDate.of(2024, Month.APRIL, 12),
+        policy.getNextAllowedDate(LocalDate.of(2024, Month.APRIL, 12)));
+    // The range limits are respected.
+    assertEquals(
+        LocalDate.of(2024, Month.JANUARY, 10),
+        policy.getNextAllowedDate(LocalDate.of(2000, Month.JANUARY, 1)));
+    assertNull(policy.getNextAllowedDate(LocalDate.of(2024, Month.DECEMBER, 21)));
+    assertNull(policy.getPreviousAllowedDate(LocalDate.of(2024, Month.JANUARY, 9)));
+    // A month with no allowed dates has no allowed dates to count.
+    assertEquals(
+        0,
+        policy.countAllowedDates(
+            new DateInterval(
+                LocalDate.of(2024, Month.MARCH, 1), LocalDate.of(2024, Month.MARCH, 31))));
+    // Clearing the vetoed dates keeps the other rules.
+    policy.clearVetoedDates();
+    assertTrue(policy.isDateAllowed(LocalDate.of(2024, Month.MARCH, 1)));
+    assertFalse(policy.isDateAllowed(LocalDate.of(2024, Month.MARCH, 3)));
+    policy.setAllowedDaysOfWeek(EnumSet.noneOf(DayOfWeek.class));
+    assertNull(policy.getNextAllowedDate(LocalDate.of(2024, Month.MARCH, 1)));
+    policy.setAllowedDaysOfWeek(null);
+    assertEquals(7, policy.getAllowedDaysOfWeek().size());
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestSubclassOverridesAreRespected() {
+    // This subclass also vetoes every date in June.
+    DateVetoPolicyMinimumMaximumDate policy =
+        new DateVetoPolicyMinimumMaximumDate(LocalDate.of(2024, Month.JANUARY, 1), null) {
+          @Override
+          public boolean isDateAllowed(LocalDate date) {
+            return date.getMonth() != Month.JUNE && super.isDateAllowed(date);
+          }
+        };
+    LocalDate first = LocalDate.of(2024, Month.MAY, 30);
+    BitSet allowedDates =
+        policy.getAllowedDatesInInterval(
+            new DateInterval(first, LocalDate.of(2024, Month.JULY, 1)));
+    assertTrue(allowedDates.get(0));
+    assertFalse(allowedDates.get(2));
+    assertTrue(allowedDates.get(32));
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestNearestMonthSearchRespectsSubclassOverrides() {
+    // This subclass also vetoes every date in June.
+    DateVetoPolicyMinimumMaximumDate policy =
+        new DateVetoPolicyMinimumMaximumDate(LocalDate.of(2024, Month.JANUARY, 1), null) {
+          @Override
+          public boolean isDateAllowed(LocalDate date) {
+            return date.getMonth() != Month.JUNE && super.isDateAllowed(date);
+          }
+        };
+    // The month search must skip June, instead of using the rules of the base class only.
+    assertEquals(
+        YearMonth.of(2024, Month.JULY),
+        InternalUtilities.getNearestMonthWithAllowedDate(
+            policy, YearMonth.of(2024, Month.JUNE), true, 12));
+    assertEquals(
+        YearMonth.of(2024, Month.MAY),
+        InternalUtilities.getNearestMonthWithAllowedDate(
+            policy, YearMonth.of(2024, Month.JUNE), false, 12));
+  }
+}
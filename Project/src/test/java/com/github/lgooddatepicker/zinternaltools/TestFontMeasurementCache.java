@@ -0,0 +1,74 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Canvas;
+import java.awt.Component;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.font.FontRenderContext;
+import org.junit.Test;
+
+public class TestFontMeasurementCache {
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestMeasurementsAreKeyedByRenderContext() {
+    FontMeasurementCache.clear();
+    Font font = new Font(Font.DIALOG, Font.PLAIN, 12);
+    Component plain = createMeasuringComponent(new FontRenderContext(null, false, false), 5);
+    Component antialiased = createMeasuringComponent(new FontRenderContext(null, true, true), 7);
+    // Repeated measurements with the same render context must share a single result.
+    assertTrue(FontMeasurementCache.getTextWidth(font, "2000", plain) == 20);
+    assertTrue(FontMeasurementCache.getTextWidth(font, "2000", plain) == 20);
+    assertTrue(FontMeasurementCache.getSize() == 1);
+    // A different render context must not receive the width of the first component.
+    assertTrue(FontMeasurementCache.getTextWidth(font, "2000", antialiased) == 28);
+    assertTrue(FontMeasurementCache.getSize() == 2);
+  }
+
+  /**
+   * createMeasuringComponent, This returns a component whose font metrics use the supplied font
+   * render context, and measure every character with the supplied width.
+   */
+  private static Component createMeasuringComponent(
+      FontRenderContext renderContext, int characterWidth) {
+    return new Canvas() {
+      @Override
+      public FontMetrics getFontMetrics(Font font) {
+        return new FontMetrics(font) {
+          @Override
+          public FontRenderContext getFontRenderContext() {
+            return renderContext;
+          }
+
+          @Override
+          public int stringWidth(String text) {
+            return text.length() * characterWidth;
+          }
+        };
+      }
+    };
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import static org.junit.Assert.assertTrue;
+
+import com.github.lgooddatepicker.components.TimePicker;
+import com.github.lgooddatepicker.components.TimePickerSettings;
+import java.awt.Font;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.junit.Test;
+
+public class TestMinimumFieldSizeMemo {
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestMinimumDateFieldSizeMemo() {
+    CalculateMinimumDateFieldSize.clearMemoTable();
+    Font font = new Font(Font.DIALOG, Font.PLAIN, 12);
+    // Repeated calculations with the same formatter must share a single result.
+    DateTimeFormatter first = DateTimeFormatter.ofPattern("d MMMM uuuu", Locale.ENGLISH);
+    int width =
+        CalculateMinimumDateFieldSize.getFormattedDateWidthInPixels(first, Locale.ENGLISH, font, 0);
+    assertTrue(
+        width
+            == CalculateMinimumDateFieldSize.getFormattedDateWidthInPixels(
+                first, Locale.ENGLISH, font, 0));
+    assertTrue(CalculateMinimumDateFieldSize.getMemoTableSize() == 1);
+    // Extra characters must be applied without a new measurement.
+    int widthWithExtras =
+        CalculateMinimumDateFieldSize.getFormattedDateWidthInPixels(first, Locale.ENGLISH, font, 2);
+    assertTrue(widthWithExtras > width);
+    assertTrue(CalculateMinimumDateFieldSize.getMemoTableSize() == 1);
+    // A different font or locale requires a new measurement.
+    CalculateMinimumDateFieldSize.getFormattedDateWidthInPixels(
+        first, Locale.ENGLISH, font.deriveFont(20f), 0);
+    CalculateMinimumDateFieldSize.getFormattedDateWidthInPixels(
+        first.withLocale(Locale.GERMAN), Locale.GERMAN, font, 0);
+    assertTrue(CalculateMinimumDateFieldSize.getMemoTableSize() == 3);
+    // Formatters that only differ by their custom text must not share a result.
+    DateTimeFormatter shortText = createMonthTextFormatter("M");
+    DateTimeFormatter longText = createMonthTextFormatter("MMMMMMMMMMMMMMMMMMMM");
+    assertTrue(shortText.toString().equals(longText.toString()));
+    int shortWidth =
+        CalculateMinimumDateFieldSize.getFormattedDateWidthInPixels(
+            shortText, Locale.ENGLISH, font, 0);
+    int longWidth =
+        CalculateMinimumDateFieldSize.getFormattedDateWidthInPixels(
+            longText, Locale.ENGLISH, font, 0);
+    assertTrue(longWidth > shortWidth);
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestMinimumTimeFieldSizeMemo() {
+    CalculateMinimumTimeFieldSize.clearMemoTable();
+    Font font = new Font(Font.DIALOG, Font.PLAIN, 12);
+    DateTimeFormatter format = DateTimeFormatter.ofPattern("h:mm a", Locale.ENGLISH);
+    int width = CalculateMinimumTimeFieldSize.getFormattedTimeWidthInPixels(format, font, 0);
+    assertTrue(width >= 50);
+    assertTrue(
+        width == CalculateMinimumTimeFieldSize.getFormattedTimeWidthInPixels(format, font, 0));
+    assertTrue(
+        CalculateMinimumTimeFieldSize.getFormattedTimeWidthInPixels(format, font, 1) > width);
+    assertTrue(CalculateMinimumTimeFieldSize.getMemoTableSize() == 1);
+    // Formatters that only differ by their custom text must not share a result.
+    DateTimeFormatter shortText = createAmPmTextFormatter("a");
+    DateTimeFormatter longText = createAmPmTextFormatter("aaaaaaaaaaaaaaaaaaaa");
+    assertTrue(shortText.toString().equals(longText.toString()));
+    assertTrue(
+        CalculateMinimumTimeFieldSize.getFormattedTimeWidthInPixels(longText, font, 0)
+            > CalculateMinimumTimeFieldSize.getFormattedTimeWidthInPixels(shortText, font, 0));
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestTimePickersShareMinimumFieldSize() {
+    CalculateMinimumTimeFieldSize.clearMemoTable();
+    // Time pickers with the default format of the same locale must share a single result.
+    for (int i = 0; i < 5; ++i) {
+      new TimePicker(new TimePickerSettings(Locale.ENGLISH));
+    }
+    assertTrue(CalculateMinimumTimeFieldSize.getMemoTableSize() == 1);
+    assertTrue(
+        ExtraTimeStrings.getDefaultFormatForDisplayTime(Locale.ENGLISH)
+            == ExtraTimeStrings.getDefaultFormatForDisplayTime(Locale.ENGLISH));
+  }
+
+  /**
+   * createMonthTextFormatter, This returns a date formatter that prints every month name as the
+   * supplied text.
+   */
+  private static DateTimeFormatter createMonthTextFormatter(String monthText) {
+    Map<Long, String> monthNames = new HashMap<>();
+    for (long month = 1; month <= 12; ++month) {
+      monthNames.put(month, monthText);
+    }
+    return new DateTimeFormatterBuilder()
+        .appendValue(ChronoField.DAY_OF_MONTH)
+        .appendLiteral(' ')
+        .appendText(ChronoField.MONTH_OF_YEAR, monthNames)
+        .appendLiteral(' ')
+        .appendValue(ChronoField.YEAR, 4)
+        .toFormatter(Locale.ENGLISH);
+  }
+
+  /**
+   * createAmPmTextFormatter, This returns a time formatter that prints both the AM and the PM
+   * markers as the supplied text.
+   */
+  private static DateTimeFormatter createAmPmTextFormatter(String amPmText) {
+    Map<Long, String> amPmNames = new HashMap<>();
+    amPmNames.put(0L, amPmText);
+    amPmNames.put(1L, amPmText);
+    return new DateTimeFormatterBuilder()
+        .appendValue(ChronoField.CLOCK_HOUR_OF_AMPM)
+        .appendLiteral(':')
+        .appendValue(ChronoField.MINUTE_OF_HOUR, 2)
+        .appendText(ChronoField.AMPM_OF_DAY, amPmNames)
+        .toFormatter(Locale.ENGLISH);
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import static org.junit.Assert.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.YearMonth;
+import java.time.temporal.WeekFields;
+import org.junit.Test;
+
+public class TestMonthGrid {
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestMonthGridLayout() {
+    // March 2021 starts on a monday, and has 31 days.
+    MonthGrid grid =
+        MonthGrid.of(YearMonth.of(2021, Month.MARCH), DayOfWeek.SUNDAY, WeekFields.ISO);
+    assertTrue(grid.getFirstDateCellIndex() == 1);
+    assertTrue(grid.getDayOfWeekInColumn(0) == DayOfWeek.SUNDAY);
+    assertTrue(grid.getDayOfWeekInColumn(6) == DayOfWeek.SATURDAY);
+    assertTrue(!grid.isCellInsideMonth(0));
+    assertTrue(grid.getDayOfMonthInCell(1) == 1);
+    assertTrue(grid.getDayOfMonthInCell(31) == 31);
+    assertTrue(grid.getDayOfMonthInCell(32) == 0);
+    assertTrue(grid.getUsedRowCount() == 5);
+    assertTrue(grid.getFirstDateOfRow(0).equals(LocalDate.of(2021, Month.FEBRUARY, 28)));
+    assertTrue(grid.getFirstDateOfRow(1).equals(LocalDate.of(2021, Month.MARCH, 7)));
+    // The row from sunday February 28 holds six days of ISO week 9.
+    assertTrue(grid.getWeekNumberOfRow(0) == 9);
+    // February 2021 starts on a monday and has 28 days, so it fills exactly four rows.
+    grid = MonthGrid.of(YearMonth.of(2021, Month.FEBRUARY), DayOfWeek.MONDAY, null);
+    assertTrue(grid.getFirstDateCellIndex() == 0);
+    assertTrue(grid.getUsedRowCount() == 4);
+    assertTrue(grid.getWeekNumberRules() == null);
+    // The first row of the earliest supported month must not throw an exception.
+    grid = MonthGrid.of(YearMonth.from(LocalDate.MIN), DayOfWeek.MONDAY, WeekFields.ISO);
+    assertTrue(grid.getFirstDateOfRow(0).equals(LocalDate.MIN));
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestMonthGridCache() {
+    MonthGrid.clearCache();
+    YearMonth yearMonth = YearMonth.of(2021, Month.MARCH);
+    MonthGrid first = MonthGrid.of(yearMonth, DayOfWeek.MONDAY, WeekFields.ISO);
+    MonthGrid second =
+        MonthGrid.of(yearMonth, DayOfWeek.MONDAY, WeekFields.of(DayOfWeek.MONDAY, 4));
+    assertTrue("Equal keys must return the cached grid", first == second);
+    assertTrue(MonthGrid.getCachedGridCount() == 1);
+    MonthGrid other = MonthGrid.of(yearMonth, DayOfWeek.SUNDAY, WeekFields.ISO);
+    assertTrue(first != other);
+    assertTrue(MonthGrid.getCachedGridCount() == 2);
+    for (int monthIndex = 0; monthIndex < MonthGrid.maximumCachedGrids * 2; ++monthIndex) {
+      MonthGrid.of(yearMonth.plusMonths(monthIndex), DayOfWeek.MONDAY, null);
+    }
+    assertTrue(MonthGrid.getCachedGridCount() == MonthGrid.maximumCachedGrids);
+  }
+}
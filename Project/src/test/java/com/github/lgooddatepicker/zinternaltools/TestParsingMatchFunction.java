@@ -29,6 +29,7 @@ import java.time.LocalDate;
 import java.time.Month;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
+import java.util.ArrayList;
 import java.util.Locale;
 import org.junit.Test;
 
@@ -172,6 +173,54 @@ public class TestParsingMatchFunction {
     checkDate("ddMMuuuuG", "31062019AD", false);
   }
 
+  /**
+   * testGetParsedDateOrNull, Test for the function getParsedDateOrNull(). This verifies that
+   * nonexistent dates are rejected, that unparsable text does not throw any exceptions, and that
+   * ambiguous text is always parsed by the first matching formatter in the declared order.
+   */
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void testGetParsedDateOrNull() {
+    DateTimeFormatter formatAD =
+        new DateTimeFormatterBuilder()
+            .parseLenient()
+            .parseCaseInsensitive()
+            .appendPattern("MMMM d, u")
+            .toFormatter(Locale.ENGLISH);
+    DateTimeFormatter formatBC =
+        new DateTimeFormatterBuilder()
+            .parseLenient()
+            .parseCaseInsensitive()
+            .appendPattern("MMMM d, yyyy G")
+            .toFormatter(Locale.ENGLISH);
+    DateTimeFormatter formatDayFirst = DateTimeFormatter.ofPattern("d/M/u", Locale.ENGLISH);
+    DateTimeFormatter formatMonthFirst = DateTimeFormatter.ofPattern("M/d/u", Locale.ENGLISH);
+    ArrayList<DateTimeFormatter> parsingFormats = new ArrayList<>();
+    parsingFormats.add(formatDayFirst);
+    parsingFormats.add(formatMonthFirst);
+
+    assertTrue(
+        InternalUtilities.getParsedDateOrNull("not a date", formatAD, formatBC, parsingFormats)
+            == null);
+    assertTrue(
+        InternalUtilities.getParsedDateOrNull(
+                "February 31, 2021", formatAD, formatBC, parsingFormats)
+            == null);
+    assertTrue(
+        InternalUtilities.getParsedDateOrNull("March 4, 2021", formatAD, formatBC, parsingFormats)
+            .equals(LocalDate.of(2021, Month.MARCH, 4)));
+    // Ambiguous text is parsed by the first matching parsing format, even after the text was
+    // parsed by a later parsing format.
+    assertTrue(
+        InternalUtilities.getParsedDateOrNull("3/4/2021", formatAD, formatBC, parsingFormats)
+            .equals(LocalDate.of(2021, Month.APRIL, 3)));
+    assertTrue(
+        InternalUtilities.getParsedDateOrNull("3/13/2021", formatAD, formatBC, parsingFormats)
+            .equals(LocalDate.of(2021, Month.MARCH, 13)));
+    assertTrue(
+        InternalUtilities.getParsedDateOrNull("3/4/2021", formatAD, formatBC, parsingFormats)
+            .equals(LocalDate.of(2021, Month.APRIL, 3)));
+  }
+
   private static boolean isLeapYear(int year) {
     if (year % 4 != 0) {
       return false;
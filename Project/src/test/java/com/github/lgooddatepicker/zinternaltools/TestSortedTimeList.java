@@ -0,0 +1,132 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.github.lgooddatepicker.components.TimePicker;
+import com.github.lgooddatepicker.components.TimePickerSettings;
+import com.github.lgooddatepicker.components.TimePickerSettings.TimeIncrement;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import org.junit.Test;
+
+public class TestSortedTimeList {
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestSortedAndUnique() {
+    SortedTimeList list =
+        SortedTimeList.ofTimes(
+            Arrays.asList(
+                LocalTime.of(15, 0),
+                null,
+                LocalTime.of(8, 30),
+                LocalTime.of(15, 0),
+                LocalTime.of(8, 30, 0, 1)));
+    assertEquals(3, list.size());
+    assertEquals(LocalTime.of(8, 30), list.get(0));
+    assertEquals(LocalTime.of(8, 30, 0, 1), list.get(1));
+    assertEquals(LocalTime.of(15, 0), list.get(2));
+    assertTrue(SortedTimeList.ofTimes(null).isEmpty());
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestSearches() {
+    SortedTimeList list =
+        SortedTimeList.ofTimes(Arrays.asList(LocalTime.of(9, 0), LocalTime.of(12, 0)));
+    assertEquals(1, list.indexOf(LocalTime.NOON));
+    assertEquals(-1, list.indexOf(LocalTime.of(10, 0)));
+    assertEquals(-1, list.indexOf("12:00"));
+    assertFalse(list.contains(LocalTime.MIDNIGHT));
+    assertEquals(-2, list.binarySearch(LocalTime.of(10, 0)));
+    assertEquals(1, list.getCeilingIndex(LocalTime.of(10, 0)));
+    assertEquals(0, list.getFloorIndex(LocalTime.of(10, 0)));
+    assertEquals(-1, list.getCeilingIndex(LocalTime.of(13, 0)));
+    assertEquals(-1, list.getFloorIndex(LocalTime.of(8, 0)));
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestFloorAndCeilingIndexes() {
+    SortedTimeList list =
+        SortedTimeList.ofTimes(
+            Arrays.asList(LocalTime.of(9, 0), LocalTime.of(12, 0), LocalTime.of(15, 0)));
+    assertEquals(1, list.getCeilingIndex(LocalTime.NOON));
+    assertEquals(1, list.getFloorIndex(LocalTime.NOON));
+    assertEquals(0, list.getCeilingIndex(LocalTime.MIDNIGHT));
+    assertEquals(-1, list.getFloorIndex(LocalTime.MIDNIGHT));
+    assertEquals(-1, list.getCeilingIndex(LocalTime.MAX));
+    assertEquals(2, list.getFloorIndex(LocalTime.MAX));
+    assertEquals(2, list.getCeilingIndex(LocalTime.of(12, 0, 0, 1)));
+    assertEquals(1, list.getFloorIndex(LocalTime.of(14, 59)));
+    assertEquals(-1, SortedTimeList.emptyList.getCeilingIndex(LocalTime.NOON));
+    assertEquals(-1, SortedTimeList.emptyList.getFloorIndex(LocalTime.NOON));
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestNearestMenuRow() {
+    TimePickerSettings settings = new TimePickerSettings();
+    // A veto policy can only be set after the time picker is constructed.
+    new TimePicker(settings);
+    settings.generatePotentialMenuTimes(
+        TimeIncrement.OneHour, LocalTime.of(8, 0), LocalTime.of(12, 0));
+    TimeMenuListModel model = new TimeMenuListModel(settings);
+    assertEquals(-1, model.getRowNearestTime(null));
+    assertEquals(0, model.getRowNearestTime(LocalTime.MIDNIGHT));
+    assertEquals(1, model.getRowNearestTime(LocalTime.of(9, 0)));
+    assertEquals(1, model.getRowNearestTime(LocalTime.of(9, 29)));
+    assertEquals(1, model.getRowNearestTime(LocalTime.of(9, 30)));
+    assertEquals(2, model.getRowNearestTime(LocalTime.of(9, 31)));
+    assertEquals(4, model.getRowNearestTime(LocalTime.MAX));
+    // Vetoed times are not menu rows, so the nearest allowed row is returned.
+    settings.setVetoPolicy(time -> !time.equals(LocalTime.of(9, 0)));
+    model.refresh();
+    assertEquals(4, model.getSize());
+    assertEquals(1, model.getRowNearestTime(LocalTime.of(9, 31)));
+    assertEquals(LocalTime.of(10, 0), model.getTimeAt(1));
+    assertEquals(0, model.getRowNearestTime(LocalTime.of(9, 0)));
+    assertEquals(3, model.getRowNearestTime(LocalTime.MAX));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void TestReadOnly() {
+    SortedTimeList.ofTimes(Arrays.asList(LocalTime.NOON)).add(LocalTime.MIDNIGHT);
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestPotentialMenuTimes() {
+    TimePickerSettings settings = new TimePickerSettings();
+    settings.generatePotentialMenuTimes(
+        TimeIncrement.FifteenMinutes, LocalTime.of(8, 0), LocalTime.of(9, 0));
+    assertEquals(5, settings.getPotentialMenuTimeCount());
+    assertEquals(LocalTime.of(8, 45), settings.getPotentialMenuTime(3));
+    assertEquals(2, settings.getPotentialMenuTimeIndex(LocalTime.of(8, 30)));
+    assertTrue(settings.getPotentialMenuTimesView() == settings.getPotentialMenuTimesView());
+    settings.generatePotentialMenuTimes(TimeIncrement.FiveMinutes, null, null);
+    assertEquals(288, settings.getPotentialMenuTimesView().size());
+    ArrayList<LocalTime> copy = settings.getPotentialMenuTimes();
+    assertEquals(settings.getPotentialMenuTimesView(), copy);
+  }
+}
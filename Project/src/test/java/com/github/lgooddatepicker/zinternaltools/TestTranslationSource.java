@@ -0,0 +1,55 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Locale;
+import org.junit.Test;
+
+public class TestTranslationSource {
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestTranslationLookup() {
+    TranslationSource.preloadTranslations();
+    assertEquals("Heute", TranslationSource.getTranslation(Locale.GERMAN, "today", "Today"));
+    assertEquals("hours", TranslationSource.getTranslation(Locale.ENGLISH, "plural.Hour", "?"));
+    // Missing languages, missing keys, and empty languages return the default text.
+    assertEquals("Today", TranslationSource.getTranslation(new Locale("xx"), "today", "Today"));
+    assertEquals("none", TranslationSource.getTranslation(Locale.GERMAN, "missing", "none"));
+    assertEquals("Today", TranslationSource.getTranslation(Locale.ROOT, "today", "Today"));
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestTypedTranslations() {
+    TranslationSource.Translations translations = TranslationSource.getTranslations(Locale.FRENCH);
+    assertTrue(translations == TranslationSource.getTranslations(Locale.FRANCE));
+    assertEquals(
+        TranslationSource.getTranslation(Locale.FRENCH, "today", "Today"),
+        translations.getToday("Today"));
+    assertEquals(
+        TranslationSource.getTranslation(Locale.FRENCH, "clear", "Clear"),
+        translations.getClear("Clear"));
+  }
+}
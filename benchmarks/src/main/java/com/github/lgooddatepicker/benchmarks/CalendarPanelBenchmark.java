@@ -0,0 +1,92 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.benchmarks;
+
+import com.github.lgooddatepicker.components.CalendarPanel;
+import com.github.lgooddatepicker.components.DatePickerSettings;
+import java.time.YearMonth;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * CalendarPanelBenchmark, This measures the drawing of a calendar panel in headless mode. The
+ * calendar panel is never shown, so this measures the work that is done by drawCalendar() itself,
+ * (date arithmetic, policy evaluation, and label updates), and not the painting of the labels.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class CalendarPanelBenchmark {
+
+  /** navigatedMonthCount, This is the number of different months that are navigated through. */
+  private static final int navigatedMonthCount = 24;
+
+  /** calendarPanel, This is the calendar panel that is drawn. */
+  private CalendarPanel calendarPanel;
+
+  /** firstYearMonth, This is the first month that is navigated through. */
+  private YearMonth firstYearMonth = YearMonth.of(2021, 1);
+
+  @Param({"false", "true"})
+  public boolean enableIncrementalRedraw;
+
+  /** monthOffset, This is the offset of the next month that will be displayed. */
+  private int monthOffset = 0;
+
+  @Param({"false", "true"})
+  public boolean weekNumbersDisplayed;
+
+  @Setup
+  public void setup() {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    settings.setEnableIncrementalRedraw(enableIncrementalRedraw);
+    settings.setWeekNumbersDisplayed(weekNumbersDisplayed, true);
+    calendarPanel = new CalendarPanel(settings);
+    calendarPanel.setDisplayedYearMonth(firstYearMonth);
+  }
+
+  @Benchmark
+  public void drawCalendarSameMonth() {
+    calendarPanel.drawCalendar();
+  }
+
+  @Benchmark
+  public void drawCalendarNavigateMonths() {
+    monthOffset = (monthOffset + 1) % navigatedMonthCount;
+    calendarPanel.setDisplayedYearMonth(firstYearMonth.plusMonths(monthOffset));
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.benchmarks;
+
+import com.github.lgooddatepicker.tableeditors.DateTableEditor;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import javax.swing.JTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * DateTableEditorBenchmark, This measures the rendering of one table column of date cells with a
+ * DateTableEditor, in headless mode. This is the work that is done for every visible date cell
+ * whenever a table is repainted or scrolled.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class DateTableEditorBenchmark {
+
+  /** rowCount, This is the number of rendered table rows. */
+  private static final int rowCount = 100;
+
+  /** dates, This holds the date value of each row. */
+  private LocalDate[] dates;
+
+  /** editor, This is the table editor that renders the cells. */
+  private DateTableEditor editor;
+
+  /** table, This is the table that holds the cells. */
+  private JTable table;
+
+  @Param({"false", "true"})
+  public boolean useLightweightRenderer;
+
+  @Setup
+  public void setup() {
+    table = new JTable(rowCount, 1);
+    editor = new DateTableEditor();
+    editor.setUseLightweightRenderer(useLightweightRenderer);
+    dates = new LocalDate[rowCount];
+    for (int row = 0; row < rowCount; ++row) {
+      // Leave some cells empty, as is common in real tables.
+      dates[row] = (row % 10 == 0) ? null : LocalDate.of(2021, 1, 1).plusDays(row * 3);
+    }
+  }
+
+  @Benchmark
+  public void renderColumn(Blackhole blackhole) {
+    for (int row = 0; row < rowCount; ++row) {
+      boolean isSelected = (row == 5);
+      blackhole.consume(
+          editor.getTableCellRendererComponent(table, dates[row], isSelected, false, row, 0));
+    }
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.benchmarks;
+
+import com.github.lgooddatepicker.components.DatePickerSettings;
+import com.github.lgooddatepicker.components.TimePickerSettings;
+import com.github.lgooddatepicker.ysandbox.GetAllLanguages;
+import com.github.lgooddatepicker.zinternaltools.InternalUtilities;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * ParsingBenchmark, This measures the date and time parsing functions that are called after every
+ * edit of a picker text field. Every benchmark invocation parses one text for each language that
+ * is returned by GetAllLanguages.getAllLanguageLocales(). Both valid texts (in the display format
+ * of each locale) and invalid texts are measured, because a text field is usually invalid while
+ * the user is typing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class ParsingBenchmark {
+
+  /** dateSettingsList, This holds one date picker settings instance for each language. */
+  private ArrayList<DatePickerSettings> dateSettingsList;
+
+  /** dateTexts, This holds one formatted date for each language. */
+  private ArrayList<String> dateTexts;
+
+  /** invalidText, This is a text that can not be parsed as a date or time in any language. */
+  private String invalidText = "31.xx.20";
+
+  /** timeSettingsList, This holds one time picker settings instance for each language. */
+  private ArrayList<TimePickerSettings> timeSettingsList;
+
+  /** timeTexts, This holds one formatted time for each language. */
+  private ArrayList<String> timeTexts;
+
+  @Setup
+  public void setup() {
+    dateSettingsList = new ArrayList<>();
+    dateTexts = new ArrayList<>();
+    timeSettingsList = new ArrayList<>();
+    timeTexts = new ArrayList<>();
+    LocalDate sampleDate = LocalDate.of(2021, 11, 28);
+    LocalTime sampleTime = LocalTime.of(17, 30);
+    for (Locale locale : GetAllLanguages.getAllLanguageLocales()) {
+      DatePickerSettings dateSettings = new DatePickerSettings(locale);
+      dateSettingsList.add(dateSettings);
+      dateTexts.add(dateSettings.getFormatForDatesCommonEra().format(sampleDate));
+      TimePickerSettings timeSettings = new TimePickerSettings(locale);
+      timeSettingsList.add(timeSettings);
+      timeTexts.add(timeSettings.getFormatForDisplayTime().format(sampleTime));
+    }
+  }
+
+  @Benchmark
+  public void getParsedDateOrNullAllLanguages(Blackhole blackhole) {
+    for (int index = 0; index < dateSettingsList.size(); ++index) {
+      blackhole.consume(parseDate(dateSettingsList.get(index), dateTexts.get(index)));
+    }
+  }
+
+  @Benchmark
+  public void getParsedDateOrNullInvalidTextAllLanguages(Blackhole blackhole) {
+    for (DatePickerSettings dateSettings : dateSettingsList) {
+      blackhole.consume(parseDate(dateSettings, invalidText));
+    }
+  }
+
+  @Benchmark
+  public void getParsedTimeOrNullAllLanguages(Blackhole blackhole) {
+    for (int index = 0; index < timeSettingsList.size(); ++index) {
+      blackhole.consume(parseTime(timeSettingsList.get(index), timeTexts.get(index)));
+    }
+  }
+
+  @Benchmark
+  public void getParsedTimeOrNullInvalidTextAllLanguages(Blackhole blackhole) {
+    for (TimePickerSettings timeSettings : timeSettingsList) {
+      blackhole.consume(parseTime(timeSettings, invalidText));
+    }
+  }
+
+  private static LocalDate parseDate(DatePickerSettings settings, String text) {
+    return InternalUtilities.getParsedDateOrNull(
+        text,
+        settings.getFormatForDatesCommonEra(),
+        settings.getFormatForDatesBeforeCommonEra(),
+        settings.getFormatsForParsing());
+  }
+
+  private static LocalTime parseTime(TimePickerSettings settings, String text) {
+    return InternalUtilities.getParsedTimeOrNull(
+        text,
+        settings.getFormatForDisplayTime(),
+        settings.getFormatForMenuTimes(),
+        settings.formatsForParsing,
+        settings.getLocale());
+  }
+}